@@ -0,0 +1,133 @@
+package com.chatbot.bench;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPostStreamReader;
+import com.chatbot.api.JsonCodec;
+import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.NewBlogPostRequest;
+import com.chatbot.model.Statistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmarks of the JSON and HTTP hot paths of the API client, run by the hand-rolled
+ * {@link BenchmarkRunner}. {@code ApiJmhBenchmarks} in src/jmh/java measures the same
+ * operations with JMH and is the one to compare numbers with; this runner only needs the
+ * jars in lib/ and is kept for quick runs where the Maven build is not available.
+ *
+ * Usage: {@code java -cp <classes>:lib/* com.chatbot.bench.ApiBenchmarks [--quick] [filter]}
+ * where filter runs only the benchmarks whose name contains it. See README.md for how to compile.
+ */
+public class ApiBenchmarks {
+    private static final int[] SIZES = {10, 1_000, 100_000}; // Posts per listing payload
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonCodec codec = new JsonCodec(mapper); // Reused readers and writers, as used by ApiClient
+    private final BenchmarkRunner runner;
+    private final String filter;
+
+    private ApiBenchmarks(BenchmarkRunner runner, String filter) {
+        this.runner = runner;
+        this.filter = filter;
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean quick = false;
+        String filter = "";
+        for (String arg : args) {
+            if (arg.equals("--quick")) {
+                quick = true; // Short iterations for a smoke run, not for comparing numbers
+            } else {
+                filter = arg;
+            }
+        }
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(1, 2, 500) : new BenchmarkRunner(3, 5, 2000);
+        System.out.println(BenchmarkResult.header());
+        new ApiBenchmarks(runner, filter).runAll();
+    }
+
+    private void runAll() throws Exception {
+        for (int size : SIZES) {
+            byte[] listing = listingJson(mapper, size);
+            run("deserialize.AllBlogsResponse(posts=" + size + ")",
+                    () -> mapper.readValue(listing, AllBlogsResponse.class));
+            run("deserialize.codec.AllBlogsResponse(posts=" + size + ")",
+                    () -> codec.decode(listing, AllBlogsResponse.class));
+        }
+        byte[] stats = statisticsJson(mapper);
+        run("deserialize.Statistics", () -> mapper.readValue(stats, Statistics.class));
+        run("deserialize.codec.Statistics", () -> codec.decode(stats, Statistics.class));
+
+        NewBlogPostRequest request = newPostRequest();
+        run("serialize.NewBlogPostRequest", () -> mapper.writeValueAsBytes(request));
+        run("serialize.codec.NewBlogPostRequest", () -> {
+            JsonCodec.Encoded body = codec.encode(request);
+            body.release(); // Back to the pool, as after a sent request
+            return body;
+        });
+
+        BlogPost post = post(42);
+        run("render.BlogPost.toString", post::toString);
+
+        runRoundTrips();
+    }
+
+    /**
+     * Measures complete API calls against a {@link StandInBlogServer} on the loopback interface.
+     */
+    private void runRoundTrips() throws Exception {
+        try (StandInBlogServer server = new StandInBlogServer(0, 1000)) {
+            server.seed(100);
+            // No cache, so every call goes over the network
+            ApiClient client = new ApiClient(server.getBaseUrl());
+            run("roundtrip.getAllBlogPosts(posts=100)", client::getAllBlogPosts);
+            run("roundtrip.streamAllBlogPosts(posts=100)", () -> {
+                int count = 0;
+                try (BlogPostStreamReader reader = client.streamAllBlogPosts()) {
+                    while (reader.hasNext()) {
+                        BenchmarkRunner.consume(reader.next());
+                        count++;
+                    }
+                }
+                return count;
+            });
+            run("roundtrip.getStatistics", client::getStatistics);
+        }
+    }
+
+    private void run(String name, BenchmarkRunner.Operation operation) throws Exception {
+        if (name.contains(filter)) {
+            runner.run(name, operation);
+        }
+    }
+
+    static NewBlogPostRequest newPostRequest() {
+        return new NewBlogPostRequest("Benchmarking the client",
+                "A post of moderate length used to measure request serialization. ".repeat(8), "Bench");
+    }
+
+    static BlogPost post(int i) {
+        return new BlogPost(Integer.toString(i), "Post number " + i, "Author " + (i % 50),
+                "Content of post " + i + ". " + "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(4),
+                "2025-06-12 10:00:00");
+    }
+
+    static byte[] listingJson(ObjectMapper mapper, int size) throws Exception {
+        StringBuilder json = new StringBuilder(size * 400).append("{\"data\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append(mapper.writeValueAsString(post(i)));
+        }
+        json.append("],\"meta\":{\"total\":").append(size).append(",\"limit\":").append(size * 2)
+                .append(",\"can_add_more\":true}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] statisticsJson(ObjectMapper mapper) throws Exception {
+        return mapper.writeValueAsBytes(new Statistics(1000, 2000, 1000, 50.0, true));
+    }
+}
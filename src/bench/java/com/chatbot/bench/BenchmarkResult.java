@@ -0,0 +1,115 @@
+package com.chatbot.bench;
+
+import java.util.Arrays;
+
+/**
+ * Measurements of one benchmark: throughput, allocation and latency percentiles.
+ */
+public class BenchmarkResult {
+    private final String name;          // Benchmark name, including its parameters
+    private final long operations;      // Operations measured
+    private final long elapsedNanos;    // Total measured time
+    private final long allocatedBytes;  // Bytes allocated by the live threads while measuring
+    private final long gcCount;         // Garbage collections while measuring
+    private final long gcMillis;        // Time spent in garbage collection while measuring
+    private final long[] latencies;     // Sorted per-operation latencies in nanoseconds (a sample if there were many)
+
+    /**
+     * Constructor to initialize a BenchmarkResult object.
+     * @param name The benchmark name.
+     * @param operations The number of measured operations.
+     * @param elapsedNanos The total measured time in nanoseconds.
+     * @param allocatedBytes The bytes allocated while measuring.
+     * @param gcCount The number of garbage collections while measuring.
+     * @param gcMillis The garbage collection time while measuring.
+     * @param latencies The per-operation latencies in nanoseconds, in any order.
+     */
+    public BenchmarkResult(String name, long operations, long elapsedNanos, long allocatedBytes,
+                           long gcCount, long gcMillis, long[] latencies) {
+        this.name = name;
+        this.operations = operations;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the measured throughput.
+     * @return Operations per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0 ? operations * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * Returns the allocation per operation, the figure reported by JMH's gc profiler as gc.alloc.rate.norm.
+     * @return Allocated bytes per operation.
+     */
+    public double getBytesPerOperation() {
+        return operations > 0 ? (double) allocatedBytes / operations : 0;
+    }
+
+    /**
+     * Returns the allocation rate.
+     * @return Allocated megabytes per second.
+     */
+    public double getAllocationRate() {
+        return elapsedNanos > 0 ? allocatedBytes / 1e6 / (elapsedNanos / 1e9) : 0;
+    }
+
+    /**
+     * Returns a latency percentile.
+     * @param percentile The percentile, e.g. 99.9.
+     * @return The latency in nanoseconds, or 0 if nothing was measured.
+     */
+    public long getLatencyPercentile(double percentile) {
+        return percentile(latencies, percentile);
+    }
+
+    /**
+     * Returns a percentile of sorted values (nearest-rank method).
+     * @param sorted The values in ascending order.
+     * @param percentile The percentile, e.g. 99.9.
+     * @return The value at the percentile, or 0 if there are no values.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Returns the column headers matching {@link #toString()}.
+     * @return The header line.
+     */
+    public static String header() {
+        return String.format("%-44s %14s %12s %10s %10s %10s %10s %6s",
+                "Benchmark", "ops/s", "B/op", "MB/s", "p50 us", "p99 us", "p99.9 us", "GCs");
+    }
+
+    /**
+     * Provides a formatted table row of the measurements.
+     * @return A line with throughput, allocation, latency percentiles and GC count.
+     */
+    @Override
+    public String toString() {
+        return String.format("%-44s %14.1f %12.0f %10.1f %10.2f %10.2f %10.2f %6d",
+                name, getThroughput(), getBytesPerOperation(), getAllocationRate(),
+                getLatencyPercentile(50) / 1e3, getLatencyPercentile(99) / 1e3,
+                getLatencyPercentile(99.9) / 1e3, gcCount)
+                + (gcMillis > 0 ? " (" + gcMillis + " ms)" : "");
+    }
+}
@@ -0,0 +1,157 @@
+package com.chatbot.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal benchmark harness in the spirit of JMH.
+ * Each benchmark runs for a number of timed warmup iterations, whose results are
+ * discarded so the JIT compiler can optimize the code, followed by timed measurement
+ * iterations. Every operation is timed individually for the latency percentiles;
+ * allocation is read from the per-thread allocation counters of the JVM and
+ * includes all live threads, so work done by HTTP client threads is counted too.
+ * The counters of a thread are gone once it exits: allocation by pool threads that
+ * end during a measurement is lost, so bytes/op is a lower bound for benchmarks
+ * whose executors retire idle threads.
+ * Results are passed to {@link #consume(Object)} so the JIT cannot remove the work.
+ */
+public class BenchmarkRunner {
+    private static final int MAX_SAMPLES = 1 << 20; // Latency samples kept per benchmark
+
+    private static volatile Object sink; // Receives results so they are not optimized away
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<BenchmarkResult> results = new ArrayList<>();
+
+    /**
+     * A unit of work to benchmark.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Performs the work once.
+         * @return Any result of the work; it is consumed so it cannot be optimized away.
+         * @throws Exception If the work fails, which aborts the benchmark.
+         */
+        Object run() throws Exception;
+    }
+
+    /**
+     * Constructor to initialize a BenchmarkRunner.
+     * @param warmupIterations The number of warmup iterations per benchmark.
+     * @param measurementIterations The number of measured iterations per benchmark.
+     * @param iterationMillis The duration of one iteration in milliseconds.
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * Runs a benchmark and prints its result.
+     * @param name The benchmark name, including its parameters.
+     * @param operation The work to measure.
+     * @return The measurements.
+     * @throws Exception If the operation fails.
+     */
+    public BenchmarkResult run(String name, Operation operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            iterate(operation, null, 0);
+        }
+
+        long[] samples = new long[MAX_SAMPLES]; // Allocated before measuring
+        long operations = 0;
+        long elapsed = 0;
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < measurementIterations; i++) {
+            long start = System.nanoTime();
+            operations += iterate(operation, samples, operations);
+            elapsed += System.nanoTime() - start;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+        int sampled = (int) Math.min(operations, MAX_SAMPLES);
+        long[] latencies = new long[sampled];
+        System.arraycopy(samples, 0, latencies, 0, sampled);
+
+        BenchmarkResult result = new BenchmarkResult(name, operations, elapsed, allocated,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore, latencies);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Runs the operation repeatedly for one iteration.
+     * @param samples Where to record latencies, or null during warmup.
+     * @param recorded The number of latencies recorded so far; once the array is full, older samples are overwritten.
+     * @return The number of operations performed.
+     */
+    private long iterate(Operation operation, long[] samples, long recorded) throws Exception {
+        long end = System.nanoTime() + iterationNanos;
+        long count = 0;
+        long now;
+        do {
+            long start = System.nanoTime();
+            sink = operation.run();
+            now = System.nanoTime();
+            if (samples != null) {
+                samples[(int) ((recorded + count) % MAX_SAMPLES)] = now - start;
+            }
+            count++;
+        } while (now < end);
+        return count;
+    }
+
+    /**
+     * Passes a value to the harness so the JIT compiler cannot treat it as unused.
+     * @param value The value to consume.
+     */
+    public static void consume(Object value) {
+        sink = value;
+    }
+
+    public List<BenchmarkResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Sums the bytes allocated by all live threads; threads that exited are no longer counted.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            long total = 0;
+            for (long allocated : hotspot.getThreadAllocatedBytes(hotspot.getAllThreadIds())) {
+                if (allocated > 0) {
+                    total += allocated;
+                }
+            }
+            return total;
+        }
+        return 0; // Allocation counters are not available on this JVM
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,209 @@
+package com.chatbot.bench;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.model.NewBlogPostRequest;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capacity test for the API client: N concurrent users, each on its own (virtual) thread,
+ * run a mixed profile of listing reads, statistics reads and post creations through one
+ * shared {@link ApiClient} for a fixed time. The report shows requests per second and
+ * p50/p99/p99.9 latency per operation.
+ *
+ * Usage: {@code java -cp <classes>:lib/* com.chatbot.bench.LoadGenerator [options]}
+ * <pre>
+ *   --url URL         backend to test (default: start a local {@link StandInBlogServer})
+ *   --users N         concurrent users (default 50)
+ *   --seconds S       test duration (default 10)
+ *   --writes F        fraction of operations that create a post (default 0.1)
+ *   --latency MS      mean injected latency of the local server (default 0)
+ *   --errors F        fraction of requests the local server fails (default 0)
+ *   --max-posts N     max_posts of the local server (default 1000000)
+ *   --seed N          posts stored in the local server before the test (default 100)
+ * </pre>
+ */
+public class LoadGenerator {
+    private static final String[] OPERATIONS = {"GET blogs", "GET stats", "POST blogs"};
+
+    private final ApiClient client;
+    private final int users;
+    private final long durationNanos;
+    private final double writeRatio;
+
+    /**
+     * Constructor to initialize a LoadGenerator.
+     * @param client The client shared by all users.
+     * @param users The number of concurrent users.
+     * @param seconds The duration of the test in seconds.
+     * @param writeRatio The fraction of operations that create a post.
+     */
+    public LoadGenerator(ApiClient client, int users, int seconds, double writeRatio) {
+        this.client = client;
+        this.users = users;
+        this.durationNanos = seconds * 1_000_000_000L;
+        this.writeRatio = writeRatio;
+    }
+
+    /**
+     * Latencies and failures of one user, per operation; only touched by the user's thread.
+     */
+    private static class Recorder {
+        final long[][] latencies = new long[OPERATIONS.length][1024];
+        final int[] counts = new int[OPERATIONS.length];
+        final int[] failures = new int[OPERATIONS.length];
+
+        void record(int operation, long nanos, boolean failed) {
+            if (counts[operation] == latencies[operation].length) {
+                latencies[operation] = Arrays.copyOf(latencies[operation], counts[operation] * 2);
+            }
+            latencies[operation][counts[operation]++] = nanos;
+            if (failed) {
+                failures[operation]++;
+            }
+        }
+    }
+
+    /**
+     * Runs the test and prints the report.
+     * @throws Exception If a user thread fails unexpectedly.
+     */
+    public void run() throws Exception {
+        ExecutorService executor = ApiClient.newVirtualThreadExecutor();
+        List<Future<Recorder>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            futures.add(executor.submit(() -> runUser(user, end)));
+        }
+        List<Recorder> recorders = new ArrayList<>();
+        for (Future<Recorder> future : futures) {
+            recorders.add(future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        printReport(recorders, elapsed);
+    }
+
+    private Recorder runUser(int user, long end) {
+        Recorder recorder = new Recorder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sequence = 0;
+        while (System.nanoTime() < end) {
+            double dice = random.nextDouble();
+            int operation = dice < writeRatio ? 2 : dice < writeRatio + (1 - writeRatio) / 2 ? 0 : 1;
+            long started = System.nanoTime();
+            boolean failed;
+            try {
+                switch (operation) {
+                    case 0:
+                        failed = client.getAllBlogPosts() == null;
+                        break;
+                    case 1:
+                        failed = client.getStatistics() == null;
+                        break;
+                    default:
+                        NewBlogPostRequest request = new NewBlogPostRequest("Load test post " + user + "-" + sequence++,
+                                "Created by the load generator.", "User " + user);
+                        failed = !client.createNewBlogPostAsync(request, false).get(); // Without the console message
+                        break;
+                }
+            } catch (Exception e) {
+                failed = true;
+            }
+            recorder.record(operation, System.nanoTime() - started, failed);
+        }
+        return recorder;
+    }
+
+    private void printReport(List<Recorder> recorders, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%d users, %.1f s%n", users, seconds);
+        System.out.println(String.format("%-12s %10s %10s %10s %10s %10s %10s",
+                "Operation", "requests", "failed", "req/s", "p50 ms", "p99 ms", "p99.9 ms"));
+        long[] all = new long[0];
+        int allFailures = 0;
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            long[] merged = new long[0];
+            int failures = 0;
+            for (Recorder recorder : recorders) {
+                int offset = merged.length;
+                merged = Arrays.copyOf(merged, offset + recorder.counts[op]);
+                System.arraycopy(recorder.latencies[op], 0, merged, offset, recorder.counts[op]);
+                failures += recorder.failures[op];
+            }
+            printRow(OPERATIONS[op], merged, failures, seconds);
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + merged.length);
+            System.arraycopy(merged, 0, all, offset, merged.length);
+            allFailures += failures;
+        }
+        printRow("total", all, allFailures, seconds);
+    }
+
+    private static void printRow(String name, long[] latencies, int failures, double seconds) {
+        Arrays.sort(latencies);
+        System.out.println(String.format("%-12s %10d %10d %10.1f %10.2f %10.2f %10.2f", name, latencies.length,
+                failures, latencies.length / seconds, BenchmarkResult.percentile(latencies, 50) / 1e6,
+                BenchmarkResult.percentile(latencies, 99) / 1e6, BenchmarkResult.percentile(latencies, 99.9) / 1e6));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int users = 50;
+        int seconds = 10;
+        double writes = 0.1;
+        long latency = 0;
+        double errors = 0;
+        int maxPosts = 1_000_000;
+        int seed = 100;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url": url = value; break;
+                case "--users": users = Integer.parseInt(value); break;
+                case "--seconds": seconds = Integer.parseInt(value); break;
+                case "--writes": writes = Double.parseDouble(value); break;
+                case "--latency": latency = Long.parseLong(value); break;
+                case "--errors": errors = Double.parseDouble(value); break;
+                case "--max-posts": maxPosts = Integer.parseInt(value); break;
+                case "--seed": seed = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        StandInBlogServer server = null;
+        if (url == null) {
+            server = new StandInBlogServer(0, maxPosts);
+            server.setLatency(latency / 2, latency * 3 / 2);
+            server.setErrorRate(errors);
+            server.seed(seed);
+            url = server.getBaseUrl();
+        }
+        System.out.println("Load test against " + url);
+        ApiClient client = new ApiClient(url, ApiClient.newVirtualThreadExecutor());
+
+        // The client logs every failed call; during the test, failures are counted in the report instead
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            new LoadGenerator(client, users, seconds, writes).run();
+        } finally {
+            System.setErr(err);
+            if (server != null) {
+                System.out.println("Server handled " + server.getRequestCount() + " requests, stores "
+                        + server.size() + " posts.");
+                server.close();
+            }
+        }
+        System.exit(0); // The HTTP client's selector thread is not a daemon thread
+    }
+}
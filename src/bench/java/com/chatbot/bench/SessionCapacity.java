@@ -0,0 +1,145 @@
+package com.chatbot.bench;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.server.ChatServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Capacity test for the server mode: opens N sessions to a {@link ChatServer} in this JVM,
+ * waits until each one shows the menu, and reports the heap used per idle session. The cost of
+ * the TCP connections alone is measured first with a server that only accepts, and subtracted,
+ * so the result is what a session adds (thread, stack, buffers, session state).
+ * Then all sessions ask for the statistics at once, which shows how the shared client
+ * handles the burst.
+ *
+ * Usage: {@code java -cp <classes>:lib/* com.chatbot.bench.SessionCapacity [options]}
+ * <pre>
+ *   --sessions N      concurrent sessions (default 1000)
+ *   --latency MS      mean injected latency of the local blog server (default 20)
+ * </pre>
+ */
+public class SessionCapacity {
+    private static final byte[] PROMPT = "Please choose: ".getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        int sessions = 1000;
+        long latency = 20;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sessions": sessions = Integer.parseInt(value); break;
+                case "--latency": latency = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        try (StandInBlogServer blogServer = new StandInBlogServer(0, 1_000_000)) {
+            blogServer.setLatency(latency / 2, latency * 3 / 2);
+            blogServer.seed(100);
+            ApiClient client = new ApiClient(blogServer.getBaseUrl(), ApiClient.newVirtualThreadExecutor());
+
+            long connectionBytes = measureConnections(sessions);
+            try (ChatServer server = new ChatServer(client, "Bench", 0, sessions, 10, 0)) {
+                server.start();
+                long before = usedHeap();
+                List<Socket> sockets = new ArrayList<>(sessions);
+                long started = System.nanoTime();
+                for (int i = 0; i < sessions; i++) {
+                    Socket socket = new Socket("127.0.0.1", server.getPort());
+                    awaitPrompt(socket.getInputStream());
+                    sockets.add(socket);
+                }
+                long openMillis = (System.nanoTime() - started) / 1_000_000;
+                long sessionBytes = (usedHeap() - before) / sessions;
+                System.out.printf("%d sessions open in %d ms (%s threads), %d live threads%n", sessions, openMillis,
+                        Runtime.version().feature() >= 21 ? "virtual" : "platform", Thread.activeCount());
+                System.out.printf("Heap per session: %d bytes (%d bytes with its connection)%n",
+                        sessionBytes - connectionBytes, sessionBytes);
+                long maxHeap = Runtime.getRuntime().maxMemory();
+                System.out.printf("Sessions that fit into the max heap of %d MB: about %d%s%n", maxHeap >> 20,
+                        maxHeap / Math.max(1, sessionBytes),
+                        Runtime.version().feature() >= 21 ? "" : " (platform threads also need a native stack each)");
+
+                long requestsBefore = blogServer.getRequestCount();
+                ExecutorService executor = ApiClient.newVirtualThreadExecutor();
+                List<Future<?>> replies = new ArrayList<>(sessions);
+                started = System.nanoTime();
+                for (Socket socket : sockets) {
+                    replies.add(executor.submit(() -> {
+                        OutputStream out = socket.getOutputStream();
+                        out.write("3\n".getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        awaitPrompt(socket.getInputStream());
+                        return null;
+                    }));
+                }
+                for (Future<?> reply : replies) {
+                    reply.get();
+                }
+                System.out.printf("%d statistics screens in %d ms, %d requests to the backend%n", sessions,
+                        (System.nanoTime() - started) / 1_000_000, blogServer.getRequestCount() - requestsBefore);
+                System.out.println(server);
+                for (Socket socket : sockets) {
+                    socket.close();
+                }
+            }
+        }
+        System.exit(0); // The HTTP client's selector thread is not a daemon thread
+    }
+
+    /**
+     * Measures the heap used per connection to a server that accepts connections but runs no sessions.
+     */
+    private static long measureConnections(int count) throws IOException {
+        try (ServerSocket acceptor = new ServerSocket(0, count)) {
+            List<Socket> sockets = new ArrayList<>(count * 2);
+            long before = usedHeap();
+            for (int i = 0; i < count; i++) {
+                sockets.add(new Socket("127.0.0.1", acceptor.getLocalPort()));
+                sockets.add(acceptor.accept());
+            }
+            long bytes = (usedHeap() - before) / count;
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Reads until the menu prompt has arrived.
+     */
+    private static void awaitPrompt(InputStream in) throws IOException {
+        int matched = 0;
+        int b;
+        while (matched < PROMPT.length && (b = in.read()) >= 0) {
+            matched = b == PROMPT[matched] ? matched + 1 : (b == PROMPT[0] ? 1 : 0);
+        }
+        if (matched < PROMPT.length) {
+            throw new IOException("Session closed before the menu was shown");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,350 @@
+package com.chatbot.bench;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.Meta;
+import com.chatbot.model.Statistics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for the blog backend, for load tests and benchmarks.
+ * It implements the same contract as the real API:
+ * <ul>
+ *   <li>GET ?api=blogs returns all posts with meta (total, limit, can_add_more)</li>
+ *   <li>POST ?api=blogs creates a post from title, content and author (201), rejecting
+ *       invalid bodies (400) and posts beyond the max_posts limit (403)</li>
+ *   <li>GET ?api=stats returns the post statistics</li>
+ * </ul>
+ * Other query parameters are ignored, like the real backend does. Responses are gzip
+ * compressed for clients that send Accept-Encoding: gzip, and gzip compressed request
+ * bodies are accepted; both can be turned off. Artificial latency and
+ * a rate of injected 500 errors can be configured to see how the client behaves under
+ * a slow or failing backend.
+ *
+ * Usage: {@code java -cp <classes>:lib/* com.chatbot.bench.StandInBlogServer [port] [maxPosts] [latencyMillis] [errorRate]}
+ */
+public class StandInBlogServer implements AutoCloseable {
+    private static final DateTimeFormatter CREATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final HttpServer server;
+    private final ExecutorService executor;    // Runs the exchanges, one thread per request
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final int maxPosts;                // Maximum number of posts, like max_posts of the backend
+    private final List<BlogPost> posts = new ArrayList<>(); // Stored posts, guarded by this
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong requests = new AtomicLong(); // Requests handled
+    private byte[] listing;                    // Serialized GET ?api=blogs response, null when outdated
+    private byte[] gzippedListing;             // The same response gzip compressed, null when outdated
+    private volatile boolean compression = true;              // Compress responses for clients accepting gzip
+    private volatile boolean acceptCompressedRequests = true; // Decode gzip request bodies instead of answering 415
+    private volatile long minLatencyMillis;    // Lower bound of the injected latency
+    private volatile long maxLatencyMillis;    // Upper bound of the injected latency
+    private volatile double errorRate;         // Fraction of requests answered with 500
+
+    /**
+     * Starts a stand-in server on the loopback interface.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param maxPosts The maximum number of posts that can be created.
+     * @throws IOException If the server cannot be started.
+     */
+    public StandInBlogServer(int port, int maxPosts) throws IOException {
+        this.maxPosts = maxPosts;
+        // Without TCP_NODELAY, delayed ACKs add about 40 ms to every exchange with the JDK server
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.executor = ApiClient.newVirtualThreadExecutor(); // Injected latency must not block other requests
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL to configure the client with (api.base.url).
+     * @return The URL of the server.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Adds a random delay to every response.
+     * @param minMillis The minimum delay in milliseconds.
+     * @param maxMillis The maximum delay in milliseconds.
+     */
+    public void setLatency(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid latency range: " + minMillis + "-" + maxMillis);
+        }
+        this.minLatencyMillis = minMillis;
+        this.maxLatencyMillis = maxMillis;
+    }
+
+    /**
+     * Answers a fraction of all requests with HTTP 500.
+     * @param errorRate The fraction of failing requests, from 0 to 1.
+     */
+    public void setErrorRate(double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+        }
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Sets whether responses are gzip compressed for clients that accept it. Enabled by default.
+     * @param compression Whether to compress responses.
+     */
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets whether gzip compressed request bodies are accepted. If not, they are answered
+     * with 415 Unsupported Media Type. Enabled by default.
+     * @param accept Whether to accept compressed request bodies.
+     */
+    public void setAcceptCompressedRequests(boolean accept) {
+        this.acceptCompressedRequests = accept;
+    }
+
+    /**
+     * Stores posts without going through the API, e.g. to prepare a benchmark.
+     * The max_posts limit does not apply.
+     * @param count The number of posts to add.
+     */
+    public synchronized void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            long id = nextId.getAndIncrement();
+            posts.add(new BlogPost(Long.toString(id), "Post number " + id, "Author " + (id % 50),
+                    "Content of post " + id + ". " + "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(4),
+                    LocalDateTime.now().format(CREATED_AT)));
+        }
+        listing = null;
+        gzippedListing = null;
+    }
+
+    /**
+     * Returns the number of stored posts.
+     * @return The post count.
+     */
+    public synchronized int size() {
+        return posts.size();
+    }
+
+    /**
+     * Returns the number of requests handled so far.
+     * @return The request count.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            injectLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, error("Injected failure"));
+                return;
+            }
+            String api = queryParameter(exchange, "api");
+            String method = exchange.getRequestMethod();
+            if ("blogs".equals(api) && "GET".equals(method)) {
+                byte[] current = listing(); // Compressed form is kept along with it, built on first use
+                respond(exchange, 200, current, compresses(exchange, current) ? gzippedListing(current) : null);
+            } else if ("blogs".equals(api) && "POST".equals(method)) {
+                createPost(exchange);
+            } else if ("stats".equals(api) && "GET".equals(method)) {
+                respond(exchange, 200, mapper.writeValueAsBytes(statistics()));
+            } else {
+                respond(exchange, 404, error("Unknown endpoint"));
+            }
+        }
+    }
+
+    private void createPost(HttpExchange exchange) throws IOException {
+        JsonNode body;
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        boolean gzipped = encoding != null && encoding.trim().equalsIgnoreCase("gzip");
+        if (encoding != null && !encoding.isBlank() && !encoding.trim().equalsIgnoreCase("identity")
+                && (!gzipped || !acceptCompressedRequests)) {
+            exchange.getRequestBody().close();
+            respond(exchange, 415, error("Unsupported Content-Encoding: " + encoding));
+            return;
+        }
+        try (InputStream in = gzipped ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+            body = mapper.readTree(in);
+        } catch (IOException e) {
+            respond(exchange, 400, error("Invalid JSON"));
+            return;
+        }
+        String title = text(body, "title");
+        String content = text(body, "content");
+        String author = text(body, "author");
+        if (title == null || content == null || author == null) {
+            respond(exchange, 400, error("Title, content and author are required"));
+            return;
+        }
+        BlogPost post;
+        synchronized (this) {
+            if (posts.size() >= maxPosts) {
+                post = null;
+            } else {
+                post = new BlogPost(Long.toString(nextId.getAndIncrement()), title, author, content,
+                        LocalDateTime.now().format(CREATED_AT));
+                posts.add(post);
+                listing = null; // The cached listing is outdated
+                gzippedListing = null;
+            }
+        }
+        if (post == null) {
+            respond(exchange, 403, error("Maximum number of posts (" + maxPosts + ") reached"));
+        } else {
+            respond(exchange, 201, mapper.writeValueAsBytes(Map.of("success", true, "data", post)));
+        }
+    }
+
+    /**
+     * Returns the serialized listing, serializing it again only after posts were added.
+     */
+    private synchronized byte[] listing() throws IOException {
+        if (listing == null) {
+            Meta meta = new Meta(posts.size(), maxPosts, posts.size() < maxPosts);
+            listing = mapper.writeValueAsBytes(new AllBlogsResponse(posts, meta));
+        }
+        return listing;
+    }
+
+    /**
+     * Returns the compressed listing, compressing it again only after posts were added.
+     * @param current The listing returned by {@link #listing()}.
+     */
+    private synchronized byte[] gzippedListing(byte[] current) throws IOException {
+        if (gzippedListing == null || current != listing) {
+            gzippedListing = gzip(current);
+        }
+        return gzippedListing;
+    }
+
+    private synchronized Statistics statistics() {
+        int total = posts.size();
+        double used = maxPosts > 0 ? Math.round(total * 10000.0 / maxPosts) / 100.0 : 100;
+        return new Statistics(total, maxPosts, Math.max(0, maxPosts - total), used, total < maxPosts);
+    }
+
+    private void injectLatency() {
+        long min = minLatencyMillis;
+        long max = maxLatencyMillis;
+        if (max <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return pair.substring(eq + 1);
+            }
+        }
+        return null;
+    }
+
+    private static String text(JsonNode body, String field) {
+        JsonNode value = body != null ? body.get(field) : null;
+        return value != null && value.isTextual() && !value.asText().isBlank() ? value.asText() : null;
+    }
+
+    private byte[] error(String message) throws IOException {
+        return mapper.writeValueAsBytes(Map.of("error", message));
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        respond(exchange, status, body, null);
+    }
+
+    /**
+     * Sends a response, gzip compressed if the client accepts it and the body is large enough to gain from it.
+     * @param gzipped The body already compressed, or null to compress it here if needed.
+     */
+    private void respond(HttpExchange exchange, int status, byte[] body, byte[] gzipped) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (compresses(exchange, body)) {
+            body = gzipped != null ? gzipped : gzip(body);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Tells whether a response body is sent gzip compressed: the client accepts it and the body is large enough to gain from it.
+     */
+    private boolean compresses(HttpExchange exchange, byte[] body) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return compression && accept != null && accept.toLowerCase(Locale.ROOT).contains("gzip") && body.length >= 256;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Stops the server immediately.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int maxPosts = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long latency = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+        StandInBlogServer server = new StandInBlogServer(port, maxPosts);
+        server.setLatency(latency / 2, latency * 3 / 2); // Spread around the given mean
+        server.setErrorRate(errorRate);
+        System.out.println("Stand-in blog server listening on " + server.getBaseUrl()
+                + " (max_posts " + maxPosts + ", latency ~" + latency + " ms, error rate " + errorRate + ")");
+        System.out.println("Set api.base.url to this URL to run the chatbot against it. Press Ctrl+C to stop.");
+        Thread.currentThread().join(); // Serve until the process is killed
+    }
+}
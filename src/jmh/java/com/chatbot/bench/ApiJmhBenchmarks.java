@@ -0,0 +1,175 @@
+package com.chatbot.bench;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPostStreamReader;
+import com.chatbot.api.JsonCodec;
+import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.NewBlogPostRequest;
+import com.chatbot.model.Statistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the JSON and HTTP hot paths of the API client, the same operations as
+ * {@link ApiBenchmarks}. Each benchmark runs in forked JVMs, and allocation per operation
+ * comes from the gc profiler, which counts the allocation of every thread in the fork.
+ *
+ * Usage: {@code mvn -B -Pbench package && java -jar target/benchmarks.jar -prof gc [regex]},
+ * or run {@link #main(String[])}, which adds the gc profiler itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ApiJmhBenchmarks {
+
+    /**
+     * A listing payload with a given number of posts.
+     */
+    @State(Scope.Benchmark)
+    public static class Listing {
+        @Param({"10", "1000", "100000"})
+        public int posts; // Posts per listing payload
+
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonCodec codec = new JsonCodec(mapper); // Reused readers and writers, as used by ApiClient
+        byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            json = ApiBenchmarks.listingJson(mapper, posts);
+        }
+    }
+
+    /**
+     * The statistics response, a new post request and a post to render.
+     */
+    @State(Scope.Benchmark)
+    public static class Payloads {
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonCodec codec = new JsonCodec(mapper);
+        final NewBlogPostRequest request = ApiBenchmarks.newPostRequest();
+        final BlogPost post = ApiBenchmarks.post(42);
+        byte[] statistics;
+
+        @Setup
+        public void setUp() throws Exception {
+            statistics = ApiBenchmarks.statisticsJson(mapper);
+        }
+    }
+
+    /**
+     * A {@link StandInBlogServer} on the loopback interface with 100 posts and a client
+     * without cache, so every call goes over the network.
+     */
+    @State(Scope.Benchmark)
+    public static class Server {
+        StandInBlogServer server;
+        ApiClient client;
+
+        @Setup
+        public void setUp() throws Exception {
+            server = new StandInBlogServer(0, 1000);
+            server.seed(100);
+            client = new ApiClient(server.getBaseUrl());
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public AllBlogsResponse deserializeAllBlogsResponse(Listing listing) throws Exception {
+        return listing.mapper.readValue(listing.json, AllBlogsResponse.class);
+    }
+
+    @Benchmark
+    public AllBlogsResponse deserializeCodecAllBlogsResponse(Listing listing) throws Exception {
+        return listing.codec.decode(listing.json, AllBlogsResponse.class);
+    }
+
+    @Benchmark
+    public Statistics deserializeStatistics(Payloads payloads) throws Exception {
+        return payloads.mapper.readValue(payloads.statistics, Statistics.class);
+    }
+
+    @Benchmark
+    public Statistics deserializeCodecStatistics(Payloads payloads) throws Exception {
+        return payloads.codec.decode(payloads.statistics, Statistics.class);
+    }
+
+    @Benchmark
+    public byte[] serializeNewBlogPostRequest(Payloads payloads) throws Exception {
+        return payloads.mapper.writeValueAsBytes(payloads.request);
+    }
+
+    @Benchmark
+    public void serializeCodecNewBlogPostRequest(Payloads payloads, Blackhole blackhole) throws Exception {
+        JsonCodec.Encoded body = payloads.codec.encode(payloads.request);
+        blackhole.consume(body.length());
+        body.release(); // Back to the pool, as after a sent request
+    }
+
+    @Benchmark
+    public String renderBlogPostToString(Payloads payloads) {
+        return payloads.post.toString();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime) // Latency percentiles of a complete call
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public AllBlogsResponse roundtripGetAllBlogPosts(Server server) throws Exception {
+        return server.client.getAllBlogPosts();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void roundtripStreamAllBlogPosts(Server server, Blackhole blackhole) throws Exception {
+        try (BlogPostStreamReader reader = server.client.streamAllBlogPosts()) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Statistics roundtripGetStatistics(Server server) throws Exception {
+        return server.client.getStatistics();
+    }
+
+    /**
+     * Runs the benchmarks with the gc profiler.
+     * @param args An optional regular expression selecting the benchmarks to run.
+     */
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : "";
+        new Runner(new OptionsBuilder()
+                .include(ApiJmhBenchmarks.class.getSimpleName() + ".*" + filter)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
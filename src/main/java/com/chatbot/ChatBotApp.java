@@ -1,24 +1,71 @@
 package com.chatbot;
 
+import com.chatbot.analytics.PostAnalytics;
 import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPage;
+import com.chatbot.api.BlogPager;
+import com.chatbot.api.RetryPolicy;
+import com.chatbot.batch.BatchRunner;
+import com.chatbot.bulk.BlogImporter;
+import com.chatbot.bulk.ImportReport;
+import com.chatbot.bulk.ImportResult;
 import com.chatbot.config.AppConfig;
-import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.console.PostRenderer;
 import com.chatbot.model.BlogPost;
 import com.chatbot.model.NewBlogPostRequest;
 import com.chatbot.model.Statistics;
+import com.chatbot.search.BlogSearchIndex;
+import com.chatbot.search.DuplicateIndex;
+import com.chatbot.search.DuplicateMatch;
+import com.chatbot.search.SearchResult;
+import com.chatbot.server.ChatServer;
+import com.chatbot.store.BlogSnapshot;
+import com.chatbot.store.BlogSnapshotWriter;
+import com.chatbot.store.BlogSyncer;
+import com.chatbot.store.PostJournal;
+import com.chatbot.store.SyncResult;
+import com.chatbot.store.WriteBehindQueue;
 
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Main application class for the chatbot.
  * Handles user interaction via the console and integrates with the {@link ApiClient}.
  */
 public class ChatBotApp {
+    private static final int DUPLICATE_GROUPS_SHOWN = 5; // Largest groups of near-duplicates listed with the statistics
+
     private final ApiClient apiClient; // API client for interacting with the blog platform
     private final String botName;      // The name of the chatbot, loaded from configuration
     private final Scanner scanner;     // Scanner to read user input from the console
+    private final int importConcurrency; // Maximum concurrent POST requests during a bulk import
+    private final int pageSize;        // Number of posts per page when browsing the listing
+    private final BlogSearchIndex searchIndex; // Local full-text index of fetched posts
+    private final PostAnalytics analytics = new PostAnalytics(); // Aggregates over the fetched posts
+    private final int topAuthors;      // Number of authors listed on the statistics screen
+    private final BlogSyncer syncer;   // Keeps the local copy of the posts up to date
+    private final Path snapshotPath;   // Location of the local snapshot of blog posts
+    private volatile BlogSnapshot snapshot; // Last saved snapshot, null if none exists yet
+    private volatile CompletableFuture<Void> backgroundSync; // Last sync started by a screen, null before the first
+    private final WriteBehindQueue writeBehind; // Creates new posts in the background, null if disabled
+    private final boolean fastStartup;   // Show the menu at once and warm up the client in the background
+    private final boolean startupTiming; // Print the time to the first prompt and the first response
+    private final PostRenderer renderer; // Writes posts to the console screen by screen
 
     /**
      * Constructor for ChatBotApp.
@@ -27,9 +74,39 @@ public class ChatBotApp {
     public ChatBotApp() {
         // Load configurations from config.properties
         AppConfig config = new AppConfig();
-        this.apiClient = new ApiClient(config.getApiBaseUrl()); // ApiClient-ის ინიციალიზაცია საბაზისო URL-ით
+        this.apiClient = new ApiClient(config); // ApiClient-ის ინიციალიზაცია საბაზისო URL-ით
         this.botName = config.getBotName(); // Get the bot's name from the config
         this.scanner = new Scanner(System.in); // Initialize Scanner for console input
+        this.importConcurrency = config.getImportConcurrency(); // Get the bulk import limit from the config
+        this.pageSize = config.getPageSize(); // Get the listing page size from the config
+        this.topAuthors = config.getAnalyticsTopAuthors(); // Get the length of the author ranking from the config
+        this.snapshotPath = config.getSnapshotPath(); // Get the snapshot location from the config
+        this.syncer = new BlogSyncer(apiClient, config.isStoreUtf8Content());
+        this.searchIndex = new BlogSearchIndex(config.isStoreUtf8Content());
+        this.writeBehind = config.isWriteBehindEnabled() ? openWriteBehind(config) : null;
+        this.fastStartup = config.isFastStartupEnabled();
+        this.startupTiming = config.isStartupTimingEnabled();
+        this.renderer = new PostRenderer(System.out, PostRenderer.consoleCharset(),
+                "table".equals(config.getConsoleView()) ? PostRenderer.View.TABLE : PostRenderer.View.FULL,
+                config.getConsolePreviewLength(),
+                config.getConsoleHeight() >= 0 ? config.getConsoleHeight() : PostRenderer.terminalHeight(),
+                config.getConsoleWidth() >= 0 ? config.getConsoleWidth() : PostRenderer.terminalWidth());
+    }
+
+    /**
+     * Opens the journal of posts waiting to be created. If it cannot be opened,
+     * posts are created directly instead.
+     */
+    private WriteBehindQueue openWriteBehind(AppConfig config) {
+        try {
+            PostJournal journal = PostJournal.open(config.getWriteBehindJournalPath());
+            RetryPolicy backoff = new RetryPolicy(Integer.MAX_VALUE, config.getWriteBehindRetryBaseDelayMillis(),
+                    config.getWriteBehindRetryMaxDelayMillis());
+            return new WriteBehindQueue(journal, apiClient, config.getWriteBehindBatchSize(), backoff);
+        } catch (IOException e) {
+            System.err.println("Could not open post journal, creating posts directly: " + e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -38,7 +115,172 @@ public class ChatBotApp {
      */
     public void start() {
         System.out.println("Hello! I am " + botName + ", your blog assistant.");
+        loadSnapshot(); // Show what is known locally without waiting for the network
+        if (fastStartup) {
+            apiClient.warmUp(); // Load Jackson and connect while the user reads the menu
+        }
+        if (snapshot != null) {
+            refreshSnapshotInBackground(); // Bring the snapshot up to date while the menu is shown
+        } else if (!fastStartup) {
+            showOverview(); // No local data yet, show a short summary from the API
+        }
+        if (writeBehind != null) {
+            if (writeBehind.getPending() > 0) {
+                System.out.println(writeBehind.getPending() + " blogs from the last session are still being published.");
+            }
+            writeBehind.start(); // Send the posts carried over from the last session
+        }
         displayMenu(); // Display the main menu and start interaction loop
+        stopWriteBehind();
+    }
+
+    /**
+     * Gives the background publishing a moment to finish and closes the journal.
+     * Posts that are still pending are sent on the next start.
+     */
+    private void stopWriteBehind() {
+        if (writeBehind == null) {
+            return;
+        }
+        try {
+            if (!writeBehind.flush(3000)) {
+                System.out.println(writeBehind.getPending() + " blogs are saved locally and will be published next time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writeBehind.close();
+        } catch (IOException e) {
+            System.err.println("Could not close post journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the local snapshot, if one exists, and prints a short overview of it.
+     */
+    private void loadSnapshot() {
+        try {
+            snapshot = BlogSnapshot.open(snapshotPath);
+        } catch (IOException e) {
+            System.err.println("Could not read local snapshot, starting without it: " + e.getMessage());
+            return; // Replaced by the next sync
+        }
+        if (snapshot != null && snapshot.size() > 0) {
+            BlogPost latest = snapshot.get(snapshot.size() - 1);
+            System.out.println("Showing " + snapshot.size() + " blogs from the local snapshot of "
+                    + Instant.ofEpochMilli(snapshot.getSavedAtMillis()) + ".");
+            System.out.println("Latest blog: \"" + latest.getTitle() + "\" by " + latest.getAuthor());
+        }
+    }
+
+    /**
+     * Indexes the snapshot and brings it up to date with the posts created since it was saved,
+     * without blocking the menu.
+     * If the backend is unreachable, the app keeps working read-only from the snapshot.
+     */
+    private void refreshSnapshotInBackground() {
+        BlogSnapshot current = snapshot;
+        CompletableFuture.runAsync(() -> {
+                    List<BlogPost> saved = current.asList();
+                    syncer.load(saved); // The snapshot is the starting point of the delta sync
+                    searchIndex.addAll(saved); // Make the snapshot searchable
+                    analytics.addAll(saved); // Adds to what the menu may have counted already
+                    indexDuplicates(saved);
+                })
+                .thenCompose(ignored -> syncer.syncAsync())
+                .thenAccept(this::applySync)
+                .exceptionally(failure -> null); // Offline: the snapshot stays as it is
+    }
+
+    /**
+     * Applies the outcome of a sync to the search and duplicate indexes, the analytics and the local snapshot.
+     * Only new posts are indexed and counted; a full resync rebuilds all of them, since posts may have been deleted.
+     * The snapshot is only rewritten if something changed.
+     * @param result The outcome of the sync.
+     */
+    private void applySync(SyncResult result) {
+        if (result.isFullResync()) {
+            searchIndex.replaceAll(syncer.getPosts()); // In place, so posts added concurrently are not lost to a swap
+            analytics.replaceAll(syncer.getPosts());
+            DuplicateIndex duplicates = apiClient.getDuplicateIndex();
+            if (duplicates != null) {
+                duplicates.replaceAll(syncer.getPosts()); // Keeps the posts being created reserved
+            }
+        } else {
+            searchIndex.addAll(result.getAdded());
+            analytics.addAll(result.getAdded());
+            indexDuplicates(result.getAdded());
+        }
+        if (result.hasChanges()) {
+            saveSnapshot(syncer.getPosts());
+        }
+    }
+
+    /**
+     * Starts a sync whose outcome is applied to the indexes, the analytics and the snapshot,
+     * unless one is still running. Screens show what is known locally instead of waiting for it.
+     * @return The running sync, completing exceptionally if it fails.
+     */
+    private CompletableFuture<Void> syncInBackground() {
+        CompletableFuture<Void> running = backgroundSync;
+        if (running == null || running.isDone()) {
+            running = syncer.syncAsync().thenAccept(this::applySync);
+            backgroundSync = running;
+        }
+        return running;
+    }
+
+    /**
+     * Adds posts to the index new posts are checked against for near-duplicates, if the check is enabled.
+     * @param posts The posts known to exist on the server.
+     */
+    private void indexDuplicates(List<BlogPost> posts) {
+        DuplicateIndex duplicates = apiClient.getDuplicateIndex();
+        if (duplicates != null) {
+            duplicates.addAll(posts);
+        }
+    }
+
+    /**
+     * Saves a listing as the new local snapshot and switches to it.
+     * @param posts The complete list of posts.
+     */
+    private void saveSnapshot(List<BlogPost> posts) {
+        try {
+            BlogSnapshotWriter.save(snapshotPath, posts);
+            snapshot = BlogSnapshot.open(snapshotPath);
+        } catch (IOException e) {
+            System.err.println("Could not save local snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the statistics and the blog list concurrently and prints a short overview.
+     * Both requests are in flight at the same time, so the overview costs one round trip.
+     * Failures are reported but do not prevent the menu from being shown.
+     */
+    private void showOverview() {
+        CompletableFuture<Statistics> statsFuture = apiClient.getStatisticsAsync();
+        CompletableFuture<SyncResult> syncFuture = syncer.syncAsync();
+        try {
+            CompletableFuture.allOf(statsFuture, syncFuture).join(); // Wait for both responses
+            Statistics stats = statsFuture.join();
+            applySync(syncFuture.join()); // Make the fetched posts searchable and keep a local copy
+            if (stats != null) {
+                System.out.println("There are " + stats.getTotal_posts() + " blogs, "
+                        + stats.getRemaining_posts() + " more can be added.");
+            }
+            List<BlogPost> posts = syncer.getPosts();
+            if (!posts.isEmpty()) {
+                BlogPost latest = posts.get(posts.size() - 1);
+                System.out.println("Latest blog: \"" + latest.getTitle() + "\" by " + latest.getAuthor());
+            }
+        } catch (CompletionException e) {
+            // Unwrap the failure of whichever request failed first
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            System.err.println("Mistake: " + cause.getMessage());
+        }
     }
 
     /**
@@ -47,12 +289,19 @@ public class ChatBotApp {
      */
     private void displayMenu() {
         int choice; // Variable to store user's menu choice
+        boolean first = true; // Whether the startup times are still to be printed
         do {
             System.out.println("\n--- Menu ---");
             System.out.println("1. Create new blog");
             System.out.println("2. View all blogs");
             System.out.println("3. Statistics of the site");
-            System.out.println("4. Back");
+            System.out.println("4. Import blogs from file");
+            System.out.println("5. Search blogs");
+            System.out.println("6. Diagnostics");
+            System.out.println("7. Back");
+            if (first && startupTiming) {
+                printStartupTime("first prompt");
+            }
             System.out.print("Please choose: ");
 
             try {
@@ -69,6 +318,15 @@ public class ChatBotApp {
                         viewSiteStatistics(); // Call method to view site statistics
                         break;
                     case 4:
+                        importBlogPosts(); // Call method to bulk import posts from a file
+                        break;
+                    case 5:
+                        searchBlogPosts(); // Call method to search the fetched posts
+                        break;
+                    case 6:
+                        viewDiagnostics(); // Call method to show request metrics of the client
+                        break;
+                    case 7:
                         System.out.println("Thanks for using " + botName + ". Bye!");
                         break;
                     default:
@@ -85,7 +343,11 @@ public class ChatBotApp {
                 // e.printStackTrace();
                 choice = 0; // Set choice to 0 to keep the loop running
             }
-        } while (choice != 4); // Continue loop until user chooses option 4 (Exit)
+            if (first && startupTiming && choice >= 1 && choice <= 6) {
+                printStartupTime("first response"); // Includes the time the user took to choose
+            }
+            first = false;
+        } while (choice != 7); // Continue loop until user chooses option 7 (Exit)
 
         scanner.close(); // Close the Scanner to release system resources
     }
@@ -115,57 +377,389 @@ public class ChatBotApp {
 
         // Create a NewBlogPostRequest object with the collected data
         NewBlogPostRequest newPost = new NewBlogPostRequest(title, content, author);
+        DuplicateMatch duplicate = findDuplicate(newPost);
+        if (duplicate != null) {
+            System.out.println("Not sent, this blog is a near-duplicate of " + duplicate + ".");
+            return;
+        }
+        if (writeBehind != null) {
+            writeBehind.submit(newPost); // Durable in the journal, created in the background
+            System.out.println("Blog post saved, it will be published in the background.");
+            return;
+        }
         // Call the API client to create the new blog post
         apiClient.createNewBlogPost(newPost);
     }
 
     /**
-     * Fetches all blog posts from the API and displays them on the console.
-     * Includes meta information if available.
+     * Checks a new post against the posts known locally, a lookup that does not wait for the
+     * backend; the index is refreshed in the background for the next post. Posts created
+     * meanwhile by others are caught when the client reserves the post before sending it, or,
+     * for the write-behind journal, when the worker checks it again.
+     * @param request The new post.
+     * @return The known post it nearly duplicates, or null if there is none or the check is disabled.
+     */
+    private DuplicateMatch findDuplicate(NewBlogPostRequest request) {
+        if (apiClient.getDuplicateIndex() == null) {
+            return null;
+        }
+        syncInBackground().exceptionally(failure -> null); // Offline: the posts known locally are used
+        return apiClient.findDuplicate(request);
+    }
+
+    /**
+     * Brings the duplicate index up to date with the server; if the backend is unreachable, the
+     * posts known locally are used.
+     */
+    private void refreshDuplicateIndex() {
+        try {
+            applySync(syncer.sync()); // Index only the posts not seen before
+        } catch (IOException e) {
+            if (snapshot != null) {
+                indexDuplicates(snapshot.asList());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prompts the user for a JSON Lines or CSV file and imports all posts it contains.
+     * Prints a summary and the lines that could not be imported.
+     *
+     * @throws IOException If the file cannot be read or an I/O error occurs during the API calls.
+     * @throws InterruptedException If the operation is interrupted during the API calls.
+     */
+    private void importBlogPosts() throws IOException, InterruptedException {
+        System.out.println("\n--- Import blogs ---");
+        System.out.print("Please enter the file path (.jsonl or .csv): ");
+        Path file = Path.of(scanner.nextLine().trim()); // Read the import file path from user
+
+        if (!Files.isRegularFile(file)) {
+            System.out.println("Error: file not found: " + file);
+            return; // Exit method if the file does not exist
+        }
+
+        if (apiClient.getDuplicateIndex() != null) {
+            refreshDuplicateIndex(); // Records already on the server are skipped as duplicates
+        }
+        ImportReport report = new BlogImporter(apiClient, importConcurrency).importFile(file);
+        for (ImportResult result : report.getResults()) {
+            if (result.getStatus() != ImportResult.Status.CREATED) {
+                System.out.println(result); // Print each record that was not imported
+            }
+        }
+        System.out.println(report); // Print the summary (uses ImportReport's toString method)
+    }
+
+    /**
+     * Prompts the user for search terms and an optional author, and prints the best matching posts.
+     * Posts created since the last sync are fetched from the API and added to the local index first.
+     *
+     * @throws IOException If an I/O error occurs during the API call.
+     * @throws InterruptedException If the operation is interrupted during the API call.
+     */
+    private void searchBlogPosts() throws IOException, InterruptedException {
+        System.out.println("\n--- Search blogs ---");
+        try {
+            applySync(syncer.sync()); // Fetch and index only the posts not seen before
+        } catch (IOException e) {
+            if (snapshot == null) {
+                throw e; // Nothing to search offline
+            }
+            System.out.println("Backend unreachable (" + describe(e) + "), searching the local snapshot.");
+            searchIndex.addAll(snapshot.asList());
+            analytics.addAll(snapshot.asList());
+            indexDuplicates(snapshot.asList());
+        }
+
+        System.out.print("Please enter search terms (end a word with * to match a prefix): ");
+        String query = scanner.nextLine(); // Read search terms from user
+
+        System.out.print("Filter by author (leave empty for all authors): ");
+        String author = scanner.nextLine(); // Read optional author filter from user
+
+        List<SearchResult> results = searchIndex.search(query, author, 10);
+        if (results.isEmpty()) {
+            System.out.println("No matching blogs."); // Inform if nothing matched
+            return;
+        }
+        for (SearchResult result : results) {
+            System.out.println(result); // Print each result (uses SearchResult's toString method)
+        }
+        System.out.println("Found " + results.size() + " of " + searchIndex.size() + " indexed blogs.");
+    }
+
+    /**
+     * Displays the blog posts page by page.
+     * The user moves with "n" (next), "p" (previous), "v" (switch between full posts and a
+     * table) and "q" (back to the menu); the next page is fetched in the background while the
+     * current one is shown.
      *
      * @throws IOException If an I/O error occurs during the API call.
      * @throws InterruptedException If the operation is interrupted during the API call.
      */
     private void viewAllBlogPosts() throws IOException, InterruptedException {
         System.out.println("\n--- See all blogs ---");
-        AllBlogsResponse response = apiClient.getAllBlogPosts(); // Fetch all blog posts from the API
-        // Check if response is valid, has data, and data is not empty
-        if (response != null && response.getData() != null && !response.getData().isEmpty()) {
-            List<BlogPost> posts = response.getData();
-            for (BlogPost post : posts) {
-                System.out.println(post); // Print each blog post (uses BlogPost's toString method)
+        BlogPager pager = new BlogPager(apiClient, pageSize);
+        BlogPage page;
+        try {
+            page = pager.first();
+        } catch (IOException e) {
+            if (snapshot == null) {
+                throw e; // No local copy to fall back to
             }
-            if (response.getMeta() != null) {
-                System.out.println("Meta information: " + response.getMeta()); // Print meta information
+            System.out.println("Backend unreachable (" + describe(e) + "), showing the local snapshot.");
+            viewSnapshot();
+            return;
+        }
+        while (page != null) {
+            if (page.getPosts().isEmpty()) {
+                System.out.println("No blogs for now."); // Inform if no posts are found
+                return;
             }
-        } else {
-            System.out.println("No blogs for now."); // Inform if no posts are found
+            searchIndex.addAll(page.getPosts()); // Keep the search index up to date
+            analytics.addAll(page.getPosts());
+            indexDuplicates(page.getPosts());
+            if (!renderer.render(page.getPosts(), this::readLineOrNull)) {
+                return; // Stopped at a pause
+            }
+            System.out.println(page); // Print the page position (uses BlogPage's toString method)
+            if (!page.hasNext() && !page.hasPrevious()) {
+                return; // Everything fits on one page
+            }
+            System.out.print((page.hasNext() ? "[n]ext, " : "") + (page.hasPrevious() ? "[p]revious, " : "")
+                    + "[v]iew " + (renderer.getView() == PostRenderer.View.FULL ? "table" : "full") + ", [q]uit: ");
+            String command = scanner.nextLine().trim().toLowerCase();
+            if (command.startsWith("v")) {
+                renderer.toggleView(); // Show the current page again in the other view
+            } else if (command.startsWith("n") && page.hasNext()) {
+                page = pager.next();
+            } else if (command.startsWith("p") && page.hasPrevious()) {
+                page = pager.previous();
+            } else if (command.startsWith("q")) {
+                return;
+            }
+            // Any other input shows the current page again
         }
+        System.out.println("No blogs for now."); // Request failed, error already logged
     }
 
     /**
-     * Fetches site statistics from the API and displays them on the console.
+     * Displays all posts of the local snapshot, for use while the backend is unreachable.
+     */
+    private void viewSnapshot() {
+        BlogSnapshot current = snapshot;
+        if (current.size() == 0) {
+            System.out.println("No blogs for now."); // Inform if the snapshot is empty
+            return;
+        }
+        renderer.render(current.asList(), this::readLineOrNull);
+        System.out.println("Snapshot of " + Instant.ofEpochMilli(current.getSavedAtMillis()) + ", " + current.size() + " blogs.");
+    }
+
+    /**
+     * Reads the answer to a pause of the renderer.
+     * @return The line entered, null at the end of the input.
+     */
+    private String readLineOrNull() {
+        return scanner.hasNextLine() ? scanner.nextLine() : null;
+    }
+
+    /**
+     * Fetches site statistics from the API and displays them on the console, followed by the
+     * analytics of the posts known locally (authors, posts per day, content lengths).
+     * The posts created since the last sync are fetched in the background and counted on the
+     * next visit; the analytics are shown even if the backend is unreachable.
      *
      * @throws IOException If an I/O error occurs during the API call.
      * @throws InterruptedException If the operation is interrupted during the API call.
      */
     private void viewSiteStatistics() throws IOException, InterruptedException {
         System.out.println("\n--- Statistics ---");
-        Statistics stats = apiClient.getStatistics(); // Fetch statistics from the API
-        if (stats != null) {
-            System.out.println(stats); // Print statistics (uses Statistics' toString method)
-        } else {
-            System.out.println("Error loading statistics."); // Inform if statistics cannot be fetched
+        try {
+            Statistics stats = apiClient.getStatistics(); // Fetch statistics from the API
+            if (stats != null) {
+                System.out.println(stats); // Print statistics (uses Statistics' toString method)
+            } else {
+                System.out.println("Error loading statistics."); // Inform if statistics cannot be fetched
+            }
+        } catch (IOException e) {
+            System.out.println("Statistics unavailable: " + describe(e)); // The local analytics below still work
+        }
+        if (apiClient.getLimiter() != null) {
+            System.out.println("Client limiter: " + apiClient.getLimiter()); // Current limit and queue depth
+        }
+        if (apiClient.getCircuitBreaker() != null) {
+            System.out.println("Circuit breaker: " + apiClient.getCircuitBreaker()); // Backend health as seen by the client
+        }
+        CompletableFuture<Void> sync = syncInBackground(); // Posts created since the last sync are counted when it ends
+        if (analytics.size() == 0) {
+            if (snapshot != null) {
+                analytics.addAll(snapshot.asList());
+            } else {
+                try {
+                    sync.join(); // Nothing known locally yet, wait for the first listing
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+                    System.out.println("Post analytics unavailable: "
+                            + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+                    return;
+                }
+            }
+        }
+        System.out.println(analytics.report(topAuthors)); // Print the aggregates (uses AnalyticsReport's toString method)
+        printDuplicateClusters();
+    }
+
+    /**
+     * Prints the groups of nearly identical posts among the posts known locally.
+     */
+    private void printDuplicateClusters() {
+        DuplicateIndex duplicates = apiClient.getDuplicateIndex();
+        if (duplicates == null) {
+            return;
+        }
+        List<List<BlogPost>> clusters = duplicates.clusters();
+        int posts = 0;
+        for (List<BlogPost> cluster : clusters) {
+            posts += cluster.size();
+        }
+        System.out.println("Near-duplicates: " + clusters.size() + " groups with " + posts + " posts");
+        for (List<BlogPost> cluster : clusters.subList(0, Math.min(DUPLICATE_GROUPS_SHOWN, clusters.size()))) {
+            StringBuilder ids = new StringBuilder();
+            for (BlogPost post : cluster) {
+                ids.append(ids.length() > 0 ? ", " : "").append(post.getId());
+            }
+            System.out.println("  \"" + cluster.get(0).getTitle() + "\" by " + cluster.get(0).getAuthor()
+                    + ": " + cluster.size() + " posts (ids " + ids + ")");
+        }
+    }
+
+    /**
+     * Displays the request metrics of the API client: latency histograms per endpoint and
+     * status, phase timings, transferred bytes, and in-flight and error counters.
+     */
+    private void viewDiagnostics() {
+        System.out.println("\n--- Diagnostics ---");
+        System.out.print(apiClient.getMetrics().report()); // Per-endpoint metrics (the report ends with a newline)
+        if (apiClient.getCache() != null) {
+            System.out.println("Response cache: " + apiClient.getCache()); // Hit rate and size
+        }
+        if (apiClient.getBackendPool() != null) {
+            System.out.print("Backends (* = primary):\n" + apiClient.getBackendPool()); // Load and health per backend
+        }
+        if (apiClient.getSingleFlight() != null) {
+            System.out.println("Request coalescing: " + apiClient.getSingleFlight()); // GETs shared by callers
+        }
+        if (writeBehind != null) {
+            System.out.println("Background publishing: " + writeBehind); // Journaled posts and their delivery
+        }
+        System.out.println("Local copy: " + syncer.getFootprint()); // Memory used by the synced posts
+        System.out.println("Search index: " + searchIndex.getFootprint()); // Its own compact copy of the indexed posts
+        if (apiClient.getDuplicateIndex() != null) {
+            System.out.println("Duplicate index: " + apiClient.getDuplicateIndex().getFootprint());
+        }
+    }
+
+    /**
+     * Prints the time since the JVM was started, e.g. to compare start-up options in scripted runs.
+     */
+    private static void printStartupTime(String milestone) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime(); // Does not start the JMX server
+        System.out.println("Startup: " + milestone + " after " + uptime + " ms");
+    }
+
+    /**
+     * Returns a short description of a failure for console messages.
+     * Some network exceptions carry no message, so the exception type is used instead.
+     */
+    private static String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Runs the menu for many users over TCP with one shared API client, until "quit" is entered
+     * on the console. Entering "status" prints the sessions and the heap in use.
+     *
+     * @throws IOException If the server port cannot be bound.
+     * @throws InterruptedException If the thread is interrupted while the server runs.
+     */
+    private static void runServer() throws IOException, InterruptedException {
+        AppConfig config = new AppConfig();
+        ApiClient apiClient = new ApiClient(config); // Shared by all sessions
+        try (ChatServer server = new ChatServer(apiClient, config.getBotName(), config.getServerPort(),
+                config.getServerMaxSessions(), config.getPageSize(), config.getServerIdleTimeoutMillis())) {
+            server.start();
+            System.out.println(config.getBotName() + " is serving on port " + server.getPort()
+                    + ". Enter \"status\" for the sessions, \"quit\" to stop.");
+            Scanner console = new Scanner(System.in);
+            while (console.hasNextLine()) {
+                String command = console.nextLine().trim();
+                if (command.equals("quit")) {
+                    return;
+                } else if (command.equals("status")) {
+                    Runtime runtime = Runtime.getRuntime();
+                    long usedKb = (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+                    System.out.println(server + ", heap in use " + usedKb + " KB");
+                }
+            }
+            server.join(); // No console (e.g. run as a service): serve until the process is stopped
+        }
+    }
+
+    /**
+     * Runs commands without user interaction and writes the results as JSON Lines to the standard output.
+     *
+     * @param commands The command lines, e.g. "stats" or "list 0 10".
+     * @return The exit status: 0 if all commands succeeded, 1 otherwise.
+     * @throws IOException If the output cannot be written.
+     */
+    private static int runBatch(List<String> commands) throws IOException {
+        AppConfig config = new AppConfig();
+        ApiClient apiClient = new ApiClient(config);
+        // Written around System.out, whose PrintStream synchronizes and may flush on every line
+        int failures = new BatchRunner(apiClient, config.getImportConcurrency())
+                .run(commands, new FileOutputStream(FileDescriptor.out));
+        return failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * Reads the commands of a batch run from a file, or from the standard input if the path is "-".
+     */
+    private static List<String> readBatchFile(String path) throws IOException {
+        if (path.equals("-")) {
+            return BatchRunner.readCommands(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(path))) {
+            return BatchRunner.readCommands(reader);
         }
     }
 
     /**
      * The main method to run the application.
-     * Creates an instance of ChatBotApp and starts it.
+     * Creates an instance of ChatBotApp and starts it, or runs the server mode.
      *
-     * @param args Command line arguments (not used in this application).
+     * @param args "--server" to serve the menu over TCP instead of the console,
+     *             "--training-run" to load the classes of a session and exit (for an AppCDS archive),
+     *             "--batch COMMAND..." or "--batch-file PATH" to run commands without interaction.
+     * @throws Exception If the server mode, the training run or the batch run fails.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.exit(runBatch(Arrays.asList(args).subList(1, args.length)));
+        }
+        if (args.length > 1 && args[0].equals("--batch-file")) {
+            System.exit(runBatch(readBatchFile(args[1])));
+        }
+        if (args.length > 0 && args[0].equals("--training-run")) {
+            StartupTraining.run();
+            System.exit(0); // The HTTP client's selector thread is not a daemon thread
+        }
         ChatBotApp app = new ChatBotApp();
         app.start(); // Start the chatbot application
     }
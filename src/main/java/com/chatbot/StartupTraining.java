@@ -0,0 +1,67 @@
+package com.chatbot;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPostStreamReader;
+import com.chatbot.api.JsonCodec;
+import com.chatbot.config.AppConfig;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.NewBlogPostRequest;
+import com.chatbot.model.Statistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Training run for an application class-data sharing (AppCDS) archive.
+ * It loads the classes a normal session needs (configuration, API client, Jackson readers and
+ * writers for all model classes, the HTTP client) and exits, so that a JVM started with
+ * {@code -XX:ArchiveClassesAtExit=blogbot.jsa} writes them to an archive. Later launches with
+ * {@code -XX:SharedArchiveFile=blogbot.jsa} map the archive instead of loading and verifying
+ * those classes again. Nothing is created on the backend; if it is reachable, a statistics
+ * request and a listing are made so the HTTP classes are archived as well.
+ */
+final class StartupTraining {
+    private static final String SAMPLE_LISTING = "{\"data\":[{\"id\":\"1\",\"title\":\"Training\",\"author\":\"Bot\","
+            + "\"content\":\"Sample post\",\"created_at\":\"2024-01-01 00:00:00\"}],"
+            + "\"meta\":{\"total\":1,\"limit\":10,\"can_add_more\":true}}";
+    private static final String SAMPLE_STATS = "{\"total_posts\":1,\"max_posts\":10,\"remaining_posts\":9,"
+            + "\"percentage_used\":10.0,\"can_add_more\":true}";
+
+    private StartupTraining() {
+    }
+
+    /**
+     * Runs the training workload.
+     * @throws IOException If the sample documents cannot be processed.
+     * @throws InterruptedException If the thread is interrupted while waiting for the backend.
+     */
+    static void run() throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        AppConfig config = new AppConfig();
+        ApiClient apiClient = new ApiClient(config);
+
+        // The JSON paths of the client, without depending on the backend
+        JsonCodec codec = new JsonCodec(new ObjectMapper());
+        codec.decode(SAMPLE_STATS.getBytes(StandardCharsets.UTF_8), Statistics.class).toString();
+        try (BlogPostStreamReader reader = new BlogPostStreamReader(codec,
+                new ByteArrayInputStream(SAMPLE_LISTING.getBytes(StandardCharsets.UTF_8)))) {
+            reader.forEachRemaining(BlogPost::toString);
+        }
+        JsonCodec.Encoded body = codec.encode(new NewBlogPostRequest("Training", "Sample post", "Bot"));
+        codec.gzip(body).release();
+
+        // The HTTP paths, if the backend answers
+        try {
+            apiClient.warmUp().get(10, TimeUnit.SECONDS);
+            apiClient.getAllBlogPostsAsync().get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Backend not reachable during the training run, HTTP classes are partly archived: " + e);
+        }
+        System.out.println("Training run finished in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms.");
+    }
+}
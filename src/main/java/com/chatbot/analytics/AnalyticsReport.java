@@ -0,0 +1,198 @@
+package com.chatbot.analytics;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Snapshot of the aggregates of {@link PostAnalytics}: posts per author, posts per day and
+ * the distribution of content lengths. Content lengths are counted in buckets that double
+ * in size (0, 1, 2-3, 4-7, ...), so the median is known to within a factor of two.
+ */
+public class AnalyticsReport {
+    private static final int DAYS_SHOWN = 14; // Most recent days listed by toString()
+    private static final int BAR_WIDTH = 30;  // Characters of the longest bar of the length distribution
+
+    /**
+     * Number of posts of one author.
+     */
+    public static class AuthorCount {
+        private final String author;
+        private final int posts;
+
+        public AuthorCount(String author, int posts) {
+            this.author = author;
+            this.posts = posts;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public int getPosts() {
+            return posts;
+        }
+    }
+
+    private final int posts;
+    private final int authors;
+    private final List<AuthorCount> topAuthors;              // Most posts first
+    private final NavigableMap<LocalDate, Integer> postsPerDay;
+    private final int undated;                               // Posts without a readable creation time
+    private final long[] lengthBuckets;
+    private final int minLength;
+    private final int maxLength;
+    private final long totalLength;
+
+    AnalyticsReport(int posts, int authors, List<AuthorCount> topAuthors, NavigableMap<LocalDate, Integer> postsPerDay,
+                    int undated, long[] lengthBuckets, int minLength, int maxLength, long totalLength) {
+        this.posts = posts;
+        this.authors = authors;
+        this.topAuthors = Collections.unmodifiableList(topAuthors);
+        this.postsPerDay = Collections.unmodifiableNavigableMap(postsPerDay);
+        this.undated = undated;
+        this.lengthBuckets = lengthBuckets;
+        this.minLength = posts > 0 ? minLength : 0;
+        this.maxLength = maxLength;
+        this.totalLength = totalLength;
+    }
+
+    public int getPosts() {
+        return posts;
+    }
+
+    public int getAuthors() {
+        return authors;
+    }
+
+    public List<AuthorCount> getTopAuthors() {
+        return topAuthors;
+    }
+
+    public NavigableMap<LocalDate, Integer> getPostsPerDay() {
+        return postsPerDay;
+    }
+
+    public int getUndated() {
+        return undated;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the number of posts whose content length falls into a bucket.
+     * @param bucket The bucket, 0 for empty contents, b for lengths 2^(b-1) to 2^b - 1.
+     * @return The number of posts.
+     */
+    public long getLengthBucket(int bucket) {
+        return lengthBuckets[bucket];
+    }
+
+    /**
+     * Returns the average content length.
+     * @return The mean number of characters, 0 if there are no posts.
+     */
+    public double getAverageLength() {
+        return posts > 0 ? (double) totalLength / posts : 0;
+    }
+
+    /**
+     * Estimates a percentile of the content length from the buckets.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper end of the bucket holding the percentile, at most the longest content.
+     */
+    public int getLengthPercentile(double percentile) {
+        long rank = (long) Math.ceil(posts * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < lengthBuckets.length; bucket++) {
+            seen += lengthBuckets[bucket];
+            if (seen >= rank && seen > 0) {
+                return Math.min(maxLength, upperBound(bucket));
+            }
+        }
+        return maxLength;
+    }
+
+    private static int lowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1 << (bucket - 1);
+    }
+
+    private static int upperBound(int bucket) {
+        return bucket == 0 ? 0 : (1 << bucket) - 1;
+    }
+
+    /**
+     * Returns the day with the most posts.
+     * @return The busiest day, the earliest of several with the same count, or null if no post has a date.
+     */
+    public LocalDate getBusiestDay() {
+        LocalDate busiest = null;
+        int most = 0;
+        for (Map.Entry<LocalDate, Integer> entry : postsPerDay.entrySet()) {
+            if (entry.getValue() > most) {
+                busiest = entry.getKey();
+                most = entry.getValue();
+            }
+        }
+        return busiest;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Post analytics (" + posts + " posts known locally):\n");
+        if (posts == 0) {
+            return text.append("  No posts yet.").toString();
+        }
+        text.append("  Authors: ").append(authors).append('\n');
+        text.append("  Top authors:\n");
+        for (int i = 0; i < topAuthors.size(); i++) {
+            AuthorCount count = topAuthors.get(i);
+            text.append(String.format("    %2d. %-30s %6d%n", i + 1, count.getAuthor(), count.getPosts()));
+        }
+
+        LocalDate busiest = getBusiestDay();
+        text.append("  Posts per day (").append(postsPerDay.size()).append(" days");
+        if (busiest != null) {
+            text.append(", busiest ").append(busiest).append(" with ").append(postsPerDay.get(busiest));
+        }
+        if (undated > 0) {
+            text.append(", ").append(undated).append(" undated");
+        }
+        text.append("):\n");
+        NavigableMap<LocalDate, Integer> recent = postsPerDay.descendingMap();
+        int shown = 0;
+        for (Map.Entry<LocalDate, Integer> entry : recent.entrySet()) {
+            if (shown++ == DAYS_SHOWN) {
+                text.append("    ... ").append(postsPerDay.size() - DAYS_SHOWN).append(" earlier days\n");
+                break;
+            }
+            text.append(String.format("    %s %6d%n", entry.getKey(), entry.getValue()));
+        }
+
+        text.append(String.format("  Content length: min %d, median <= %d, p90 <= %d, max %d, average %.1f%n",
+                minLength, getLengthPercentile(50), getLengthPercentile(90), maxLength, getAverageLength()));
+        long largest = 0;
+        for (long count : lengthBuckets) {
+            largest = Math.max(largest, count);
+        }
+        for (int bucket = 0; bucket < lengthBuckets.length; bucket++) {
+            if (lengthBuckets[bucket] == 0) {
+                continue;
+            }
+            String range = bucket == lengthBuckets.length - 1 ? lowerBound(bucket) + "+"
+                    : lowerBound(bucket) + "-" + upperBound(bucket);
+            int bar = (int) Math.max(1, lengthBuckets[bucket] * BAR_WIDTH / largest);
+            text.append(String.format("    %11s %6d %s%n", range, lengthBuckets[bucket], "#".repeat(bar)));
+        }
+        text.setLength(text.length() - System.lineSeparator().length()); // No newline at the end, like Statistics
+        return text.toString();
+    }
+}
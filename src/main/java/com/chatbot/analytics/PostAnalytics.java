@@ -0,0 +1,260 @@
+package com.chatbot.analytics;
+
+import com.chatbot.model.BlogPost;
+import com.chatbot.search.Tokenizer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aggregates over the locally known blog posts that the API does not provide: posts per
+ * author, posts per day and the distribution of content lengths.
+ * Posts are added incrementally as they are fetched; a post whose id was already counted is
+ * skipped, so adding a refreshed listing only costs the new posts. Large sets, e.g. a loaded
+ * snapshot, are aggregated in parallel. A complete set of posts, e.g. after a full resync,
+ * replaces the aggregates with {@link #replaceAll(Collection)}, which splits large sets over
+ * the common fork-join pool.
+ * The aggregates are safe to read while posts are being added.
+ */
+public class PostAnalytics {
+    static final int LENGTH_BUCKETS = 17; // Content lengths 0, 1, 2-3, 4-7, ..., 32768 and more
+    private static final int PARALLEL_THRESHOLD = 10_000; // Smaller sets are aggregated on the calling thread
+
+    private Set<String> ids = new HashSet<>(); // Ids of the counted posts
+    private Aggregates aggregates = new Aggregates();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Replaces the aggregates with those of a complete set of posts, e.g. after a full resync
+     * in which posts may have been deleted. The set is aggregated under the write lock, in
+     * parallel if it is large, so posts added meanwhile are counted on top of the new aggregates.
+     * @param posts The posts, duplicates by id are counted once.
+     */
+    public void replaceAll(Collection<BlogPost> posts) {
+        lock.writeLock().lock();
+        try {
+            if (posts.size() < PARALLEL_THRESHOLD) {
+                ids = new HashSet<>();
+                aggregates = new Aggregates();
+                for (BlogPost post : posts) {
+                    addLocked(post);
+                }
+            } else {
+                Set<String> seen = ConcurrentHashMap.newKeySet(posts.size());
+                aggregates = posts.parallelStream()
+                        .filter(post -> post.getId() == null || seen.add(post.getId()))
+                        .collect(Aggregates::new, Aggregates::add, Aggregates::merge);
+                ids = new HashSet<>(seen);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a post to the aggregates, unless a post with the same id was already counted.
+     * @param post The post to count.
+     * @return true if the post was counted, false if it was already known.
+     */
+    public boolean add(BlogPost post) {
+        lock.writeLock().lock();
+        try {
+            return addLocked(post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds several posts to the aggregates, skipping those already counted.
+     * @param posts The posts to count.
+     * @return The number of posts that were counted.
+     */
+    public int addAll(Collection<BlogPost> posts) {
+        lock.writeLock().lock();
+        try {
+            if (posts.size() >= PARALLEL_THRESHOLD) {
+                // Only the id check runs in order, the new posts are aggregated in parallel
+                List<BlogPost> added = new ArrayList<>();
+                for (BlogPost post : posts) {
+                    if (post.getId() == null || ids.add(post.getId())) {
+                        added.add(post);
+                    }
+                }
+                aggregates.merge(added.parallelStream().collect(Aggregates::new, Aggregates::add, Aggregates::merge));
+                return added.size();
+            }
+            int added = 0;
+            for (BlogPost post : posts) {
+                if (addLocked(post)) {
+                    added++;
+                }
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean addLocked(BlogPost post) {
+        if (post.getId() != null && !ids.add(post.getId())) {
+            return false;
+        }
+        aggregates.add(post);
+        return true;
+    }
+
+    /**
+     * Returns the number of posts counted so far.
+     * @return The number of posts.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return aggregates.posts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the aggregates.
+     * @param topAuthors The number of authors with the most posts to include.
+     * @return The current aggregates.
+     */
+    public AnalyticsReport report(int topAuthors) {
+        lock.readLock().lock();
+        try {
+            return new AnalyticsReport(aggregates.posts, aggregates.authors.size(), top(topAuthors),
+                    new TreeMap<>(aggregates.days), aggregates.undated,
+                    aggregates.lengthBuckets.clone(), aggregates.minLength, aggregates.maxLength,
+                    aggregates.totalLength);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Selects the authors with the most posts with a bounded heap instead of sorting all authors.
+     */
+    private List<AnalyticsReport.AuthorCount> top(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<AuthorTally> heap = new PriorityQueue<>(limit + 1, AuthorTally.RANKING.reversed());
+        for (AuthorTally tally : aggregates.authors.values()) {
+            heap.add(tally);
+            if (heap.size() > limit) {
+                heap.poll(); // Drop the lowest ranked author
+            }
+        }
+        AuthorTally[] ranked = heap.toArray(new AuthorTally[0]);
+        Arrays.sort(ranked, AuthorTally.RANKING);
+        List<AnalyticsReport.AuthorCount> result = new ArrayList<>(ranked.length);
+        for (AuthorTally tally : ranked) {
+            result.add(new AnalyticsReport.AuthorCount(tally.name, tally.posts));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the bucket of a content length: 0 for empty contents, otherwise the number of
+     * bits of the length, so each bucket holds twice as many lengths as the one before.
+     */
+    static int bucketOf(int length) {
+        return Math.min(LENGTH_BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    /**
+     * Reads the day of a "yyyy-MM-dd HH:mm:ss" timestamp.
+     * @return The day, or null if the timestamp is missing or malformed.
+     */
+    private static LocalDate dayOf(String createdAt) {
+        if (createdAt == null || createdAt.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(createdAt.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Post count of one author, under the first spelling of the name that was seen.
+     */
+    private static final class AuthorTally {
+        // Most posts first, ties by name so the ranking is stable
+        static final Comparator<AuthorTally> RANKING =
+                Comparator.<AuthorTally>comparingInt(tally -> -tally.posts).thenComparing(tally -> tally.name);
+
+        final String name;
+        int posts;
+
+        AuthorTally(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * The mutable aggregates; one instance per thread while recomputing in parallel, merged at the end.
+     */
+    private static final class Aggregates {
+        final Map<String, AuthorTally> authors = new HashMap<>(); // Normalized author -> count
+        final Map<LocalDate, Integer> days = new HashMap<>();     // Day of creation -> count
+        final long[] lengthBuckets = new long[LENGTH_BUCKETS];    // Content length distribution
+        int posts;
+        int undated;       // Posts without a readable creation time
+        int minLength = Integer.MAX_VALUE;
+        int maxLength;
+        long totalLength;
+
+        void add(BlogPost post) {
+            posts++;
+            String author = post.getAuthor() != null ? post.getAuthor().trim() : "";
+            authors.computeIfAbsent(Tokenizer.normalizeAuthor(author), key -> new AuthorTally(author)).posts++;
+            LocalDate day = dayOf(post.getCreated_at());
+            if (day != null) {
+                days.merge(day, 1, Integer::sum);
+            } else {
+                undated++;
+            }
+            int length = post.getContent() != null ? post.getContent().length() : 0;
+            lengthBuckets[bucketOf(length)]++;
+            minLength = Math.min(minLength, length);
+            maxLength = Math.max(maxLength, length);
+            totalLength += length;
+        }
+
+        void merge(Aggregates other) {
+            for (Map.Entry<String, AuthorTally> entry : other.authors.entrySet()) {
+                AuthorTally tally = authors.computeIfAbsent(entry.getKey(), key -> new AuthorTally(entry.getValue().name));
+                tally.posts += entry.getValue().posts;
+            }
+            other.days.forEach((day, count) -> days.merge(day, count, Integer::sum));
+            for (int i = 0; i < LENGTH_BUCKETS; i++) {
+                lengthBuckets[i] += other.lengthBuckets[i];
+            }
+            posts += other.posts;
+            undated += other.undated;
+            minLength = Math.min(minLength, other.minLength);
+            maxLength = Math.max(maxLength, other.maxLength);
+            totalLength += other.totalLength;
+        }
+    }
+}
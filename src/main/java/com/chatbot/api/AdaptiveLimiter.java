@@ -0,0 +1,136 @@
+package com.chatbot.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Client-side concurrency limiter that adapts the number of requests in flight
+ * to how the server behaves, using an AIMD (additive increase, multiplicative decrease) rule:
+ * each successful, fast response while the limit is in use raises the limit by one;
+ * each error or response slower than the latency threshold multiplies it by the backoff ratio.
+ * Requests over the limit wait in a FIFO queue without blocking a thread in the async case.
+ */
+public class AdaptiveLimiter {
+    private final int minLimit;                // Lower bound for the limit
+    private final int maxLimit;                // Upper bound for the limit
+    private final double backoffRatio;         // Factor applied to the limit on overload (0 < ratio < 1)
+    private final long latencyThresholdNanos;  // Responses slower than this count as overload
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>(); // Queued acquisitions
+    private double limit;   // Current limit, fractional so that repeated decreases stay smooth
+    private int inFlight;   // Requests currently holding a permit
+    private long samples;   // Number of completed requests observed
+    private long drops;     // Number of completed requests classified as overload
+
+    /**
+     * Constructor to initialize the AdaptiveLimiter.
+     * @param initialLimit The starting number of concurrent requests.
+     * @param minLimit The smallest limit the algorithm may reach (at least 1).
+     * @param maxLimit The largest limit the algorithm may reach.
+     * @param backoffRatio The factor applied to the limit on errors or slow responses.
+     * @param latencyThresholdMillis Latency above which a response counts as overload.
+     */
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdMillis * 1_000_000L;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Waits for a permit without blocking the calling thread.
+     * @return A future completed once the request may be sent.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        synchronized (this) {
+            if (inFlight < (int) limit && waiters.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    /**
+     * Blocks until a permit is available.
+     * @throws InterruptedException If the thread is interrupted while waiting; no permit is held then.
+     */
+    public void acquire() throws InterruptedException {
+        CompletableFuture<Void> waiter = acquireAsync();
+        try {
+            waiter.get();
+        } catch (InterruptedException e) {
+            if (!waiter.cancel(false)) {
+                release(); // The permit was granted concurrently, give it back
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e); // Waiters are only ever completed normally
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the outcome of the request into the limit.
+     * @param latencyNanos The time from sending the request to receiving the response.
+     * @param failed Whether the request failed or the server signalled overload.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        synchronized (this) {
+            samples++;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                drops++;
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight * 2 >= limit) {
+                // Only grow while the limit is actually being used, not when the client is idle
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+        release();
+    }
+
+    /**
+     * Returns a permit without recording a sample, e.g. when the request was never sent.
+     */
+    public void release() {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.poll());
+            }
+        }
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                release(); // The waiter was cancelled in the meantime, pass the permit on
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return waiters.size();
+    }
+
+    /**
+     * Provides a one-line summary of the limiter state.
+     * @return A string containing the current limit, in-flight requests, queue depth and drop count.
+     */
+    @Override
+    public synchronized String toString() {
+        return "Limit: " + (int) limit + " (" + minLimit + "-" + maxLimit + "), In flight: " + inFlight
+                + ", Queued: " + waiters.size() + ", Samples: " + samples + ", Drops: " + drops;
+    }
+}
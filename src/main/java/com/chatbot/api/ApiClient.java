@@ -1,44 +1,436 @@
 package com.chatbot.api;
 
+import com.chatbot.config.AppConfig;
+import com.chatbot.metrics.ClientMetrics;
+import com.chatbot.metrics.EndpointMetrics;
 import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.model.BlogPost;
 import com.chatbot.model.NewBlogPostRequest;
 import com.chatbot.model.Statistics;
+import com.chatbot.search.DuplicateIndex;
+import com.chatbot.search.DuplicateMatch;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Client class for communicating with the REST API.
  * Utilizes Java 11's {@link HttpClient} for making HTTP requests
  * and Jackson for JSON serialization and deserialization.
+ * Every call is available in a blocking form and in a non-blocking form
+ * returning a {@link CompletableFuture}. GET responses can optionally be
+ * cached in a {@link ApiResponseCache}, and the load put on the server can be
+ * bounded by an {@link AdaptiveLimiter} and per-endpoint {@link TokenBucket}s.
+ * Failures are handled by an optional {@link RetryPolicy}, {@link CircuitBreaker}
+ * and {@link HedgePolicy}. Concurrent identical GET requests are coalesced by a
+ * {@link SingleFlight}, and requests can be spread over several backends by a {@link BackendPool}.
+ * Every request is measured in the client's {@link ClientMetrics}.
  */
 public class ApiClient {
-    private final HttpClient httpClient;   // HTTP client for making requests
-    private final ObjectMapper objectMapper; // Jackson object mapper for JSON processing
+    private static final String BLOGS = "blogs"; // "api" parameter of the blog endpoint
+    private static final String STATS = "stats"; // "api" parameter of the statistics endpoint
+
+    private final ExecutorService executor; // Executor of the HTTP client, null for its default
+    private volatile HttpClient httpClient; // HTTP client for making requests, created on first use
+    private volatile JsonCodec codec;       // Jackson readers and writers for JSON processing, created on first use
     private final String baseUrl;          // Base URL of the REST API
+    private final ApiResponseCache cache;  // Cache for GET responses, null if caching is disabled
+    private final AdaptiveLimiter limiter; // Concurrency limiter for all requests, null if disabled
+    private final Map<String, TokenBucket> rateLimits = new ConcurrentHashMap<>(); // Optional rate caps per endpoint
+    private volatile RetryPolicy retryPolicy;       // Retry policy for GET requests, null for no retries
+    private volatile CircuitBreaker circuitBreaker; // Breaker that fails fast while the backend is down, null if disabled
+    private volatile HedgePolicy hedgePolicy;       // Hedging policy for GET requests, null if disabled
+    private volatile SingleFlight singleFlight = new SingleFlight(0); // Coalesces identical GETs, null if disabled
+    private volatile BackendPool backendPool;       // Equivalent backends requests are spread over, null for baseUrl only
+    private volatile DuplicateIndex duplicateIndex; // Known posts new posts are checked against, null if disabled
+    private volatile Boolean serverPaging;          // Whether the API honors offset and limit, null until known
+    private final ClientMetrics metrics = new ClientMetrics(); // Latency histograms and counters per endpoint
+    private volatile boolean responseCompression = true;     // Ask for gzip or deflate compressed responses
+    private volatile int requestCompressionMinBytes = -1;    // Smallest POST body sent gzip compressed, -1 if disabled
 
     /**
      * Constructor to initialize the ApiClient.
      * @param baseUrl The base URL of the REST API.
      */
     public ApiClient(String baseUrl) {
+        this(baseUrl, null);
+    }
+
+    /**
+     * Constructor to initialize the ApiClient with a custom executor.
+     * The executor runs the asynchronous HTTP exchanges and the dependent
+     * completion stages (e.g. JSON parsing) of the async methods.
+     * @param baseUrl The base URL of the REST API.
+     * @param executor The executor for asynchronous tasks, or null to use the HttpClient default.
+     */
+    public ApiClient(String baseUrl, ExecutorService executor) {
+        this(baseUrl, executor, null);
+    }
+
+    /**
+     * Constructor to initialize the ApiClient from the application configuration.
+     * Sets up the executor and the response cache as configured.
+     * @param config The loaded application configuration.
+     */
+    public ApiClient(AppConfig config) {
+        this(config.getApiBaseUrl(),
+                config.isVirtualThreadsEnabled() ? newVirtualThreadExecutor() : null,
+                config.isCacheEnabled() ? createCache(config) : null,
+                config.isLimiterEnabled() ? createLimiter(config) : null);
+        for (String api : new String[] {BLOGS, STATS}) {
+            double rate = config.getRateLimit(api);
+            if (rate > 0) {
+                setRateLimit(api, new TokenBucket(rate, config.getRateBurst(api)));
+            }
+        }
+        if (config.getRetryMaxAttempts() > 1) {
+            setRetryPolicy(new RetryPolicy(config.getRetryMaxAttempts(),
+                    config.getRetryBaseDelayMillis(), config.getRetryMaxDelayMillis()));
+        }
+        if (config.isCircuitBreakerEnabled()) {
+            setCircuitBreaker(new CircuitBreaker(config.getCircuitBreakerFailureThreshold(),
+                    config.getCircuitBreakerOpenMillis()));
+        }
+        if (config.isHedgingEnabled()) {
+            setHedgePolicy(new HedgePolicy(config.getHedgeMinDelayMillis(), config.getHedgePercentile()));
+        }
+        List<String> baseUrls = config.getApiBaseUrls();
+        if (baseUrls.size() > 1) {
+            setBackendPool(new BackendPool(baseUrls, config.getApiBaseUrl(), config.getBackendEjectFailures(),
+                    config.getBackendEjectMillis(), config.getBackendLatencyDecayMillis()));
+        }
+        if (config.isDuplicateCheckEnabled()) {
+            setDuplicateIndex(new DuplicateIndex(config.getDuplicateThreshold(), config.isStoreUtf8Content()));
+        }
+        setSingleFlight(config.isCoalescingEnabled() ? new SingleFlight(config.getCoalescingWindowMillis()) : null);
+        setResponseCompression(config.isResponseCompressionEnabled());
+        if (config.isRequestCompressionEnabled()) {
+            setRequestCompression(config.getRequestCompressionMinBytes());
+        }
+        if (config.isMetricsJmxEnabled()) {
+            if (config.isFastStartupEnabled()) {
+                CompletableFuture.runAsync(metrics::registerMBeans); // Starting JMX takes longer than the rest of the client
+            } else {
+                metrics.registerMBeans();
+            }
+        }
+        if (config.getMetricsExportPath() != null) {
+            metrics.startExport(config.getMetricsExportPath(), config.getMetricsExportPeriodMillis());
+        }
+    }
+
+    /**
+     * Constructor to initialize the ApiClient with a custom executor and response cache.
+     * @param baseUrl The base URL of the REST API.
+     * @param executor The executor for asynchronous tasks, or null to use the HttpClient default.
+     * @param cache The cache for GET responses, or null to disable caching.
+     */
+    public ApiClient(String baseUrl, ExecutorService executor, ApiResponseCache cache) {
+        this(baseUrl, executor, cache, null);
+    }
+
+    /**
+     * Constructor to initialize the ApiClient with a custom executor, response cache and concurrency limiter.
+     * @param baseUrl The base URL of the REST API.
+     * @param executor The executor for asynchronous tasks, or null to use the HttpClient default.
+     * @param cache The cache for GET responses, or null to disable caching.
+     * @param limiter The adaptive limiter for requests in flight, or null for no limit.
+     */
+    public ApiClient(String baseUrl, ExecutorService executor, ApiResponseCache cache, AdaptiveLimiter limiter) {
         this.baseUrl = baseUrl;
-        // Initialize HttpClient with common configurations
-        this.httpClient = HttpClient.newBuilder()
-                .version(HttpClient.Version.HTTP_2) // Use HTTP/2 protocol
-                .followRedirects(HttpClient.Redirect.NORMAL) // Automatically follow redirects
-                .connectTimeout(Duration.ofSeconds(10)) // Set a 10-second connection timeout
-                .build();
-        this.objectMapper = new ObjectMapper(); // Initialize Jackson ObjectMapper
+        this.executor = executor;
+        this.cache = cache;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Returns the HTTP client, creating it on first use. Building it starts its selector
+     * thread, which is not needed before the first request.
+     */
+    private HttpClient httpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpClient;
+                if (client == null) {
+                    // Initialize HttpClient with common configurations
+                    HttpClient.Builder builder = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_2) // Use HTTP/2 protocol
+                            .followRedirects(HttpClient.Redirect.NORMAL) // Automatically follow redirects
+                            .connectTimeout(Duration.ofSeconds(10)); // Set a 10-second connection timeout
+                    if (executor != null) {
+                        builder.executor(executor); // Run async exchanges on the supplied executor
+                    }
+                    client = builder.build();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Returns the JSON codec, creating it on first use. Loading and introspecting Jackson
+     * is the largest part of the client's start-up cost.
+     */
+    private JsonCodec codec() {
+        JsonCodec current = codec;
+        if (current == null) {
+            synchronized (this) {
+                current = codec;
+                if (current == null) {
+                    current = new JsonCodec(new ObjectMapper()); // Initialize Jackson readers and writers
+                    codec = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Prepares the client for its first request in the background: creates the JSON codec and
+     * the HTTP client and opens a connection to the backend with a statistics request. The
+     * response is cached if caching is enabled, and a statistics request made meanwhile joins it.
+     * @return A future completed when the warm-up has finished, also if the backend was unreachable.
+     */
+    public CompletableFuture<Void> warmUp() {
+        return CompletableFuture.runAsync(() -> {
+                    codec();
+                    httpClient();
+                })
+                .thenCompose(ignored -> getStatisticsAsync())
+                .handle((stats, failure) -> null);
+    }
+
+    private static ApiResponseCache createCache(AppConfig config) {
+        ApiResponseCache cache = new ApiResponseCache(config.getCacheMaxBytes());
+        cache.setTtl(BLOGS, config.getCacheTtlMillis(BLOGS));
+        cache.setTtl(STATS, config.getCacheTtlMillis(STATS));
+        return cache;
+    }
+
+    private static AdaptiveLimiter createLimiter(AppConfig config) {
+        return new AdaptiveLimiter(config.getLimiterInitial(), config.getLimiterMin(), config.getLimiterMax(),
+                config.getLimiterBackoff(), config.getLimiterLatencyThresholdMillis());
+    }
+
+    /**
+     * Creates an executor that runs every task on its own virtual thread.
+     * Virtual threads are available from Java 21; on older runtimes this falls back
+     * to a cached pool of daemon platform threads, so callers do not need to care.
+     *
+     * @return A new executor service for use with {@link #ApiClient(String, ExecutorService)}.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // Looked up reflectively so the client still compiles and runs on Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "api-client-worker");
+                thread.setDaemon(true); // Do not keep the JVM alive once the app has exited
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Returns the response cache used by this client.
+     * @return The cache, or null if caching is disabled.
+     */
+    public ApiResponseCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the adaptive concurrency limiter, whose current limit and queue depth can be inspected at runtime.
+     * @return The limiter, or null if limiting is disabled.
+     */
+    public AdaptiveLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Caps the request rate of one endpoint, in addition to the concurrency limit.
+     * Requests over the rate are delayed, not rejected.
+     * @param api The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @param bucket The token bucket for the endpoint, or null to remove the cap.
+     */
+    public void setRateLimit(String api, TokenBucket bucket) {
+        if (bucket == null) {
+            rateLimits.remove(api);
+        } else {
+            rateLimits.put(api, bucket);
+        }
+    }
+
+    /**
+     * Returns the rate cap of one endpoint.
+     * @param api The value of the "api" query parameter.
+     * @return The token bucket, or null if the endpoint has no rate cap.
+     */
+    public TokenBucket getRateLimit(String api) {
+        return rateLimits.get(api);
+    }
+
+    /**
+     * Sets the retry policy for idempotent GET requests.
+     * @param retryPolicy The policy, or null to disable retries.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the circuit breaker applied to all requests.
+     * @param circuitBreaker The breaker, or null to disable it.
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Sets the hedging policy for idempotent GET requests.
+     * @param hedgePolicy The policy, or null to disable hedged requests.
+     */
+    public void setHedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Spreads requests over several equivalent backends. Reads go to the backend chosen by the
+     * pool, writes to its primary, which must be the base URL of this client. Cache entries and
+     * coalesced requests are keyed by the base URL, so they are shared by all backends.
+     * @param backendPool The pool, or null to send all requests to the base URL.
+     * @throws IllegalArgumentException If the primary backend of the pool is not the base URL.
+     */
+    public void setBackendPool(BackendPool backendPool) {
+        if (backendPool != null && !backendPool.getPrimary().getUrl().equals(baseUrl)) {
+            throw new IllegalArgumentException("The primary backend must be the base URL " + baseUrl
+                    + ", not " + backendPool.getPrimary().getUrl());
+        }
+        this.backendPool = backendPool;
+    }
+
+    public BackendPool getBackendPool() {
+        return backendPool;
+    }
+
+    /**
+     * Sets the index new posts are checked against before they are sent. A post that is the same
+     * or nearly the same as an indexed one is not sent; the request fails with a
+     * {@link DuplicatePostException}. Posts created through this client are added to the index,
+     * the caller adds the posts it fetches.
+     * @param duplicateIndex The index, or null to send every post.
+     */
+    public void setDuplicateIndex(DuplicateIndex duplicateIndex) {
+        this.duplicateIndex = duplicateIndex;
+    }
+
+    public DuplicateIndex getDuplicateIndex() {
+        return duplicateIndex;
+    }
+
+    /**
+     * Looks up a known post that a new post would duplicate, without sending anything.
+     * @param request The new post.
+     * @return The most similar known post, or null if there is none or the check is disabled.
+     */
+    public DuplicateMatch findDuplicate(NewBlogPostRequest request) {
+        DuplicateIndex index = duplicateIndex;
+        return index != null ? index.findDuplicate(request.getTitle(), request.getContent()) : null;
+    }
+
+    /**
+     * Sets the coalescing of concurrent identical GET requests. Enabled by default, without a sharing window.
+     * @param singleFlight The coalescing, or null to send every GET request on its own.
+     */
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Sets whether GET requests ask for compressed responses (Accept-Encoding: gzip, deflate).
+     * Compressed responses are decompressed while they are parsed. Enabled by default.
+     * @param enabled Whether to ask for compressed responses.
+     */
+    public void setResponseCompression(boolean enabled) {
+        this.responseCompression = enabled;
+    }
+
+    public boolean isResponseCompression() {
+        return responseCompression;
+    }
+
+    /**
+     * Sends POST bodies of at least the given size gzip compressed (Content-Encoding: gzip).
+     * Only enable this for a server that accepts compressed requests. If the server answers a
+     * compressed request with 415 Unsupported Media Type, the request is sent again uncompressed
+     * and compression is turned off.
+     * @param minBytes The smallest body that is compressed, or a negative value to disable compression.
+     */
+    public void setRequestCompression(int minBytes) {
+        this.requestCompressionMinBytes = minBytes;
+    }
+
+    /**
+     * Returns the smallest POST body that is sent compressed.
+     * @return The size in bytes, or -1 if request compression is disabled.
+     */
+    public int getRequestCompression() {
+        return requestCompressionMinBytes < 0 ? -1 : requestCompressionMinBytes;
+    }
+
+    /**
+     * Returns the request metrics of this client.
+     * @return The metrics, with one entry per endpoint used so far.
+     */
+    public ClientMetrics getMetrics() {
+        return metrics;
     }
 
     /**
      * Fetches all blog posts from the API (corresponds to GET ?api=blogs).
+     * A fresh cached response is returned without contacting the server.
      *
      * @return An {@link AllBlogsResponse} object containing the list of blogs and meta information.
      * Returns null if the API call is unsuccessful or deserialization fails.
@@ -46,29 +438,174 @@ public class ApiClient {
      * @throws InterruptedException If the operation is interrupted.
      */
     public AllBlogsResponse getAllBlogPosts() throws IOException, InterruptedException {
-        String url = baseUrl + "?api=blogs"; // Construct the full URL for the API endpoint
-        HttpRequest request = HttpRequest.newBuilder()
-                .GET() // Specify GET HTTP method
-                .uri(URI.create(url)) // Set the request URI
-                .setHeader("Accept", "application/json") // Request JSON response
-                .build();
+        return get(BLOGS, AllBlogsResponse.class, "blog posts");
+    }
+
+    /**
+     * Fetches all blog posts from the API without blocking the calling thread.
+     *
+     * @return A future completed with the {@link AllBlogsResponse}, or with null if the API call is unsuccessful.
+     * The future completes exceptionally if an I/O error occurs.
+     */
+    public CompletableFuture<AllBlogsResponse> getAllBlogPostsAsync() {
+        return getAsync(BLOGS, AllBlogsResponse.class, "blog posts");
+    }
+
+    /**
+     * Fetches one page of blog posts without blocking the calling thread
+     * (corresponds to GET ?api=blogs&amp;offset=...&amp;limit=...).
+     * If the API does not support paging and returns the complete listing, the requested
+     * range is cut out of it, so callers always receive at most {@code limit} posts. Once an
+     * API is known to ignore the range, pages are cut out of the listing of
+     * {@link #getAllBlogPostsAsync()}, which is cached and shared, instead of downloading the
+     * complete listing for every page. Pages of APIs that support paging are not cached.
+     *
+     * @param offset The position of the first post of the page, starting at 0.
+     * @param limit The maximum number of posts on the page.
+     * @return A future completed with the {@link BlogPage}, or with null if the API call is unsuccessful.
+     * The future completes exceptionally if an I/O error occurs.
+     */
+    public CompletableFuture<BlogPage> getBlogPostsPageAsync(int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid page: offset " + offset + ", limit " + limit);
+        }
+        if (Boolean.FALSE.equals(serverPaging)) {
+            return getAllBlogPostsAsync()
+                    .thenApply(response -> response != null ? BlogPage.of(response, offset, limit) : null);
+        }
+        String query = "&offset=" + offset + "&limit=" + limit;
+        return getAsync(BLOGS, query, AllBlogsResponse.class, "blog posts")
+                .thenApply(response -> {
+                    if (response == null) {
+                        return null;
+                    }
+                    if (serverPaging == null) {
+                        // Like the watermark of a sync, detected once; a short listing tells nothing yet
+                        if (BlogPage.isFullListing(response, offset, limit)) {
+                            serverPaging = false;
+                        } else if (BlogPage.isRange(response, limit)) {
+                            serverPaging = true;
+                        }
+                    }
+                    return BlogPage.of(response, offset, limit);
+                });
+    }
 
-        // Send the HTTP request and receive a string response body
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Fetches one page of blog posts from the API.
+     *
+     * @param offset The position of the first post of the page, starting at 0.
+     * @param limit The maximum number of posts on the page.
+     * @return The {@link BlogPage}, or null if the API call is unsuccessful.
+     * @throws IOException If an I/O error occurs during the HTTP request or response processing.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BlogPage getBlogPostsPage(int offset, int limit) throws IOException, InterruptedException {
+        return await(getBlogPostsPageAsync(offset, limit));
+    }
+
+    /**
+     * Fetches all blog posts from the API as a stream (corresponds to GET ?api=blogs).
+     * The response body is read directly from the connection and parsed one post at a time,
+     * so memory usage does not grow with the size of the listing.
+     * A cached body is streamed without downloading it again; streamed network
+     * responses are not added to the cache.
+     * The caller must close the returned reader, preferably with try-with-resources.
+     *
+     * @return A {@link BlogPostStreamReader} positioned at the first post.
+     * Returns null if the API call is unsuccessful.
+     * @throws IOException If an I/O error occurs during the HTTP request or response processing.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BlogPostStreamReader streamAllBlogPosts() throws IOException, InterruptedException {
+        return streamBlogPosts("");
+    }
+
+    /**
+     * Streams the blog posts created after a watermark (corresponds to GET ?api=blogs&amp;since_id=...&amp;since=...).
+     * APIs that support it only return newer posts; others ignore the parameters and
+     * return the complete listing, so callers must still skip posts they already know.
+     * These listings are never cached.
+     *
+     * @param lastId The highest numeric post id known to the caller, or null.
+     * @param lastCreatedAt The latest creation timestamp known to the caller, or null.
+     * @return A {@link BlogPostStreamReader} positioned at the first post.
+     * Returns null if the API call is unsuccessful.
+     * @throws IOException If an I/O error occurs during the HTTP request or response processing.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BlogPostStreamReader streamBlogPostsSince(String lastId, String lastCreatedAt)
+            throws IOException, InterruptedException {
+        StringBuilder query = new StringBuilder();
+        if (lastId != null) {
+            query.append("&since_id=").append(URLEncoder.encode(lastId, StandardCharsets.UTF_8));
+        }
+        if (lastCreatedAt != null) {
+            query.append("&since=").append(URLEncoder.encode(lastCreatedAt, StandardCharsets.UTF_8));
+        }
+        return streamBlogPosts(query.toString());
+    }
+
+    /**
+     * Streams a blog listing; only the plain listing (empty query) uses the cache.
+     * @param query Additional query parameters, each starting with '&amp;'.
+     */
+    private BlogPostStreamReader streamBlogPosts(String query) throws IOException, InterruptedException {
+        String url = endpointUrl(BLOGS);
+        ApiResponseCache.Entry cached = cache != null && query.isEmpty() ? cache.get(url) : null;
+        if (cached != null && cached.isFresh()) {
+            return new BlogPostStreamReader(codec(), new ByteArrayInputStream(cached.getBody()));
+        }
+
+        // Send the HTTP request and keep the response body as an unread input stream
+        HttpResponse<InputStream> response = send(BLOGS, buildGetRequest(BLOGS, query, cached),
+                StreamedBody.handler());
 
         // Check the HTTP status code from the response
-        if (response.statusCode() == 200) { // HTTP 200 OK indicates success
-            // Successfully received response, deserialize JSON into AllBlogsResponse object
-            return objectMapper.readValue(response.body(), AllBlogsResponse.class);
+        if (response.statusCode() == 304 && cached != null) { // Cached body is still valid
+            response.body().close();
+            cached.refresh(cache.getTtl(BLOGS));
+            return new BlogPostStreamReader(codec(), new ByteArrayInputStream(cached.getBody()));
+        } else if (response.statusCode() == 200) { // HTTP 200 OK indicates success
+            if (cached != null) {
+                cache.invalidate(url); // The cached body is outdated and is not replaced
+            }
+            // Hand the body over to the incremental reader, which now owns the stream
+            return new BlogPostStreamReader(codec(), decodeBody(BLOGS, response), metrics.endpoint(BLOGS)::recordParse);
         } else {
-            // Log error details if the status code is not 200
-            System.err.println("Error fetching blog posts. Status code: " + response.statusCode() + ", Response: " + response.body());
+            // Drain the (small) error body for logging and release the connection
+            String body;
+            try (InputStream errorBody = decodeBody(BLOGS, response)) {
+                body = new String(errorBody.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            System.err.println("Error fetching blog posts. Status code: " + response.statusCode() + ", Response: " + body);
             return null; // Return null to indicate failure
         }
     }
 
+    /**
+     * Decompresses a streamed response body according to its Content-Encoding.
+     * The sizes are recorded when the stream is closed, covering the part that was read.
+     * @return The body stream, unchanged if it is not encoded.
+     */
+    private InputStream decodeBody(String api, HttpResponse<InputStream> response) throws IOException {
+        String encoding = Compression.normalize(response.headers().firstValue("Content-Encoding").orElse(null));
+        if (encoding == null) {
+            return response.body();
+        }
+        EndpointMetrics endpoint = metrics.endpoint(api);
+        try {
+            // Not drained on close, so a reader that stops early does not download the rest
+            return Compression.decode(response.body(), encoding, false, endpoint::recordResponseCompression);
+        } catch (IOException e) {
+            response.body().close();
+            throw e;
+        }
+    }
+
     /**
      * Creates a new blog post via the API (corresponds to POST ?api=blogs).
+     * On success, cached blog listings and statistics are invalidated.
      *
      * @param request The data for the new blog post as a {@link NewBlogPostRequest} object.
      * @return true if the post was successfully created (HTTP 201 Created), false otherwise.
@@ -76,33 +613,114 @@ public class ApiClient {
      * @throws InterruptedException If the operation is interrupted.
      */
     public boolean createNewBlogPost(NewBlogPostRequest request) throws IOException, InterruptedException {
-        String url = baseUrl + "?api=blogs"; // Construct the full URL for the API endpoint
-        // Convert the request object to a JSON string for the request body
-        String requestBody = objectMapper.writeValueAsString(request);
+        return await(createNewBlogPostAsync(request, true));
+    }
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody)) // Specify POST method with JSON body
-                .uri(URI.create(url)) // Set the request URI
-                .setHeader("Content-Type", "application/json") // Set Content-Type header to JSON
-                .setHeader("Accept", "application/json") // Request JSON response
-                .build();
+    /**
+     * Creates a new blog post via the API without blocking the calling thread.
+     *
+     * @param request The data for the new blog post as a {@link NewBlogPostRequest} object.
+     * @return A future completed with true if the post was created (HTTP 201 Created), false otherwise.
+     * The future completes exceptionally if the request cannot be serialized or an I/O error occurs.
+     */
+    public CompletableFuture<Boolean> createNewBlogPostAsync(NewBlogPostRequest request) {
+        return createNewBlogPostAsync(request, true);
+    }
 
-        // Send the HTTP request and receive a string response body
-        HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Creates a new blog post via the API without blocking the calling thread.
+     * Bulk callers can turn off the per-post success message; errors are always logged.
+     *
+     * @param request The data for the new blog post as a {@link NewBlogPostRequest} object.
+     * @param announce Whether to print a message to the console when the post has been created.
+     * @return A future completed with true if the post was created (HTTP 201 Created), false otherwise.
+     * The future completes exceptionally if the request cannot be serialized or an I/O error occurs.
+     */
+    public CompletableFuture<Boolean> createNewBlogPostAsync(NewBlogPostRequest request, boolean announce) {
+        return postAsync(request).thenApply(response -> handleCreateResponse(response, announce));
+    }
 
-        // Check the HTTP status code from the response
-        if (response.statusCode() == 201) { // HTTP 201 Created indicates successful creation
-            System.out.println("Blog post created successfully!");
-            return true; // Indicate success
-        } else {
-            // Log error details if the status code is not 201
-            System.err.println("Error creating blog post. Status code: " + response.statusCode() + ", Response: " + response.body());
-            return false; // Indicate failure
+    /**
+     * Creates a new blog post via the API and reports the HTTP status code, so callers that
+     * deliver posts later (e.g. from a journal) can tell a rejected post from a failing server.
+     * Nothing is printed; the caller decides how to report the outcome.
+     *
+     * @param request The data for the new blog post as a {@link NewBlogPostRequest} object.
+     * @return A future completed with the status code of the response, 201 if the post was created.
+     * The future completes exceptionally if the request cannot be serialized or an I/O error occurs.
+     */
+    public CompletableFuture<Integer> createNewBlogPostWithStatusAsync(NewBlogPostRequest request) {
+        return postAsync(request).thenApply(response -> {
+            if (response.statusCode() == 201) {
+                invalidateAfterWrite(); // The listing and the statistics have changed
+            }
+            return response.statusCode();
+        });
+    }
+
+    /**
+     * Sends the POST request creating a blog post, unless it duplicates a known post.
+     * The post is added to the duplicate index before it is sent, so the same post sent again,
+     * even concurrently, is caught before the next sync; it is removed if it is not created.
+     */
+    private CompletableFuture<HttpResponse<JsonBody>> postAsync(NewBlogPostRequest request) {
+        DuplicateIndex index = duplicateIndex;
+        if (index == null) {
+            return sendPostAsync(request);
+        }
+        // The id is not known until the post is listed
+        BlogPost pending = new BlogPost(null, request.getTitle(), request.getAuthor(), request.getContent(), null);
+        DuplicateMatch match = index.addIfNew(pending);
+        if (match != null) {
+            return CompletableFuture.failedFuture(new DuplicatePostException(match));
         }
+        return sendPostAsync(request).whenComplete((response, failure) -> {
+            if (response == null || response.statusCode() != 201) {
+                index.remove(pending);
+            }
+        });
+    }
+
+    /**
+     * Sends the POST request creating a blog post, compressed if enabled and large enough.
+     * If the server rejects the compressed body, it is sent again uncompressed.
+     */
+    private CompletableFuture<HttpResponse<JsonBody>> sendPostAsync(NewBlogPostRequest request) {
+        JsonCodec.Encoded body;
+        try {
+            body = codec().encode(request); // Serialized straight to UTF-8 bytes in a pooled buffer
+            int minBytes = requestCompressionMinBytes;
+            if (minBytes >= 0 && body.length() >= minBytes) {
+                body = codec().gzip(body);
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        JsonCodec.Encoded sent = body;
+        return sendAsync(BLOGS, buildPostRequest(sent), JsonBody.handler())
+                .whenComplete((response, failure) -> {
+                    // After a failure the client may still be reading the buffer, so it is left to the GC
+                    if (response != null) {
+                        sent.release();
+                    }
+                })
+                .thenCompose(response -> {
+                    if (sent.getContentEncoding() == null) {
+                        return CompletableFuture.completedFuture(response);
+                    } else if (response.statusCode() == 415) {
+                        // The server does not accept compressed bodies, the post was not created
+                        requestCompressionMinBytes = -1;
+                        System.err.println("Server does not accept compressed requests, sending uncompressed");
+                        return sendPostAsync(request);
+                    }
+                    metrics.endpoint(BLOGS).recordRequestCompression(sent.uncompressedLength(), sent.length());
+                    return CompletableFuture.completedFuture(response);
+                });
     }
 
     /**
      * Fetches system statistics from the API (corresponds to GET ?api=stats).
+     * A fresh cached response is returned without contacting the server.
      *
      * @return A {@link Statistics} object containing the system statistics.
      * Returns null if the API call is unsuccessful or deserialization fails.
@@ -110,24 +728,503 @@ public class ApiClient {
      * @throws InterruptedException If the operation is interrupted.
      */
     public Statistics getStatistics() throws IOException, InterruptedException {
-        String url = baseUrl + "?api=stats"; // Construct the full URL for the API endpoint
-        HttpRequest request = HttpRequest.newBuilder()
+        return get(STATS, Statistics.class, "statistics");
+    }
+
+    /**
+     * Fetches system statistics from the API without blocking the calling thread.
+     *
+     * @return A future completed with the {@link Statistics}, or with null if the API call is unsuccessful.
+     * The future completes exceptionally if an I/O error occurs.
+     */
+    public CompletableFuture<Statistics> getStatisticsAsync() {
+        return getAsync(STATS, Statistics.class, "statistics");
+    }
+
+    /**
+     * Performs a (possibly cached) GET request and deserializes the JSON response.
+     * @param api The value of the "api" query parameter.
+     * @param type The class of the response object.
+     * @param what A description of the resource for error messages.
+     * @return The response object, or null if the API call is unsuccessful.
+     */
+    private <T> T get(String api, Class<T> type, String what) throws IOException, InterruptedException {
+        return await(getAsync(api, type, what)); // Blocking callers are coalesced with asynchronous ones
+    }
+
+    /**
+     * Asynchronous variant of {@link #get(String, Class, String)}.
+     */
+    private <T> CompletableFuture<T> getAsync(String api, Class<T> type, String what) {
+        return getAsync(api, "", type, what);
+    }
+
+    /**
+     * Asynchronous GET request with additional query parameters.
+     * Only requests without additional parameters are served from and stored in the cache.
+     * Requests that miss the cache are coalesced by URL, so concurrent callers share one
+     * request and its decoded result.
+     * @param query Additional query parameters, each starting with '&amp;', or an empty string.
+     */
+    private <T> CompletableFuture<T> getAsync(String api, String query, Class<T> type, String what) {
+        ApiResponseCache.Entry cached = cache != null && query.isEmpty() ? cache.get(endpointUrl(api)) : null;
+        if (cached != null && cached.isFresh()) {
+            return CompletableFuture.completedFuture(unchecked(() -> cached.getValue(codec(), type)));
+        }
+        SingleFlight flights = singleFlight;
+        if (flights == null) {
+            return fetchAsync(api, query, type, what, cached);
+        }
+        return flights.execute("GET " + endpointUrl(api) + query, () -> fetchAsync(api, query, type, what, cached));
+    }
+
+    /**
+     * Sends a GET request, revalidating a stale cache entry if there is one, and decodes the response.
+     */
+    private <T> CompletableFuture<T> fetchAsync(String api, String query, Class<T> type, String what,
+                                              ApiResponseCache.Entry cached) {
+        return sendAsync(api, buildGetRequest(api, query, cached), JsonBody.handler())
+                .thenApply(response -> unchecked(() -> handleGetResponse(api, query, type, what, cached, response)));
+    }
+
+    /**
+     * Sends a request and waits for the response.
+     * This is a blocking wrapper around {@link #sendAsync(String, HttpRequest, HttpResponse.BodyHandler)},
+     * so blocking and non-blocking calls share the same resilience and limiting behavior.
+     * @param api The value of the "api" query parameter, used to select the rate cap.
+     * @param request The HTTP request.
+     * @param handler The handler for the response body.
+     * @return The HTTP response.
+     */
+    private <T> HttpResponse<T> send(String api, HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        return await(sendAsync(api, request, handler));
+    }
+
+    /**
+     * Waits for an asynchronous call and rethrows its failure as the checked exception of the blocking API.
+     * @param future The pending call.
+     * @return The result of the call.
+     */
+    static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true); // Stop further retries of an abandoned call
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Sends a request with the configured resilience policies.
+     * The circuit breaker is checked before every attempt. Idempotent GET requests are
+     * hedged if a {@link HedgePolicy} is set and retried with jittered backoff if a
+     * {@link RetryPolicy} is set; POST requests are sent exactly once.
+     * @param api The value of the "api" query parameter.
+     * @param request The HTTP request.
+     * @param handler The handler for the response body.
+     * @return A future completed with the final response, or exceptionally after the last failed attempt.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(String api, HttpRequest request,
+                                                           HttpResponse.BodyHandler<T> handler) {
+        return attemptAsync(api, request, handler, 1);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> attemptAsync(String api, HttpRequest request,
+                                                              HttpResponse.BodyHandler<T> handler, int attempt) {
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null && !breaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(breaker.getRemainingOpenMillis()));
+        }
+        boolean idempotent = "GET".equals(request.method());
+        RetryPolicy retry = idempotent ? retryPolicy : null;
+        HedgePolicy hedge = idempotent ? hedgePolicy : null;
+
+        CompletableFuture<HttpResponse<T>> response = hedge != null
+                ? sendHedgedAsync(api, request, handler, hedge)
+                : sendLimitedAsync(api, request, handler);
+        return response.handle((result, failure) -> {
+            boolean failed = failure != null || isOverloaded(result.statusCode());
+            if (breaker != null) {
+                if (failed) {
+                    breaker.recordFailure();
+                } else {
+                    breaker.recordSuccess();
+                }
+            }
+            if (!failed || retry == null || attempt >= retry.getMaxAttempts()) {
+                return failure == null ? CompletableFuture.completedFuture(result)
+                        : CompletableFuture.<HttpResponse<T>>failedFuture(failure);
+            }
+            discard(result); // Retrying, the failed response is not needed
+            Executor backoff = CompletableFuture.delayedExecutor(retry.delayNanos(attempt), TimeUnit.NANOSECONDS);
+            return CompletableFuture.runAsync(() -> { }, backoff)
+                    .thenCompose(ignored -> attemptAsync(api, request, handler, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Sends a GET request and, if no good response has arrived after the hedge delay,
+     * a second identical one. The first successful response wins; the other is discarded.
+     * If both fail, the last failure is reported.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendHedgedAsync(String api, HttpRequest request,
+                                                                 HttpResponse.BodyHandler<T> handler, HedgePolicy hedge) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1); // Requests sent whose outcome is not known yet
+
+        BiConsumer<HttpResponse<T>, Throwable> onPrimary = (response, failure) ->
+                completeHedged(result, pending, response, failure, false);
+        sendLimitedAsync(api, request, handler).whenComplete(onPrimary);
+
+        CompletableFuture.delayedExecutor(hedge.delayNanos(api), TimeUnit.NANOSECONDS).execute(() -> {
+            int outstanding;
+            do {
+                outstanding = pending.get();
+                if (outstanding == 0 || result.isDone()) {
+                    return; // Already answered (or failed), no hedge needed
+                }
+            } while (!pending.compareAndSet(outstanding, outstanding + 1));
+            hedge.hedgeSent();
+            sendLimitedAsync(api, request, handler).whenComplete((response, failure) -> {
+                if (completeHedged(result, pending, response, failure, true)) {
+                    hedge.hedgeWon();
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Delivers one outcome of a hedged request.
+     * @return true if this outcome completed the hedged request successfully.
+     */
+    private <T> boolean completeHedged(CompletableFuture<HttpResponse<T>> result, AtomicInteger pending,
+                                       HttpResponse<T> response, Throwable failure, boolean isHedge) {
+        boolean good = failure == null && !isOverloaded(response.statusCode());
+        boolean last = pending.decrementAndGet() == 0;
+        if (good || last) {
+            boolean completed = failure == null ? result.complete(response) : result.completeExceptionally(failure);
+            if (!completed) {
+                discard(response); // The other request answered first
+            }
+            return completed && good && isHedge;
+        }
+        discard(response); // Failed, but the other request may still succeed
+        return false;
+    }
+
+    /**
+     * Sends a single request through the endpoint's rate cap and the concurrency limiter.
+     * Waiting for the rate cap or a permit does not block any thread.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendLimitedAsync(String api, HttpRequest request,
+                                                                  HttpResponse.BodyHandler<T> handler) {
+        long wait = reserveRate(api);
+        CompletableFuture<Void> ready = wait > 0
+                ? CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                : CompletableFuture.completedFuture(null);
+        AdaptiveLimiter limit = limiter;
+        if (limit != null) {
+            ready = ready.thenCompose(ignored -> limit.acquireAsync());
+        }
+        EndpointMetrics endpoint = metrics.endpoint(api);
+        return ready.thenCompose(ignored -> sendSelectedAsync(api, request, handler, limit, endpoint));
+    }
+
+    /**
+     * Sends a request that holds a permit to the backend chosen now, based on the current load,
+     * and records its outcome. If the request cannot even be sent, e.g. because of a malformed
+     * backend URL, the permit is returned and the counters are undone before the failure is reported.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendSelectedAsync(String api, HttpRequest request,
+                                                                    HttpResponse.BodyHandler<T> handler,
+                                                                    AdaptiveLimiter limit, EndpointMetrics endpoint) {
+        BackendPool.Backend selected = null;
+        boolean backendStarted = false;
+        boolean endpointStarted = false;
+        long sentAt = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> sent;
+        try {
+            BackendPool pool = backendPool;
+            selected = pool == null ? null : "GET".equals(request.method()) ? pool.select() : pool.selectForWrite();
+            HttpRequest target = selected == null ? request
+                    : HttpRequest.newBuilder(request, (name, value) -> true).uri(pool.resolve(request.uri(), selected)).build();
+            if (selected != null) {
+                selected.requestStarted();
+                backendStarted = true;
+            }
+            sentAt = System.nanoTime();
+            endpoint.requestStarted(request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L));
+            endpointStarted = true;
+            sent = httpClient().sendAsync(target, handler);
+        } catch (RuntimeException e) {
+            long elapsed = System.nanoTime() - sentAt;
+            if (endpointStarted) {
+                endpoint.requestCompleted(-1, elapsed, 0, 0);
+            }
+            if (backendStarted) {
+                selected.requestCompleted(elapsed, true);
+            }
+            if (limit != null) {
+                limit.release(); // Never sent, so no sample for the limit
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        BackendPool.Backend backend = selected;
+        long start = sentAt;
+        return sent.whenComplete((response, failure) -> {
+            long end = System.nanoTime();
+            long latency = end - start;
+            if (response != null) {
+                long headersAt = headersAt(response, end);
+                endpoint.recordTimeToFirstByte(headersAt - start);
+                if (response.body() instanceof StreamedBody) {
+                    // Complete once the caller has read the body
+                    ((StreamedBody) response.body()).completeOnClose(endpoint, response.statusCode(), start);
+                } else {
+                    endpoint.requestCompleted(response.statusCode(), latency, end - headersAt, bodySize(response));
+                }
+            } else {
+                endpoint.requestCompleted(-1, latency, 0, 0);
+            }
+            boolean failed = failure != null || isOverloaded(response.statusCode());
+            if (limit != null) {
+                limit.release(latency, failed);
+            }
+            if (backend != null) {
+                backend.requestCompleted(latency, failed); // Feeds the balancing and the health check
+            }
+            HedgePolicy hedge = hedgePolicy;
+            if (hedge != null && !failed) {
+                hedge.record(api, latency); // Feed the percentile used for the hedge delay
+            }
+        });
+    }
+
+    /**
+     * Returns when the headers of a response arrived, as recorded by its body; a body without
+     * the time is handed over when the headers arrive, so that is when the response completed.
+     */
+    private static long headersAt(HttpResponse<?> response, long completedAt) {
+        if (response.body() instanceof JsonBody) {
+            long headersAt = ((JsonBody) response.body()).headersAt();
+            return headersAt != 0 ? headersAt : completedAt;
+        } else if (response.body() instanceof StreamedBody) {
+            return ((StreamedBody) response.body()).headersAt();
+        }
+        return completedAt;
+    }
+
+    /**
+     * Returns the size of a response body: the length of a buffered body, otherwise the Content-Length header.
+     */
+    private static long bodySize(HttpResponse<?> response) {
+        if (response.body() instanceof JsonBody) {
+            return ((JsonBody) response.body()).length();
+        }
+        return response.headers().firstValueAsLong("Content-Length").orElse(0);
+    }
+
+    /**
+     * Releases the resources of a response that will not be handed to the caller.
+     * Streamed bodies must be closed so the connection can be reused.
+     */
+    private static void discard(HttpResponse<?> response) {
+        if (response != null && response.body() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) response.body()).close();
+            } catch (Exception ignored) {
+                // Nothing useful can be done if closing an unused body fails
+            }
+        }
+    }
+
+    /**
+     * Takes a token from the endpoint's rate cap.
+     * @return The nanoseconds to wait before sending, 0 if the endpoint has no cap.
+     */
+    private long reserveRate(String api) {
+        TokenBucket bucket = rateLimits.get(api);
+        return bucket != null ? bucket.reserve() : 0;
+    }
+
+    /**
+     * Returns true for status codes with which a server signals that it is overloaded or failing.
+     */
+    private static boolean isOverloaded(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private String endpointUrl(String api) {
+        return baseUrl + "?api=" + api; // Construct the full URL for the API endpoint
+    }
+
+    /**
+     * Builds a GET request for the given API endpoint.
+     * If a stale cached response with validators exists, the request is made conditional.
+     * @param api The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @param cached The cached response for this endpoint, or null.
+     * @return The HTTP request.
+     */
+    private HttpRequest buildGetRequest(String api, ApiResponseCache.Entry cached) {
+        return buildGetRequest(api, "", cached);
+    }
+
+    /**
+     * Builds a GET request for the given API endpoint with additional query parameters.
+     * @param api The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @param query Additional query parameters, each starting with '&amp;', or an empty string.
+     * @param cached The cached response for this endpoint, or null.
+     * @return The HTTP request.
+     */
+    private HttpRequest buildGetRequest(String api, String query, ApiResponseCache.Entry cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .GET() // Specify GET HTTP method
-                .uri(URI.create(url)) // Set the request URI
-                .setHeader("Accept", "application/json") // Request JSON response
-                .build();
+                .uri(URI.create(endpointUrl(api) + query)) // Set the request URI
+                .setHeader("Accept", "application/json"); // Request JSON response
+        if (responseCompression) {
+            builder.setHeader("Accept-Encoding", Compression.ACCEPT_ENCODING); // Decoded while parsing
+        }
+        if (cached != null && cached.getEtag() != null) {
+            builder.setHeader("If-None-Match", cached.getEtag()); // Revalidate by entity tag
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.setHeader("If-Modified-Since", cached.getLastModified()); // Revalidate by date
+        }
+        return builder.build();
+    }
 
-        // Send the HTTP request and receive a string response body
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Builds the POST request that creates a new blog post.
+     * @param body The encoded data for the new blog post.
+     * @return The HTTP request carrying the JSON body.
+     */
+    private HttpRequest buildPostRequest(JsonCodec.Encoded body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .POST(body.publisher()) // Specify POST method with JSON body
+                .uri(URI.create(endpointUrl(BLOGS))) // Set the request URI
+                .setHeader("Content-Type", "application/json") // Set Content-Type header to JSON
+                .setHeader("Accept", "application/json"); // Request JSON response
+        if (body.getContentEncoding() != null) {
+            builder.setHeader("Content-Encoding", body.getContentEncoding()); // Body is compressed
+        }
+        return builder.build();
+    }
 
+    private <T> T handleGetResponse(String api, String query, Class<T> type, String what,
+                                    ApiResponseCache.Entry cached, HttpResponse<JsonBody> response) throws IOException {
         // Check the HTTP status code from the response
-        if (response.statusCode() == 200) { // HTTP 200 OK indicates success
-            // Successfully received response, deserialize JSON into Statistics object
-            return objectMapper.readValue(response.body(), Statistics.class);
+        if (response.statusCode() == 304 && cached != null) { // HTTP 304 Not Modified: cached body is still valid
+            cached.refresh(cache.getTtl(api));
+            return cached.getValue(codec(), type);
+        } else if (response.statusCode() == 200) { // HTTP 200 OK indicates success
+            // Successfully received response, deserialize JSON straight from the received buffers
+            long parseStart = System.nanoTime();
+            T value = codec().decode(response.body(), type);
+            EndpointMetrics endpoint = metrics.endpoint(api);
+            endpoint.recordParse(System.nanoTime() - parseStart);
+            if (response.body().isCompressed()) {
+                endpoint.recordResponseCompression(response.body().length(), response.body().decodedLength());
+            }
+            if (query.isEmpty()) {
+                store(api, response, value);
+            }
+            return value;
         } else {
             // Log error details if the status code is not 200
-            System.err.println("Error fetching statistics. Status code: " + response.statusCode() + ", Response: " + response.body());
+            System.err.println("Error fetching " + what + ". Status code: " + response.statusCode()
+                    + ", Response: " + response.body());
             return null; // Return null to indicate failure
         }
     }
+
+    /**
+     * Adds a successful GET response to the cache, unless caching is disabled,
+     * the server forbids it, or the entry could neither be fresh nor revalidated.
+     */
+    private void store(String api, HttpResponse<JsonBody> response, Object value) throws IOException {
+        if (cache == null) {
+            return;
+        }
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        if (cacheControl.contains("no-store")) {
+            return;
+        }
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        long ttl = cacheControl.contains("no-cache") ? 0 : cache.getTtl(api);
+        if (ttl <= 0 && etag == null && lastModified == null) {
+            return; // Could neither be fresh nor revalidated
+        }
+        // Only a response that is kept is copied (and decompressed) into one array
+        ApiResponseCache.Entry entry = new ApiResponseCache.Entry(response.body().toByteArray(), etag, lastModified, ttl);
+        entry.setValue(value); // Keep the already decoded object
+        cache.put(endpointUrl(api), entry);
+    }
+
+    /**
+     * Drops cached responses that a successful write has made outdated.
+     */
+    private void invalidateAfterWrite() {
+        if (cache != null) {
+            cache.invalidate(endpointUrl(BLOGS));
+            cache.invalidate(endpointUrl(STATS));
+        }
+        SingleFlight flights = singleFlight;
+        if (flights != null) {
+            flights.forgetAll(); // Results shared within the window are outdated as well
+        }
+    }
+
+    private boolean handleCreateResponse(HttpResponse<JsonBody> response, boolean announce) {
+        // Check the HTTP status code from the response
+        if (response.statusCode() == 201) { // HTTP 201 Created indicates successful creation
+            invalidateAfterWrite(); // The listing and the statistics have changed
+            if (announce) {
+                System.out.println("Blog post created successfully!");
+            }
+            return true; // Indicate success
+        } else {
+            // Log error details if the status code is not 201
+            System.err.println("Error creating blog post. Status code: " + response.statusCode() + ", Response: " + response.body());
+            return false; // Indicate failure
+        }
+    }
+
+    /**
+     * A response handling step that may throw an {@link IOException}.
+     * @param <T> The type of the handled result.
+     */
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    /**
+     * Runs an I/O step inside a completion stage, where checked exceptions are not allowed.
+     * The {@link IOException} is wrapped so the returned future completes exceptionally with it.
+     */
+    private static <T> T unchecked(IOSupplier<T> step) {
+        try {
+            return step.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,207 @@
+package com.chatbot.api;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache for GET responses of the REST API.
+ * Entries are keyed by request URL and keep the raw body, its decoded object and
+ * the validators (ETag / Last-Modified) sent by the server, so stale entries can be
+ * revalidated with a conditional GET instead of downloading the body again.
+ * The total size of the cached bodies is bounded; the least recently used entries
+ * are evicted first. All methods are thread-safe.
+ */
+public class ApiResponseCache {
+    private final long maxBytes;                                 // Upper bound for the sum of cached body sizes
+    private final Map<String, Long> ttlMillisByEndpoint = new HashMap<>(); // Freshness lifetime per "api" endpoint
+    private final LinkedHashMap<String, Entry> entries =
+            new LinkedHashMap<>(16, 0.75f, true); // Access-ordered map, eldest entry = least recently used
+    private long currentBytes; // Sum of the body sizes currently cached
+    private long hits;         // Reads answered from a fresh entry
+    private long misses;       // Reads that had to go to the network
+    private long evictions;    // Entries removed to stay within maxBytes
+
+    /**
+     * Constructor to initialize the cache.
+     * @param maxBytes The maximum total size in bytes of all cached response bodies.
+     */
+    public ApiResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Sets how long responses of an endpoint stay fresh before they must be revalidated.
+     * Endpoints without a configured TTL are always revalidated.
+     * @param endpoint The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @param ttlMillis The freshness lifetime in milliseconds.
+     */
+    public synchronized void setTtl(String endpoint, long ttlMillis) {
+        ttlMillisByEndpoint.put(endpoint, ttlMillis);
+    }
+
+    /**
+     * Returns the freshness lifetime configured for an endpoint.
+     * @param endpoint The value of the "api" query parameter.
+     * @return The TTL in milliseconds, 0 if none is configured.
+     */
+    public synchronized long getTtl(String endpoint) {
+        return ttlMillisByEndpoint.getOrDefault(endpoint, 0L);
+    }
+
+    /**
+     * Looks up the cached response for a URL and records a hit or a miss.
+     * @param url The request URL.
+     * @return The cached entry (possibly stale), or null if none is cached.
+     */
+    public synchronized Entry get(String url) {
+        Entry entry = entries.get(url);
+        if (entry != null && entry.isFresh()) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a response, replacing any previous entry for the URL and
+     * evicting least recently used entries if the size bound is exceeded.
+     * Bodies larger than the whole cache are not stored.
+     * @param url The request URL.
+     * @param entry The response to cache.
+     */
+    public synchronized void put(String url, Entry entry) {
+        remove(url);
+        if (entry.body.length > maxBytes) {
+            return; // Would evict everything else and still not fit
+        }
+        entries.put(url, entry);
+        currentBytes += entry.body.length;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().body.length;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes the cached response for a URL, e.g. after a write that changed it.
+     * @param url The request URL.
+     */
+    public synchronized void invalidate(String url) {
+        remove(url);
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    private void remove(String url) {
+        Entry previous = entries.remove(url);
+        if (previous != null) {
+            currentBytes -= previous.body.length;
+        }
+    }
+
+    /**
+     * Provides a one-line summary of the cache usage.
+     * @return A string containing the entry count, size and hit statistics.
+     */
+    @Override
+    public synchronized String toString() {
+        return "Cache entries: " + entries.size() + ", Size: " + currentBytes + "/" + maxBytes + " bytes"
+                + ", Hits: " + hits + ", Misses: " + misses + ", Evictions: " + evictions;
+    }
+
+    /**
+     * A cached response body together with its validators and expiry time.
+     * The decoded object is created on first use and then shared by all readers,
+     * so callers must treat it as read-only.
+     */
+    public static class Entry {
+        private final byte[] body;          // Raw JSON body as received from the server
+        private final String etag;          // ETag validator, null if the server sent none
+        private final String lastModified;  // Last-Modified validator, null if the server sent none
+        private volatile long expiresAt;    // Time (System.nanoTime) after which the entry is stale
+        private volatile Object decoded;    // Lazily decoded body
+
+        /**
+         * Constructor to initialize a cache entry.
+         * @param body The raw response body.
+         * @param etag The ETag header value, or null.
+         * @param lastModified The Last-Modified header value, or null.
+         * @param ttlMillis How long the entry stays fresh, in milliseconds.
+         */
+        public Entry(byte[] body, String etag, String lastModified, long ttlMillis) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            refresh(ttlMillis);
+        }
+
+        /**
+         * Marks the entry as fresh again, e.g. after a 304 Not Modified response.
+         * @param ttlMillis How long the entry stays fresh, in milliseconds.
+         */
+        public void refresh(long ttlMillis) {
+            this.expiresAt = System.nanoTime() + ttlMillis * 1_000_000L;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+
+        /**
+         * Returns true if the entry can be revalidated with a conditional GET.
+         * @return Whether the server sent an ETag or a Last-Modified header.
+         */
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Returns the decoded body, deserializing it on first access.
+         * @param codec The codec used for deserialization.
+         * @param type The class of the decoded object.
+         * @param <T> The type of the decoded object.
+         * @return The decoded body.
+         * @throws IOException If the body cannot be deserialized.
+         */
+        public <T> T getValue(JsonCodec codec, Class<T> type) throws IOException {
+            Object value = decoded;
+            if (!type.isInstance(value)) {
+                value = codec.decode(body, type);
+                decoded = value; // Benign race: concurrent readers may decode twice
+            }
+            return type.cast(value);
+        }
+
+        /**
+         * Stores an already decoded body, so the first cached read does not decode it again.
+         * @param value The object decoded from {@link #getBody()}.
+         */
+        void setValue(Object value) {
+            this.decoded = value;
+        }
+    }
+}
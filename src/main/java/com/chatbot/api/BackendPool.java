@@ -0,0 +1,255 @@
+package com.chatbot.api;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A pool of equivalent backends serving the same API under different base URLs.
+ *
+ * Reads are balanced with the "power of two choices": two healthy backends are picked at
+ * random and the one with the lower cost is used. The cost is the peak EWMA of the latency
+ * multiplied by the requests in flight plus one. The peak EWMA jumps to a slow response at
+ * once and decays with a time constant afterwards, so one degraded backend quickly stops
+ * receiving traffic and slowly wins it back once it recovers.
+ *
+ * Health checks are passive: a backend that fails a number of consecutive requests is ejected
+ * for a period, doubled on every further ejection in a row (up to 8 times). After the period a
+ * request is sent to it again, and a success brings it back. If all backends are ejected, the
+ * one whose ejection ends first is used anyway. Writes always go to the primary backend.
+ */
+public class BackendPool {
+    private static final int MAX_EJECTION_DOUBLINGS = 3; // Ejection periods grow to at most 8 times the base
+
+    private final List<Backend> backends;
+    private final Backend primary;
+    private final int ejectAfterFailures; // Consecutive failures that eject a backend
+    private final long ejectNanos;        // Base ejection period
+    private final double decayNanos;      // Time constant of the latency EWMA
+
+    /**
+     * Constructor to initialize a pool of backends.
+     * @param baseUrls The base URLs of the backends, at least one.
+     * @param primaryUrl The base URL that receives all writes; it is added to the pool if it is not in the list.
+     * @param ejectAfterFailures The number of consecutive failures that ejects a backend (at least 1).
+     * @param ejectMillis How long a backend is ejected the first time.
+     * @param decayMillis The time constant of the latency average; larger values react more slowly to recovery.
+     */
+    public BackendPool(List<String> baseUrls, String primaryUrl, int ejectAfterFailures, long ejectMillis,
+                       long decayMillis) {
+        if (baseUrls.isEmpty() && primaryUrl == null) {
+            throw new IllegalArgumentException("A backend pool needs at least one base URL");
+        }
+        List<Backend> list = new ArrayList<>();
+        for (String url : baseUrls) {
+            if (list.stream().noneMatch(backend -> backend.url.equals(url))) {
+                list.add(new Backend(url));
+            }
+        }
+        String primaryBase = primaryUrl != null ? primaryUrl : baseUrls.get(0);
+        Backend found = list.stream().filter(backend -> backend.url.equals(primaryBase)).findFirst().orElse(null);
+        if (found == null) {
+            found = new Backend(primaryBase);
+            list.add(0, found);
+        }
+        this.backends = Collections.unmodifiableList(list);
+        this.primary = found;
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.ejectNanos = ejectMillis * 1_000_000L;
+        this.decayNanos = Math.max(1, decayMillis) * 1_000_000.0;
+    }
+
+    public List<Backend> getBackends() {
+        return backends;
+    }
+
+    public Backend getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Chooses the backend for a read request by the power of two choices.
+     * @return The healthy backend with the lower cost of two random ones.
+     */
+    public Backend select() {
+        long now = System.nanoTime();
+        List<Backend> healthy = new ArrayList<>(backends.size());
+        for (Backend backend : backends) {
+            if (backend.isAvailable(now)) {
+                healthy.add(backend);
+            }
+        }
+        if (healthy.isEmpty()) {
+            // Panic mode: rather try the backend closest to recovery than fail without a request
+            Backend earliest = backends.get(0);
+            for (Backend backend : backends) {
+                if (backend.getEjectedUntil() - earliest.getEjectedUntil() < 0) {
+                    earliest = backend;
+                }
+            }
+            return earliest;
+        }
+        if (healthy.size() == 1) {
+            return healthy.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(healthy.size());
+        int second = random.nextInt(healthy.size() - 1);
+        if (second >= first) {
+            second++; // Two distinct backends
+        }
+        Backend a = healthy.get(first);
+        Backend b = healthy.get(second);
+        return a.cost(now) <= b.cost(now) ? a : b;
+    }
+
+    /**
+     * Returns the backend for a write request.
+     * @return The primary backend, whatever its health.
+     */
+    public Backend selectForWrite() {
+        return primary;
+    }
+
+    /**
+     * Rewrites a request URI built for the primary base URL to another backend.
+     * @param uri The URI of the request, starting with the primary base URL.
+     * @param backend The backend to send it to.
+     * @return The URI on the backend, or the original URI if it does not start with the primary base URL.
+     */
+    public URI resolve(URI uri, Backend backend) {
+        if (backend == primary) {
+            return uri;
+        }
+        String text = uri.toString();
+        return text.startsWith(primary.url) ? URI.create(backend.url + text.substring(primary.url.length())) : uri;
+    }
+
+    /**
+     * Provides a multi-line description of the backends.
+     * @return One line per backend with its state, latency average and counters.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        long now = System.nanoTime();
+        for (Backend backend : backends) {
+            text.append(backend == primary ? "* " : "  ").append(backend.describe(now)).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * One backend of the pool with its load and health statistics.
+     */
+    public final class Backend {
+        private final String url;      // Base URL of the backend
+        private double ewmaNanos;      // Peak EWMA of the latency, 0 until the first response
+        private long updatedAt;        // Time of the last latency sample
+        private int inFlight;          // Requests sent and not yet completed
+        private int consecutiveFailures;
+        private int ejections;         // Ejections in a row without a success in between
+        private long ejectedUntil;     // End of the current ejection, valid while ejected
+        private boolean ejected;
+        private long requests;
+        private long failures;
+
+        private Backend(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Records that a request is being sent to this backend.
+         */
+        public synchronized void requestStarted() {
+            inFlight++;
+            requests++;
+        }
+
+        /**
+         * Records the outcome of a request sent to this backend.
+         * @param latencyNanos The time until the response (or the failure).
+         * @param failed Whether the request failed or the backend reported an overload or server error.
+         */
+        public synchronized void requestCompleted(long latencyNanos, boolean failed) {
+            inFlight--;
+            long now = System.nanoTime();
+            if (ewmaNanos == 0 || latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos; // Peak: a slow response counts in full at once
+            } else {
+                double weight = Math.exp(-(now - updatedAt) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            updatedAt = now;
+            if (!failed) {
+                consecutiveFailures = 0;
+                ejections = 0;
+                ejected = false;
+                return;
+            }
+            failures++;
+            consecutiveFailures++;
+            if (consecutiveFailures >= ejectAfterFailures || (ejected && now - ejectedUntil >= 0)) {
+                // Threshold reached, or the first request after an ejection failed as well
+                ejectedUntil = now + (ejectNanos << Math.min(ejections, MAX_EJECTION_DOUBLINGS));
+                ejections++;
+                ejected = true;
+                consecutiveFailures = 0;
+            }
+        }
+
+        synchronized boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        synchronized long getEjectedUntil() {
+            return ejected ? ejectedUntil : Long.MIN_VALUE;
+        }
+
+        /**
+         * Returns the load-weighted latency used to compare two backends.
+         */
+        synchronized double cost(long now) {
+            double latency = ewmaNanos;
+            if (latency > 0) {
+                // Let the average decay while no response arrives, so a once slow backend is tried again
+                latency *= Math.exp(-(now - updatedAt) / decayNanos);
+            }
+            return latency * (inFlight + 1);
+        }
+
+        public synchronized boolean isEjected() {
+            return ejected && System.nanoTime() - ejectedUntil < 0;
+        }
+
+        public synchronized double getLatencyMillis() {
+            return ewmaNanos / 1e6;
+        }
+
+        public synchronized long getRequests() {
+            return requests;
+        }
+
+        public synchronized long getFailures() {
+            return failures;
+        }
+
+        private synchronized String describe(long now) {
+            String state = ejected && now - ejectedUntil < 0
+                    ? "ejected for " + (ejectedUntil - now) / 1_000_000 + " ms" : "healthy";
+            return String.format("%s: %s, latency %.1f ms, %d in flight, %d requests, %d failures",
+                    url, state, ewmaNanos / 1e6, inFlight, requests, failures);
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.chatbot.api;
+
+import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.model.BlogPost;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of the blog listing, as returned by {@link ApiClient#getBlogPostsPageAsync(int, int)}.
+ * The end of the listing is known from the total reported in the response meta; without
+ * meta, a page shorter than the requested size is taken to be the last one.
+ */
+public class BlogPage {
+    private final List<BlogPost> posts; // Posts on this page
+    private final int offset;           // Position of the first post in the listing
+    private final int limit;            // Requested page size
+    private final int total;            // Number of posts in the whole listing, -1 if unknown
+
+    /**
+     * Constructor to initialize a BlogPage object.
+     * @param posts The posts on the page.
+     * @param offset The position of the first post in the listing.
+     * @param limit The requested page size.
+     * @param total The number of posts in the whole listing, or -1 if unknown.
+     */
+    public BlogPage(List<BlogPost> posts, int offset, int limit, int total) {
+        this.posts = Collections.unmodifiableList(posts);
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+    }
+
+    /**
+     * Creates a page from an API response.
+     * An API without paging support returns the complete listing; in that case the
+     * requested range is copied out of it, so the rest of the listing is not retained.
+     */
+    static BlogPage of(AllBlogsResponse response, int offset, int limit) {
+        List<BlogPost> data = response.getData() != null ? response.getData() : List.of();
+        int total = response.getMeta() != null ? response.getMeta().getTotal() : -1;
+        if (isFullListing(response, offset, limit)) {
+            int from = Math.min(offset, data.size());
+            int to = Math.min(offset + limit, data.size());
+            return new BlogPage(new ArrayList<>(data.subList(from, to)), offset, limit, total >= 0 ? total : data.size());
+        }
+        return new BlogPage(data, offset, limit, total);
+    }
+
+    /**
+     * Tells whether a response to a page request holds the complete listing, i.e. the API ignored the range.
+     */
+    static boolean isFullListing(AllBlogsResponse response, int offset, int limit) {
+        List<BlogPost> data = response.getData() != null ? response.getData() : List.of();
+        int total = response.getMeta() != null ? response.getMeta().getTotal() : -1;
+        return data.size() > limit || (offset > 0 && data.size() == total && total > 0);
+    }
+
+    /**
+     * Tells whether a response to a page request shows that the API returns ranges: the page
+     * holds fewer posts than the listing.
+     */
+    static boolean isRange(AllBlogsResponse response, int limit) {
+        List<BlogPost> data = response.getData() != null ? response.getData() : List.of();
+        int total = response.getMeta() != null ? response.getMeta().getTotal() : -1;
+        return data.size() <= limit && data.size() < total;
+    }
+
+    public List<BlogPost> getPosts() {
+        return posts;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns true if the listing continues after this page.
+     * @return true if there is a next page.
+     */
+    public boolean hasNext() {
+        return total >= 0 ? offset + posts.size() < total : posts.size() == limit;
+    }
+
+    /**
+     * Returns true if this is not the first page.
+     * @return true if there is a previous page.
+     */
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    /**
+     * Returns the number of this page, starting at 1.
+     * @return The page number.
+     */
+    public int getPageNumber() {
+        return offset / limit + 1;
+    }
+
+    /**
+     * Returns the number of pages of the listing.
+     * @return The page count, or -1 if the total is unknown.
+     */
+    public int getPageCount() {
+        return total >= 0 ? Math.max(1, (total + limit - 1) / limit) : -1;
+    }
+
+    /**
+     * Provides a short description of the page position.
+     * @return A string like "Page 2 of 5 (blogs 11-20 of 47)".
+     */
+    @Override
+    public String toString() {
+        String of = total >= 0 ? " of " + getPageCount() : "";
+        String range = posts.isEmpty() ? "no blogs" : "blogs " + (offset + 1) + "-" + (offset + posts.size());
+        return "Page " + getPageNumber() + of + " (" + range + (total >= 0 ? " of " + total : "") + ")";
+    }
+}
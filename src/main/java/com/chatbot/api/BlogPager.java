@@ -0,0 +1,112 @@
+package com.chatbot.api;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Walks through the blog listing page by page.
+ * Whenever a page is shown, the next page is requested in the background, so moving
+ * forward usually does not wait for the network. Only the last few pages are kept,
+ * which bounds memory use regardless of the size of the listing.
+ * A pager is meant to be used by one thread, e.g. the console loop.
+ */
+public class BlogPager {
+    private static final int MAX_PAGES = 3; // Previous, current and prefetched next page
+
+    private final ApiClient apiClient;
+    private final int pageSize;
+    // Offset -> requested page, least recently used first
+    private final Map<Integer, CompletableFuture<BlogPage>> pages = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<BlogPage>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private BlogPage current; // Page shown last, null before the first page
+
+    /**
+     * Constructor to initialize a BlogPager.
+     * @param apiClient The client used to fetch pages.
+     * @param pageSize The number of posts per page.
+     */
+    public BlogPager(ApiClient apiClient, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.apiClient = apiClient;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Moves to the first page of the listing.
+     * @return The first page, or null if the API call is unsuccessful.
+     * @throws IOException If an I/O error occurs during the API call.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BlogPage first() throws IOException, InterruptedException {
+        return show(0);
+    }
+
+    /**
+     * Moves to the next page, if there is one.
+     * @return The next page, the current page if it is the last one, or null if the API call is unsuccessful.
+     * @throws IOException If an I/O error occurs during the API call.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BlogPage next() throws IOException, InterruptedException {
+        if (current == null) {
+            return first();
+        }
+        return current.hasNext() ? show(current.getOffset() + pageSize) : current;
+    }
+
+    /**
+     * Moves to the previous page, if there is one.
+     * @return The previous page, the current page if it is the first one, or null if the API call is unsuccessful.
+     * @throws IOException If an I/O error occurs during the API call.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BlogPage previous() throws IOException, InterruptedException {
+        if (current == null) {
+            return first();
+        }
+        return current.hasPrevious() ? show(Math.max(0, current.getOffset() - pageSize)) : current;
+    }
+
+    public BlogPage getCurrent() {
+        return current;
+    }
+
+    /**
+     * Returns the page at an offset, waiting for it if necessary, and prefetches the one after it.
+     */
+    private BlogPage show(int offset) throws IOException, InterruptedException {
+        BlogPage page;
+        try {
+            page = ApiClient.await(request(offset));
+        } catch (IOException | RuntimeException e) {
+            pages.remove(offset); // Do not keep a failed request, so it can be retried
+            throw e;
+        }
+        if (page == null) {
+            pages.remove(offset);
+            return null;
+        }
+        current = page;
+        if (page.hasNext()) {
+            request(offset + pageSize); // Prefetch while the user reads this page
+        }
+        return page;
+    }
+
+    private CompletableFuture<BlogPage> request(int offset) {
+        CompletableFuture<BlogPage> page = pages.get(offset);
+        if (page == null || page.isCompletedExceptionally()) {
+            page = apiClient.getBlogPostsPageAsync(offset, pageSize);
+            pages.put(offset, page);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,210 @@
+package com.chatbot.api;
+
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.Meta;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Incremental reader for the blog listing response (GET ?api=blogs).
+ * Walks the "data" array with Jackson's token parser, so only one {@link BlogPost}
+ * is materialized at a time instead of the whole response body and list.
+ * The {@link Meta} object is available as soon as it has been read from the stream:
+ * immediately if the server sends it before "data", otherwise once all posts are consumed.
+ */
+public class BlogPostStreamReader implements Iterator<BlogPost>, AutoCloseable {
+    private final JsonCodec codec;           // Shared readers used to bind each post
+    private final JsonParser parser;         // Token parser reading directly from the response body
+    private Meta meta;                       // Meta information, null until it has been read
+    private BlogPost next;                   // Post read ahead by hasNext(), null if none is pending
+    private boolean inData;                  // True while the parser is positioned inside the "data" array
+    private boolean finished;                // True once the whole top-level object has been consumed
+    private final LongConsumer parseListener; // Receives the parse time on close, null if not measured
+    private long parseNanos;                 // Time spent reading and binding posts so far
+    private boolean closed;
+
+    /**
+     * Constructor to initialize the reader and position it at the first post.
+     * @param objectMapper The Jackson mapper used to deserialize posts and meta information.
+     * @param input The raw response body stream; it is closed when this reader is closed.
+     * @throws IOException If the body cannot be read or is not a JSON object.
+     */
+    public BlogPostStreamReader(ObjectMapper objectMapper, InputStream input) throws IOException {
+        this(new JsonCodec(objectMapper), input);
+    }
+
+    /**
+     * Constructor to initialize the reader with the reusable readers of a codec.
+     * @param codec The codec used to deserialize posts and meta information.
+     * @param input The raw response body stream; it is closed when this reader is closed.
+     * @throws IOException If the body cannot be read or is not a JSON object.
+     */
+    public BlogPostStreamReader(JsonCodec codec, InputStream input) throws IOException {
+        this(codec, input, null);
+    }
+
+    /**
+     * Constructor to initialize the reader and measure the time spent parsing the listing.
+     * Since the body is read while it is parsed, the time includes waiting for the network.
+     * @param codec The codec used to deserialize posts and meta information.
+     * @param input The raw response body stream; it is closed when this reader is closed.
+     * @param parseListener Receives the parse time in nanoseconds when the reader is closed.
+     * @throws IOException If the body cannot be read or is not a JSON object.
+     */
+    BlogPostStreamReader(JsonCodec codec, InputStream input, LongConsumer parseListener) throws IOException {
+        this.codec = codec;
+        this.parseListener = parseListener;
+        long start = System.nanoTime();
+        this.parser = codec.createParser(input);
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected blog listing format: expected a JSON object");
+            }
+            advanceToData(); // Read fields until the "data" array (or the end of the object)
+        } catch (IOException e) {
+            parser.close(); // Release the connection if the header of the response is broken
+            throw e;
+        }
+        parseNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Reads top-level fields until the parser is positioned inside the "data" array.
+     * Meta information met on the way is deserialized, other fields are skipped.
+     * If the object ends first, the reader is marked as finished.
+     */
+    private void advanceToData() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken(); // Move to the field's value
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                inData = true;
+                return;
+            } else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+                meta = codec.decode(parser, Meta.class);
+            } else {
+                parser.skipChildren(); // Ignore unknown fields, as the model classes do
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected token in blog listing: " + token);
+        }
+        finished = true;
+    }
+
+    /**
+     * Reads the next post from the "data" array, or the remaining top-level fields
+     * when the array has ended.
+     * @return The next post, or null if there are no more posts.
+     */
+    private BlogPost readNext() throws IOException {
+        while (!finished) {
+            if (inData) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    return codec.decode(parser, BlogPost.class);
+                }
+                if (token != JsonToken.END_ARRAY) {
+                    throw new IOException("Unexpected token in blog list: " + token);
+                }
+                inData = false; // Array finished, continue with the fields after it (e.g. "meta")
+            }
+            advanceToData();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            long start = System.nanoTime();
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                parseNanos += System.nanoTime() - start;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public BlogPost next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BlogPost post = next;
+        next = null;
+        return post;
+    }
+
+    /**
+     * Returns the meta information of the listing.
+     * @return The {@link Meta} object, or null if it has not been read yet or is missing.
+     */
+    public Meta getMeta() {
+        return meta;
+    }
+
+    /**
+     * Returns true once all posts and all trailing fields of the response have been read,
+     * i.e. when {@link #getMeta()} is final.
+     * @return Whether the whole response has been consumed.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Exposes the remaining posts as a lazy, sequential {@link Stream}.
+     * Closing the stream closes this reader and the underlying connection.
+     * @return A stream of the remaining blog posts.
+     */
+    public Stream<BlogPost> stream() {
+        Spliterator<BlogPost> spliterator =
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::closeQuietly);
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the parser and the underlying response body stream.
+     * @throws IOException If closing the stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+        } finally {
+            if (parseListener != null) {
+                parseListener.accept(parseNanos);
+            }
+        }
+    }
+}
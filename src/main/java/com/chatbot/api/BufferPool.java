@@ -0,0 +1,87 @@
+package com.chatbot.api;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small pool of byte arrays for encoding request bodies.
+ * Arrays are handed out through {@link PooledOutputStream}s and returned with
+ * {@link #release(PooledOutputStream)}. The pool keeps at most a fixed number of arrays,
+ * and arrays that grew beyond the maximum size are left to the garbage collector,
+ * so one unusually large body does not stay in memory.
+ */
+class BufferPool {
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger freeCount = new AtomicInteger(); // Size of the queue, which is O(n) to compute
+    private final int initialSize; // Size of newly allocated arrays
+    private final int maxSize;     // Largest array that is returned to the pool
+    private final int maxCount;    // Largest number of arrays kept in the pool
+
+    /**
+     * Constructor to initialize an empty pool.
+     * @param initialSize The size of newly allocated arrays.
+     * @param maxSize The largest array that is kept for reuse.
+     * @param maxCount The largest number of arrays kept for reuse.
+     */
+    BufferPool(int initialSize, int maxSize, int maxCount) {
+        this.initialSize = initialSize;
+        this.maxSize = maxSize;
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Takes an array from the pool, or allocates one if the pool is empty.
+     * @return A stream writing into the array.
+     */
+    PooledOutputStream acquire() {
+        byte[] buffer = free.poll();
+        if (buffer != null) {
+            freeCount.decrementAndGet();
+        } else {
+            buffer = new byte[initialSize];
+        }
+        return new PooledOutputStream(buffer);
+    }
+
+    /**
+     * Returns the array of a stream to the pool. The stream must not be used afterwards.
+     * @param stream A stream obtained from {@link #acquire()}.
+     */
+    void release(PooledOutputStream stream) {
+        byte[] buffer = stream.buffer();
+        if (buffer.length > maxSize) {
+            return;
+        }
+        if (freeCount.incrementAndGet() <= maxCount) {
+            free.offer(buffer);
+        } else {
+            freeCount.decrementAndGet(); // Pool is full
+        }
+    }
+
+    /**
+     * Number of arrays currently available for reuse.
+     */
+    int available() {
+        return freeCount.get();
+    }
+
+    /**
+     * An output stream writing into a pooled array; it grows like a {@link ByteArrayOutputStream}.
+     */
+    static final class PooledOutputStream extends ByteArrayOutputStream {
+        private PooledOutputStream(byte[] buffer) {
+            super(0);
+            this.buf = buffer;
+        }
+
+        /**
+         * Returns the current array; the first {@link #size()} bytes are the written data.
+         */
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
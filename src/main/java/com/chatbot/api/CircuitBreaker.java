@@ -0,0 +1,106 @@
+package com.chatbot.api;
+
+/**
+ * Circuit breaker that stops sending requests while the backend is failing.
+ * After {@code failureThreshold} consecutive failures the circuit opens and requests
+ * fail fast with a {@link CircuitOpenException}. Once the open period has passed,
+ * a single probe request is let through (half-open): its success closes the circuit,
+ * its failure opens it again.
+ */
+public class CircuitBreaker {
+    /**
+     * States of the circuit breaker.
+     */
+    public enum State {
+        CLOSED,    // Requests flow normally
+        OPEN,      // Requests are rejected without contacting the server
+        HALF_OPEN  // One probe request is allowed to test the server
+    }
+
+    private final int failureThreshold; // Consecutive failures that open the circuit
+    private final long openNanos;       // How long the circuit stays open before probing
+    private State state = State.CLOSED; // Current state
+    private int consecutiveFailures;    // Failures since the last success
+    private long openedAt;              // Time (System.nanoTime) the circuit was last opened
+    private boolean probeInFlight;      // True while the half-open probe has not completed
+    private long rejected;              // Number of requests rejected while open
+
+    /**
+     * Constructor to initialize a CircuitBreaker object.
+     * @param failureThreshold The number of consecutive failures that opens the circuit (at least 1).
+     * @param openMillis How long the circuit stays open before a probe request is allowed.
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+    /**
+     * Decides whether a request may be sent now.
+     * @return true if the request may be sent, false if it must fail fast.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN; // Open period is over, let one probe through
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                rejected++;
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful request and closes the circuit.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failed request and opens the circuit if the threshold is reached
+     * or the half-open probe failed.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns how long the circuit will stay open.
+     * @return The remaining open time in milliseconds, 0 if the circuit is not open.
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, (openNanos - (System.nanoTime() - openedAt)) / 1_000_000);
+    }
+
+    /**
+     * Provides a one-line summary of the breaker.
+     * @return A string containing the state, failure count and number of rejected requests.
+     */
+    @Override
+    public synchronized String toString() {
+        return state + ", Consecutive failures: " + consecutiveFailures + "/" + failureThreshold + ", Rejected: " + rejected;
+    }
+}
@@ -0,0 +1,19 @@
+package com.chatbot.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a request is not sent because the {@link CircuitBreaker} is open.
+ * It is an {@link IOException}, so callers handle it like any other failed API call.
+ */
+public class CircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor to initialize a CircuitOpenException.
+     * @param remainingMillis How long the circuit will stay open, in milliseconds.
+     */
+    public CircuitOpenException(long remainingMillis) {
+        super("Service temporarily unavailable, retrying in " + Math.max(1, (remainingMillis + 999) / 1000) + " s");
+    }
+}
@@ -0,0 +1,197 @@
+package com.chatbot.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HTTP content codings supported by the {@link ApiClient}: gzip and deflate.
+ * {@link java.net.http.HttpClient} neither asks for compressed responses nor decodes them,
+ * so the client sends the Accept-Encoding header itself and decompresses the body while
+ * it is being parsed, without holding the decompressed body in memory.
+ */
+final class Compression {
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+    static final String ACCEPT_ENCODING = GZIP + ", " + DEFLATE; // Value of the Accept-Encoding header
+
+    private Compression() {
+    }
+
+    /**
+     * Receives the sizes of a decoded body.
+     */
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * @param encodedBytes The compressed bytes that were read.
+         * @param decodedBytes The decompressed bytes they produced.
+         */
+        void decoded(long encodedBytes, long decodedBytes);
+    }
+
+    /**
+     * Normalizes the value of a Content-Encoding header.
+     * @param header The header value, or null if the header is missing.
+     * @return The lower case coding, or null if the body is not encoded.
+     */
+    static String normalize(String header) {
+        if (header == null) {
+            return null;
+        }
+        String encoding = header.trim().toLowerCase(Locale.ROOT);
+        return encoding.isEmpty() || encoding.equals("identity") ? null : encoding;
+    }
+
+    /**
+     * Wraps a stream of encoded bytes in a decompressing stream.
+     * @param encoded The compressed body.
+     * @param encoding The normalized content coding.
+     * @return A stream of the decompressed body.
+     * @throws IOException If the coding is not supported or the stream does not start like one.
+     */
+    static InputStream decode(InputStream encoded, String encoding) throws IOException {
+        if (GZIP.equals(encoding) || "x-gzip".equals(encoding)) {
+            return new GZIPInputStream(encoded, 8192);
+        } else if (DEFLATE.equals(encoding)) {
+            // "deflate" should be zlib-wrapped (RFC 1950), but some servers send raw deflate data
+            PushbackInputStream input = new PushbackInputStream(encoded, 2);
+            int cmf = input.read();
+            int flg = input.read();
+            if (flg >= 0) {
+                input.unread(flg);
+            }
+            if (cmf >= 0) {
+                input.unread(cmf);
+            }
+            boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+            return new OwnedInflaterInputStream(input, !zlib);
+        }
+        throw new IOException("Unsupported Content-Encoding: " + encoding);
+    }
+
+    /**
+     * Wraps a stream of encoded bytes in a decompressing stream that reports the sizes of the body.
+     * @param encoded The compressed body.
+     * @param encoding The normalized content coding.
+     * @param drainOnClose Whether closing the stream first reads the rest of the body. This makes the
+     *                     sizes complete and verifies the gzip checksum, but must only be used for a
+     *                     body that is already in memory.
+     * @param listener Receives the sizes when the stream is closed.
+     * @return A stream of the decompressed body.
+     * @throws IOException If the coding is not supported or the stream does not start like one.
+     */
+    static InputStream decode(InputStream encoded, String encoding, boolean drainOnClose, Listener listener)
+            throws IOException {
+        CountingInputStream counted = new CountingInputStream(encoded);
+        return new CountingInputStream(decode(counted, encoding)) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    if (drainOnClose) {
+                        skip(Long.MAX_VALUE);
+                    }
+                } finally {
+                    super.close();
+                    listener.decoded(counted.getCount(), getCount());
+                }
+            }
+        };
+    }
+
+    /**
+     * Compresses a body with gzip.
+     * @param data The array holding the body.
+     * @param offset The start of the body in the array.
+     * @param length The length of the body.
+     * @param out The stream receiving the compressed body; closing it has no effect.
+     * @throws IOException If writing fails.
+     */
+    static void gzip(byte[] data, int offset, int length, ByteArrayOutputStream out) throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 512)) { // Closing releases the deflater
+            gzip.write(data, offset, length);
+        }
+    }
+
+    /**
+     * Counts the bytes read through it.
+     */
+    static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Read instead of skipping, so every byte passes through the decoder and is counted
+            byte[] buffer = new byte[8192];
+            long skipped = 0;
+            int read;
+            while (skipped < n && (read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped))) > 0) {
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Inflates deflate data and releases the native inflater on close,
+     * which {@link InflaterInputStream} only does for its own default inflater.
+     */
+    private static final class OwnedInflaterInputStream extends InflaterInputStream {
+        OwnedInflaterInputStream(InputStream in, boolean raw) {
+            super(in, new Inflater(raw), 8192);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.chatbot.api;
+
+import com.chatbot.search.DuplicateMatch;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a new post is not sent because it is the same or nearly the same as a known post.
+ * It is an {@link IOException}, so callers handle it like any other failed API call; callers
+ * that retry failed posts should not retry this one.
+ */
+public class DuplicatePostException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient DuplicateMatch match;
+
+    /**
+     * Constructor to initialize a DuplicatePostException.
+     * @param match The known post the new post resembles.
+     */
+    public DuplicatePostException(DuplicateMatch match) {
+        super("Not sent, near-duplicate of " + match);
+        this.match = match;
+    }
+
+    public DuplicateMatch getMatch() {
+        return match;
+    }
+}
@@ -0,0 +1,94 @@
+package com.chatbot.api;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Policy for hedged GET requests: if a response has not arrived after the endpoint's
+ * recent latency percentile (p95 by default), a second identical request is sent and
+ * whichever answer arrives first is used. This trims tail latency at the cost of a few
+ * extra requests. Latencies are kept per endpoint in a small ring buffer of recent samples.
+ */
+public class HedgePolicy {
+    private static final int WINDOW = 256; // Number of recent samples kept per endpoint
+
+    private final long minDelayNanos;  // Lower bound for the hedge delay
+    private final double percentile;   // Latency percentile used as hedge delay (0-100)
+    private final Map<String, Window> windows = new ConcurrentHashMap<>(); // Recent latencies per endpoint
+    private final AtomicLong hedgesSent = new AtomicLong(); // Second requests sent
+    private final AtomicLong hedgesWon = new AtomicLong();  // Second requests that answered first
+
+    /**
+     * Constructor to initialize a HedgePolicy object.
+     * @param minDelayMillis The smallest delay before a hedge request is sent, in milliseconds.
+     * @param percentile The latency percentile used as hedge delay, e.g. 95.
+     */
+    public HedgePolicy(long minDelayMillis, double percentile) {
+        this.minDelayNanos = minDelayMillis * 1_000_000L;
+        this.percentile = Math.min(100, Math.max(0, percentile));
+    }
+
+    /**
+     * Records the latency of a completed request.
+     * @param api The value of the "api" query parameter.
+     * @param latencyNanos The request latency in nanoseconds.
+     */
+    public void record(String api, long latencyNanos) {
+        windows.computeIfAbsent(api, key -> new Window()).add(latencyNanos);
+    }
+
+    /**
+     * Returns how long to wait for the first response before sending a hedge request.
+     * @param api The value of the "api" query parameter.
+     * @return The hedge delay in nanoseconds.
+     */
+    public long delayNanos(String api) {
+        Window window = windows.get(api);
+        long observed = window != null ? window.percentile(percentile) : 0;
+        return Math.max(minDelayNanos, observed);
+    }
+
+    void hedgeSent() {
+        hedgesSent.incrementAndGet();
+    }
+
+    void hedgeWon() {
+        hedgesWon.incrementAndGet();
+    }
+
+    /**
+     * Provides a one-line summary of the hedging activity.
+     * @return A string containing the percentile and the number of hedges sent and won.
+     */
+    @Override
+    public String toString() {
+        return "p" + (int) percentile + " hedging, Sent: " + hedgesSent.get() + ", Won: " + hedgesWon.get();
+    }
+
+    /**
+     * Ring buffer of the most recent latency samples of one endpoint.
+     */
+    private static class Window {
+        private final long[] samples = new long[WINDOW];
+        private int count; // Number of valid samples, at most WINDOW
+        private int next;  // Index the next sample is written to
+
+        synchronized void add(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % WINDOW;
+            count = Math.min(WINDOW, count + 1);
+        }
+
+        synchronized long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+}
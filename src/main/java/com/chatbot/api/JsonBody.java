@@ -0,0 +1,270 @@
+package com.chatbot.api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * A response body kept as the {@link ByteBuffer}s in which it was received.
+ * Unlike {@link HttpResponse.BodyHandlers#ofByteArray()}, the chunks are not copied into
+ * one array when the body is complete; the JSON decoder reads them in place through
+ * {@link #openStream()}. A contiguous copy is only made when one is really needed,
+ * e.g. for the response cache. A gzip or deflate encoded body stays compressed and is
+ * decompressed while it is read.
+ */
+public final class JsonBody {
+    private static final JsonBody EMPTY = new JsonBody(List.of(), 0, null, 0);
+
+    private final List<ByteBuffer> chunks; // Received buffers, positioned at their first byte
+    private final int length;              // Total number of bytes as received
+    private final String encoding;         // Content coding of the body, null if not encoded
+    private final long headersAt;          // System.nanoTime() when the response headers arrived, 0 if unknown
+    private volatile long decodedLength;   // Decompressed size, -1 until the body has been read once
+
+    private JsonBody(List<ByteBuffer> chunks, int length, String encoding, long headersAt) {
+        this.chunks = chunks;
+        this.length = length;
+        this.encoding = encoding;
+        this.headersAt = headersAt;
+        this.decodedLength = encoding == null ? length : -1;
+    }
+
+    /**
+     * Returns a body handler that collects the response body as a {@link JsonBody}.
+     * The Content-Encoding of the response is recorded, so the body can be decompressed when it is read.
+     * @return The body handler.
+     */
+    public static HttpResponse.BodyHandler<JsonBody> handler() {
+        return info -> new Collector(Compression.normalize(info.headers().firstValue("Content-Encoding").orElse(null)));
+    }
+
+    /**
+     * Returns the number of bytes in the body as received, i.e. compressed if the body is encoded.
+     * @return The body length.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns when the response headers arrived, i.e. when reading the body started.
+     * @return The {@link System#nanoTime()} of the headers, or 0 for an empty body.
+     */
+    long headersAt() {
+        return headersAt;
+    }
+
+    /**
+     * Returns whether the body was received with a content coding such as gzip.
+     * @return true if the body is compressed.
+     */
+    public boolean isCompressed() {
+        return encoding != null;
+    }
+
+    /**
+     * Returns the size of the body after decompression.
+     * @return The decoded length, or -1 if a compressed body has not been read yet.
+     */
+    public long decodedLength() {
+        return decodedLength;
+    }
+
+    /**
+     * Returns the body as a single array if it was received in one heap buffer covering
+     * a whole array, so it can be used without copying.
+     * @return The backing array, or null if the body is split or not array-backed.
+     */
+    private byte[] array() {
+        if (encoding != null) {
+            return null;
+        } else if (chunks.isEmpty()) {
+            return new byte[0];
+        }
+        ByteBuffer chunk = chunks.get(0);
+        if (chunks.size() == 1 && chunk.hasArray() && chunk.arrayOffset() == 0 && chunk.position() == 0
+                && chunk.remaining() == chunk.array().length) {
+            return chunk.array();
+        }
+        return null;
+    }
+
+    /**
+     * Decodes the body with a Jackson reader. A body received in one heap buffer is parsed
+     * directly from its array, a split body through a stream over the buffers.
+     * @param reader The reader bound to the target type.
+     * @param <T> The type of the decoded object.
+     * @return The decoded object.
+     * @throws IOException If the body is not valid JSON for the type.
+     */
+    <T> T decode(ObjectReader reader) throws IOException {
+        if (encoding == null && chunks.size() == 1 && chunks.get(0).hasArray()) {
+            ByteBuffer chunk = chunks.get(0);
+            return reader.readValue(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+        }
+        try (InputStream input = openStream()) {
+            return reader.readValue(input);
+        }
+    }
+
+    /**
+     * Opens a stream over the received buffers, decompressing them if the body is encoded.
+     * The buffers themselves are not consumed, so the body can be read more than once.
+     * @return A new input stream positioned at the first byte.
+     * @throws IOException If the body has an unsupported or broken content coding.
+     */
+    public InputStream openStream() throws IOException {
+        InputStream raw = new ChunkInputStream(chunks);
+        if (encoding == null) {
+            return raw;
+        }
+        // Draining on close is cheap here, the body is already in memory
+        return Compression.decode(raw, encoding, true, (encoded, decoded) -> decodedLength = decoded);
+    }
+
+    /**
+     * Copies the decoded body into one array.
+     * @return An array with all bytes of the body, decompressed if it is encoded.
+     * @throws IOException If the body has an unsupported or broken content coding.
+     */
+    public byte[] toByteArray() throws IOException {
+        byte[] array = array();
+        if (array != null) {
+            return array;
+        } else if (encoding != null) {
+            try (InputStream input = openStream()) {
+                return input.readAllBytes();
+            }
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (ByteBuffer chunk : chunks) {
+            int size = chunk.remaining();
+            chunk.duplicate().get(bytes, offset, size);
+            offset += size;
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the body as UTF-8 text, e.g. for logging an error response.
+     * @return The body text, or a short description if the body cannot be decompressed.
+     */
+    @Override
+    public String toString() {
+        try {
+            return new String(toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "<" + length + " bytes " + encoding + ": " + e.getMessage() + ">";
+        }
+    }
+
+    /**
+     * Collects the buffers delivered by the HTTP client. The client hands over
+     * ownership of each buffer, so they are kept without copying.
+     */
+    private static final class Collector implements HttpResponse.BodySubscriber<JsonBody> {
+        private final CompletableFuture<JsonBody> result = new CompletableFuture<>();
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private final String encoding;
+        private final long headersAt = System.nanoTime(); // Created by the handler when the headers arrive
+        private long length;
+
+        Collector(String encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        public CompletionStage<JsonBody> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE); // The whole body is needed anyway
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            for (ByteBuffer item : items) {
+                if (item.hasRemaining()) {
+                    chunks.add(item);
+                    length += item.remaining();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            chunks.clear();
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (length > Integer.MAX_VALUE) {
+                result.completeExceptionally(new IOException("Response body too large: " + length + " bytes"));
+            } else {
+                result.complete(chunks.isEmpty() ? EMPTY : new JsonBody(List.copyOf(chunks), (int) length, encoding, headersAt));
+            }
+        }
+    }
+
+    /**
+     * Reads a list of buffers in order, without copying them into one array.
+     */
+    private static final class ChunkInputStream extends InputStream {
+        private final List<ByteBuffer> chunks;
+        private int index;          // Chunk currently being read
+        private ByteBuffer current; // Private view of that chunk, null once all chunks are read
+
+        ChunkInputStream(List<ByteBuffer> chunks) {
+            this.chunks = chunks;
+            this.current = chunks.isEmpty() ? null : chunks.get(0).duplicate();
+        }
+
+        /**
+         * Moves to the next chunk with remaining bytes.
+         * @return false if the end of the body has been reached.
+         */
+        private boolean ensureRemaining() {
+            while (current != null && !current.hasRemaining()) {
+                index++;
+                current = index < chunks.size() ? chunks.get(index).duplicate() : null;
+            }
+            return current != null;
+        }
+
+        @Override
+        public int read() {
+            return ensureRemaining() ? current.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, current.remaining());
+            current.get(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return current != null ? current.remaining() : 0;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.chatbot.api;
+
+import com.chatbot.model.AllBlogsResponse;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.Meta;
+import com.chatbot.model.NewBlogPostRequest;
+import com.chatbot.model.Statistics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON encoding and decoding at the byte level for the {@link ApiClient}.
+ * Jackson reads and writes UTF-8 bytes directly, so no intermediate {@link String}
+ * is built for a request or response body. Readers and writers are created once per
+ * type and reused, which saves the type lookup of {@link ObjectMapper#readValue}
+ * on every call. Request bodies are encoded into arrays from a {@link BufferPool}.
+ */
+public class JsonCodec {
+    private static final int BUFFER_SIZE = 4 * 1024;       // Initial size of a pooled request buffer
+    private static final int MAX_BUFFER_SIZE = 256 * 1024; // Larger request buffers are not pooled
+    private static final int MAX_POOLED_BUFFERS = 64;      // Request buffers kept for reuse
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final BufferPool buffers = new BufferPool(BUFFER_SIZE, MAX_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+
+    /**
+     * Constructor to initialize the codec with a configured mapper.
+     * The readers and writers of the API's model classes are created up front.
+     * @param objectMapper The mapper providing the configuration of all readers and writers.
+     */
+    public JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        reader(AllBlogsResponse.class);
+        reader(Statistics.class);
+        reader(BlogPost.class);
+        reader(Meta.class);
+        writer(NewBlogPostRequest.class);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Returns the reusable reader of a type.
+     * @param type The class of the decoded objects.
+     * @return The reader, shared by all callers.
+     */
+    public ObjectReader reader(Class<?> type) {
+        ObjectReader reader = readers.get(type); // No allocation once the reader exists
+        return reader != null ? reader : readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * Returns the reusable writer of a type.
+     * @param type The class of the encoded objects.
+     * @return The writer, shared by all callers.
+     */
+    public ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        return writer != null ? writer : writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    /**
+     * Decodes a JSON document from a byte array.
+     * @param body The UTF-8 encoded JSON document.
+     * @param type The class of the decoded object.
+     * @param <T> The type of the decoded object.
+     * @return The decoded object.
+     * @throws IOException If the document is not valid JSON for the type.
+     */
+    public <T> T decode(byte[] body, Class<T> type) throws IOException {
+        return reader(type).readValue(body);
+    }
+
+    /**
+     * Decodes a JSON document from the buffers of a received response body.
+     * @param body The response body.
+     * @param type The class of the decoded object.
+     * @param <T> The type of the decoded object.
+     * @return The decoded object.
+     * @throws IOException If the document is not valid JSON for the type.
+     */
+    public <T> T decode(JsonBody body, Class<T> type) throws IOException {
+        return body.decode(reader(type));
+    }
+
+    /**
+     * Decodes the JSON value at the current token of a parser, e.g. one element of an array.
+     * @param parser The parser, positioned at the start of the value.
+     * @param type The class of the decoded object.
+     * @param <T> The type of the decoded object.
+     * @return The decoded object.
+     * @throws IOException If the value is not valid JSON for the type.
+     */
+    public <T> T decode(JsonParser parser, Class<T> type) throws IOException {
+        return reader(type).readValue(parser);
+    }
+
+    /**
+     * Creates a streaming parser over a JSON document.
+     * @param input The UTF-8 encoded JSON document; it is closed when the parser is closed.
+     * @return The parser, positioned before the first token.
+     * @throws IOException If the parser cannot be created.
+     */
+    public JsonParser createParser(InputStream input) throws IOException {
+        return objectMapper.getFactory().createParser(input);
+    }
+
+    /**
+     * Encodes an object into a pooled buffer.
+     * The buffer must be returned with {@link Encoded#release()} once the body has been sent.
+     * @param value The object to encode.
+     * @return The encoded body.
+     * @throws IOException If the object cannot be serialized.
+     */
+    public Encoded encode(Object value) throws IOException {
+        BufferPool.PooledOutputStream output = buffers.acquire();
+        try {
+            writer(value.getClass()).writeValue(output, value);
+        } catch (IOException | RuntimeException e) {
+            buffers.release(output);
+            throw e;
+        }
+        return new Encoded(output, null, output.size());
+    }
+
+    /**
+     * Compresses an encoded body with gzip into another pooled buffer and releases the original one.
+     * @param body The uncompressed body.
+     * @return The compressed body, with content encoding "gzip".
+     * @throws IOException If the body cannot be compressed.
+     */
+    public Encoded gzip(Encoded body) throws IOException {
+        BufferPool.PooledOutputStream output = buffers.acquire();
+        try {
+            Compression.gzip(body.output.buffer(), 0, body.length(), output);
+        } catch (IOException | RuntimeException e) {
+            buffers.release(output);
+            throw e;
+        }
+        Encoded compressed = new Encoded(output, Compression.GZIP, body.length());
+        body.release();
+        return compressed;
+    }
+
+    /**
+     * A request body encoded into a pooled buffer.
+     */
+    public final class Encoded {
+        private BufferPool.PooledOutputStream output; // Null once released
+        private final String contentEncoding;         // "gzip" if compressed, null otherwise
+        private final int length;                     // Size of the body as sent
+        private final int uncompressedLength;         // Size of the JSON document
+
+        private Encoded(BufferPool.PooledOutputStream output, String contentEncoding, int uncompressedLength) {
+            this.output = output;
+            this.contentEncoding = contentEncoding;
+            this.length = output.size();
+            this.uncompressedLength = uncompressedLength;
+        }
+
+        /**
+         * Returns the number of bytes that are sent.
+         * @return The body length.
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Returns the size of the JSON document before compression.
+         * @return The uncompressed length, equal to {@link #length()} if the body is not compressed.
+         */
+        public int uncompressedLength() {
+            return uncompressedLength;
+        }
+
+        /**
+         * Returns the value of the Content-Encoding header for this body.
+         * @return "gzip" if the body is compressed, null otherwise.
+         */
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+
+        /**
+         * Returns a publisher for the encoded bytes. The HTTP client copies the bytes
+         * into its own buffers when the request is sent, but a request that is sent
+         * again (e.g. after a redirect) reads them again, so the body must not be
+         * released before the exchange has completed.
+         * @return The body publisher.
+         */
+        public HttpRequest.BodyPublisher publisher() {
+            return HttpRequest.BodyPublishers.ofByteArray(output.buffer(), 0, length);
+        }
+
+        /**
+         * Returns the buffer to the pool. Further calls have no effect.
+         */
+        public synchronized void release() {
+            if (output != null) {
+                buffers.release(output);
+                output = null;
+            }
+        }
+    }
+}
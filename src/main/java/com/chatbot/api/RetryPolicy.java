@@ -0,0 +1,53 @@
+package com.chatbot.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy for idempotent requests: exponential backoff with full jitter.
+ * The delay before retry n is a random value between 0 and
+ * min(maxDelay, baseDelay * 2^(n-1)), which spreads retries of many clients
+ * over time instead of sending them in synchronized waves.
+ */
+public class RetryPolicy {
+    private final int maxAttempts;      // Total number of attempts, including the first one
+    private final long baseDelayNanos;  // Backoff cap before the first retry
+    private final long maxDelayNanos;   // Upper bound for the backoff cap
+
+    /**
+     * Constructor to initialize a RetryPolicy object.
+     * @param maxAttempts The total number of attempts, including the first one (at least 1).
+     * @param baseDelayMillis The backoff cap before the first retry, in milliseconds.
+     * @param maxDelayMillis The largest backoff cap, in milliseconds.
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayNanos = baseDelayMillis * 1_000_000L;
+        this.maxDelayNanos = Math.max(baseDelayMillis, maxDelayMillis) * 1_000_000L;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Computes a jittered delay before the next attempt.
+     * @param attempt The number of the attempt that just failed, starting at 1.
+     * @return The delay in nanoseconds.
+     */
+    public long delayNanos(int attempt) {
+        long cap = baseDelayNanos << Math.min(attempt - 1, 30);
+        if (cap <= 0 || cap > maxDelayNanos) {
+            cap = maxDelayNanos; // Also covers overflow of the shift
+        }
+        return cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0;
+    }
+
+    /**
+     * Provides a one-line summary of the policy.
+     * @return A string containing the attempts and backoff bounds.
+     */
+    @Override
+    public String toString() {
+        return "Attempts: " + maxAttempts + ", Backoff: " + baseDelayNanos / 1_000_000 + "-" + maxDelayNanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,157 @@
+package com.chatbot.api;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one ("single flight").
+ * The first caller for a key starts the call; callers arriving while it is in flight
+ * wait for the same result instead of starting their own. After a successful call the
+ * result can optionally be shared for a short window, so a burst of callers arriving
+ * just after it completes is answered without another call. Failures and null results
+ * are never shared beyond the callers that were already waiting.
+ *
+ * Every caller gets its own copy of the shared future: cancelling it (e.g. when a
+ * blocking caller is interrupted) does not affect the other callers.
+ */
+public class SingleFlight {
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private volatile long windowNanos;                     // How long a successful result is shared
+    private final LongAdder calls = new LongAdder();       // All calls to execute
+    private final LongAdder executed = new LongAdder();    // Calls that were really made
+    private final LongAdder joined = new LongAdder();      // Callers that joined a call in flight
+    private final LongAdder reused = new LongAdder();      // Callers served from the sharing window
+
+    /**
+     * Constructor to initialize single-flight coalescing.
+     * @param windowMillis How long a successful result is shared after it completed, 0 for no sharing window.
+     */
+    public SingleFlight(long windowMillis) {
+        setWindowMillis(windowMillis);
+    }
+
+    /**
+     * Sets how long a successful result is shared after it completed.
+     * @param windowMillis The window in milliseconds, 0 to share results only while the call is in flight.
+     */
+    public void setWindowMillis(long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Sharing window must not be negative: " + windowMillis);
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public long getWindowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(windowNanos);
+    }
+
+    /**
+     * Runs a call, or joins the identical call that is in flight or was completed within the sharing window.
+     * @param key The identity of the call, e.g. the method and URL of a request.
+     * @param call Starts the call; only invoked if no result can be shared.
+     * @param <T> The type of the result.
+     * @return A future of the (possibly shared) result, owned by this caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call) {
+        calls.increment();
+        Flight flight = new Flight();
+        while (true) {
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                break; // This caller makes the call
+            }
+            if (!existing.isExpired()) {
+                (existing.result.isDone() ? reused : joined).increment();
+                return (CompletableFuture<T>) existing.result.copy();
+            }
+            flights.remove(key, existing); // Window over, the scheduled removal has not run yet
+        }
+        executed.increment();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, failure) -> {
+            long window = windowNanos;
+            if (failure != null || value == null || window == 0) {
+                flights.remove(key, flight); // Later callers start a new call
+            } else {
+                flight.expiresAt = System.nanoTime() + window;
+                flight.shareable = true;
+                CompletableFuture.delayedExecutor(window, TimeUnit.NANOSECONDS)
+                        .execute(() -> flights.remove(key, flight));
+            }
+            if (failure != null) {
+                flight.result.completeExceptionally(failure);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+        return (CompletableFuture<T>) flight.result.copy();
+    }
+
+    /**
+     * Drops all calls, e.g. after a write has made their results outdated.
+     * Callers already waiting still get the results; later callers start new calls.
+     */
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    /**
+     * Returns the number of calls that were requested.
+     * @return The count of all calls, made or shared.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Returns the number of calls that were really made.
+     * @return The count of calls not served by sharing.
+     */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * Returns the number of calls that shared the result of another one.
+     * @return The count of joined calls, in flight and within the sharing window.
+     */
+    public long getShared() {
+        return joined.sum() + reused.sum();
+    }
+
+    /**
+     * Provides a short summary of the coalescing.
+     * @return A string with the requested, executed and shared calls.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d calls, %d sent, %d shared (%d in flight, %d within %d ms window)",
+                getCalls(), getExecuted(), getShared(), joined.sum(), reused.sum(), getWindowMillis());
+    }
+
+    /**
+     * A call in flight or a completed call within its sharing window.
+     */
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long expiresAt;   // End of the sharing window, valid if shareable
+        volatile boolean shareable; // Set before a successful result completes the call, if there is a window
+
+        /**
+         * Returns true if the call has completed and its result may no longer be shared.
+         */
+        boolean isExpired() {
+            return result.isDone() && (!shareable || System.nanoTime() - expiresAt >= 0);
+        }
+    }
+}
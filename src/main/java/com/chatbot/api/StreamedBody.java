@@ -0,0 +1,74 @@
+package com.chatbot.api;
+
+import com.chatbot.metrics.EndpointMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+
+/**
+ * A response body handed to the caller as a stream as soon as the headers arrive, e.g. a
+ * blog listing read incrementally by a {@link BlogPostStreamReader}.
+ * The request is only complete once the caller has read the body, so the body records when
+ * the headers arrived and counts the bytes read through it; closing it reports the total
+ * latency, the body read time and the bytes received to the metrics of the endpoint.
+ */
+final class StreamedBody extends Compression.CountingInputStream {
+    private final long headersAt = System.nanoTime(); // Created by the handler when the headers arrive
+    private EndpointMetrics endpoint; // Receives the request when the body is closed, null if not metered
+    private int status;
+    private long start;               // System.nanoTime() when the request was sent
+    private boolean closed;
+
+    private StreamedBody(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * Returns a body handler that hands the response body over as a {@link StreamedBody}.
+     * @return The body handler.
+     */
+    static HttpResponse.BodyHandler<InputStream> handler() {
+        return info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(), StreamedBody::new);
+    }
+
+    /**
+     * Returns when the response headers arrived, i.e. when reading the body started.
+     * @return The {@link System#nanoTime()} of the headers.
+     */
+    long headersAt() {
+        return headersAt;
+    }
+
+    /**
+     * Reports the request to the metrics of its endpoint once the body is closed.
+     * @param endpoint The metrics of the endpoint.
+     * @param status The HTTP status code of the response.
+     * @param start The {@link System#nanoTime()} when the request was sent.
+     */
+    synchronized void completeOnClose(EndpointMetrics endpoint, int status, long start) {
+        this.endpoint = endpoint;
+        this.status = status;
+        this.start = start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        EndpointMetrics metered;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            metered = endpoint;
+        }
+        try {
+            super.close();
+        } finally {
+            if (metered != null) {
+                long end = System.nanoTime();
+                metered.requestCompleted(status, end - start, end - headersAt, getCount());
+            }
+        }
+    }
+}
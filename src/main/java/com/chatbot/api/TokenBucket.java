@@ -0,0 +1,47 @@
+package com.chatbot.api;
+
+/**
+ * Token bucket rate limiter used to cap the request rate of a single API endpoint.
+ * Tokens are added continuously at the configured rate up to the burst size.
+ * Instead of rejecting requests, {@link #reserve()} hands out future tokens and
+ * tells the caller how long to wait, so requests are spaced out evenly.
+ */
+public class TokenBucket {
+    private final double tokensPerNano; // Refill rate
+    private final double capacity;      // Maximum number of stored tokens (burst size)
+    private double tokens;              // Currently available tokens, negative if reserved ahead
+    private long lastRefill;            // Time (System.nanoTime) of the last refill
+
+    /**
+     * Constructor to initialize the TokenBucket, initially full.
+     * @param ratePerSecond The sustained number of requests per second.
+     * @param burst The number of requests that may be sent at once after an idle period.
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, possibly ahead of time.
+     * @return How many nanoseconds the caller must wait before sending, 0 if it may send now.
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+    }
+
+    /**
+     * Provides a one-line summary of the bucket.
+     * @return A string containing the rate and the available tokens.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("%.1f/s, Burst: %d, Tokens: %.1f", tokensPerNano * 1_000_000_000.0, (int) capacity, tokens);
+    }
+}
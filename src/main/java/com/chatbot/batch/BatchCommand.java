@@ -0,0 +1,142 @@
+package com.chatbot.batch;
+
+import com.chatbot.model.NewBlogPostRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+
+/**
+ * One command of a batch run, parsed from a line of a command file or a command line argument.
+ * <pre>
+ *   list                   all posts, one output line per post
+ *   list OFFSET LIMIT      one page of posts
+ *   stats                  the statistics of the site
+ *   create {JSON}          creates a post, e.g. create {"title":"T","author":"A","content":"C"}
+ *   import PATH            imports a JSON Lines or CSV file
+ * </pre>
+ * list and stats read; create and import write.
+ */
+public final class BatchCommand {
+    /**
+     * The kinds of commands.
+     */
+    public enum Type {
+        LIST, STATS, CREATE, IMPORT
+    }
+
+    private final int index;                  // Position of the command in the batch, starting at 0
+    private final Type type;
+    private final int offset;                 // First post of a paged list, -1 for the complete listing
+    private final int limit;                  // Posts of a paged list
+    private final NewBlogPostRequest request; // Post to create, null for other commands
+    private final Path file;                  // File to import, null for other commands
+
+    private BatchCommand(int index, Type type, int offset, int limit, NewBlogPostRequest request, Path file) {
+        this.index = index;
+        this.type = type;
+        this.offset = offset;
+        this.limit = limit;
+        this.request = request;
+        this.file = file;
+    }
+
+    /**
+     * Parses a command.
+     * @param index The position of the command in the batch.
+     * @param line The command text.
+     * @param objectMapper Parses the JSON argument of create.
+     * @return The command.
+     * @throws IllegalArgumentException If the command is unknown or its arguments are invalid.
+     */
+    public static BatchCommand parse(int index, String line, ObjectMapper objectMapper) {
+        String text = line.trim();
+        int space = text.indexOf(' ');
+        String name = (space < 0 ? text : text.substring(0, space)).toLowerCase();
+        String argument = space < 0 ? "" : text.substring(space + 1).trim();
+        switch (name) {
+            case "list":
+                if (argument.isEmpty()) {
+                    return new BatchCommand(index, Type.LIST, -1, 0, null, null);
+                }
+                String[] range = argument.split("\\s+");
+                try {
+                    int offset = Integer.parseInt(range[0]);
+                    int limit = range.length > 1 ? Integer.parseInt(range[1]) : 10;
+                    if (range.length > 2 || offset < 0 || limit <= 0) {
+                        throw new NumberFormatException();
+                    }
+                    return new BatchCommand(index, Type.LIST, offset, limit, null, null);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Usage: list [OFFSET LIMIT]");
+                }
+            case "stats":
+                return new BatchCommand(index, Type.STATS, -1, 0, null, null);
+            case "create":
+                NewBlogPostRequest request;
+                try {
+                    JsonNode node = objectMapper.readTree(argument);
+                    request = new NewBlogPostRequest(node.path("title").asText(""), node.path("content").asText(""),
+                            node.path("author").asText(""));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Usage: create {\"title\":...,\"author\":...,\"content\":...}");
+                }
+                if (isBlank(request.getTitle()) || isBlank(request.getAuthor()) || isBlank(request.getContent())) {
+                    throw new IllegalArgumentException("title, author and content must not be empty");
+                }
+                return new BatchCommand(index, Type.CREATE, -1, 0, request, null);
+            case "import":
+                if (argument.isEmpty()) {
+                    throw new IllegalArgumentException("Usage: import PATH");
+                }
+                return new BatchCommand(index, Type.IMPORT, -1, 0, null, Path.of(argument));
+            default:
+                throw new IllegalArgumentException("Unknown command: " + name);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public NewBlogPostRequest getRequest() {
+        return request;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns whether the command changes the posts on the server.
+     * @return true for create and import.
+     */
+    public boolean isWrite() {
+        return type == Type.CREATE || type == Type.IMPORT;
+    }
+
+    /**
+     * Returns the name of the command as used in the output.
+     * @return The lower case command name.
+     */
+    public String getName() {
+        return type.name().toLowerCase();
+    }
+}
@@ -0,0 +1,288 @@
+package com.chatbot.batch;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPage;
+import com.chatbot.api.BlogPostStreamReader;
+import com.chatbot.bulk.BlogImporter;
+import com.chatbot.bulk.ImportReport;
+import com.chatbot.bulk.ImportResult;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.Statistics;
+import com.chatbot.search.DuplicateIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs commands without user interaction and writes the results as JSON Lines, for cron jobs
+ * and pipelines. Every command ends with one line holding its "status" ("ok" or "error");
+ * list writes one line per post before it, import one line per record that was not created.
+ *
+ * Commands run concurrently over the shared {@link ApiClient} unless they depend on each other:
+ * a read (list, stats) waits for all writes (create, import) before it, and a write waits for
+ * all reads before it, so every command sees the effect of the commands listed earlier.
+ * Consecutive reads, and consecutive writes, run at the same time. If the client checks new
+ * posts for near-duplicates, the existing posts are indexed before the first write.
+ */
+public class BatchRunner {
+    private static final int INDEX_CHUNK = 1000; // Posts added to the duplicate index at once
+
+    private final ApiClient apiClient;   // Shared by all commands
+    private final int importConcurrency; // Maximum concurrent POST requests of an import
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger failures = new AtomicInteger(); // Commands that ended with an error
+
+    /**
+     * Constructor to initialize a BatchRunner.
+     * @param apiClient The client shared by all commands.
+     * @param importConcurrency The maximum number of POST requests in flight during an import.
+     */
+    public BatchRunner(ApiClient apiClient, int importConcurrency) {
+        this.apiClient = apiClient;
+        this.importConcurrency = importConcurrency;
+    }
+
+    /**
+     * Reads commands from a command file, one per line. Empty lines and lines starting with '#' are skipped.
+     * @param reader The command file.
+     * @return The command lines.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<String> readCommands(BufferedReader reader) throws IOException {
+        List<String> commands = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank() && !line.trim().startsWith("#")) {
+                commands.add(line);
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Runs a batch of commands and writes their results.
+     * @param lines The command lines, in order.
+     * @param out The output for the JSON Lines; it is flushed whenever a command finishes and closed at the end.
+     * @return The number of commands that failed or could not be parsed.
+     * @throws IOException If the output cannot be written.
+     */
+    public int run(List<String> lines, OutputStream out) throws IOException {
+        ExecutorService executor = ApiClient.newVirtualThreadExecutor();
+        try (JsonLinesWriter writer = new JsonLinesWriter(out, objectMapper)) {
+            List<CompletableFuture<Void>> all = new ArrayList<>();
+            List<CompletableFuture<Void>> phase = new ArrayList<>(); // Commands of the current run of reads or writes
+            CompletableFuture<Void> barrier = CompletableFuture.completedFuture(null); // End of the previous phase
+            Boolean writing = null; // Whether the current phase writes, null before the first command
+            CompletableFuture<Void> known = null; // Indexing of the existing posts, started by the first write
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                BatchCommand command;
+                try {
+                    command = BatchCommand.parse(i, line, objectMapper);
+                } catch (IllegalArgumentException e) {
+                    failures.incrementAndGet();
+                    writer.line(i, "invalid", g -> {
+                        g.writeStringField("status", "error");
+                        g.writeStringField("error", e.getMessage());
+                        g.writeStringField("line", line);
+                    });
+                    continue;
+                }
+                if (writing != null && writing != command.isWrite()) {
+                    barrier = CompletableFuture.allOf(phase.toArray(new CompletableFuture<?>[0]));
+                    phase = new ArrayList<>();
+                }
+                writing = command.isWrite();
+                CompletableFuture<Void> start = barrier;
+                if (writing && apiClient.getDuplicateIndex() != null) {
+                    if (known == null) {
+                        known = CompletableFuture.runAsync(this::indexKnownPosts, executor); // Overlaps earlier reads
+                    }
+                    start = CompletableFuture.allOf(barrier, known.exceptionally(e -> null)); // Never hold back the writes
+                }
+                CompletableFuture<Void> execution = start.thenRunAsync(() -> execute(command, writer), executor);
+                phase.add(execution);
+                all.add(execution);
+            }
+            CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        return failures.get();
+    }
+
+    /**
+     * Adds the posts on the server to the duplicate index of the client, so creates and imports
+     * skip posts that exist already. If the listing fails, only posts created in this batch are checked.
+     */
+    private void indexKnownPosts() {
+        DuplicateIndex duplicates = apiClient.getDuplicateIndex();
+        try (BlogPostStreamReader reader = apiClient.streamAllBlogPosts()) {
+            if (reader == null) {
+                return;
+            }
+            List<BlogPost> chunk = new ArrayList<>(INDEX_CHUNK);
+            while (reader.hasNext()) {
+                chunk.add(reader.next()); // Streamed, the listing is never held in memory
+                if (chunk.size() == INDEX_CHUNK) {
+                    duplicates.addAll(chunk);
+                    chunk.clear();
+                }
+            }
+            duplicates.addAll(chunk);
+        } catch (IOException | RuntimeException e) { // The stream reader reports read errors unchecked
+            System.err.println("Duplicate check limited to the posts of this batch: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs one command, reporting its outcome in the status line.
+     */
+    private void execute(BatchCommand command, JsonLinesWriter writer) {
+        long started = System.nanoTime();
+        try {
+            try {
+                switch (command.getType()) {
+                    case LIST:
+                        list(command, writer, started);
+                        break;
+                    case STATS:
+                        stats(command, writer, started);
+                        break;
+                    case CREATE:
+                        create(command, writer, started);
+                        break;
+                    case IMPORT:
+                        importFile(command, writer, started);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unhandled command " + command.getType());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(command, writer, started, "interrupted");
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null && !(e instanceof IOException) ? e.getCause() : e;
+                fail(command, writer, started, cause.getMessage() != null ? cause.getMessage() : cause.toString());
+            }
+            writer.flush(); // Make the finished command visible to the consumer of the output
+        } catch (IOException e) {
+            failures.incrementAndGet(); // The output is gone, nothing can be reported anymore
+        }
+    }
+
+    private void list(BatchCommand command, JsonLinesWriter writer, long started) throws IOException, InterruptedException {
+        int count = 0;
+        if (command.getOffset() >= 0) {
+            BlogPage page = apiClient.getBlogPostsPage(command.getOffset(), command.getLimit());
+            if (page == null) {
+                fail(command, writer, started, "listing unavailable");
+                return;
+            }
+            for (BlogPost post : page.getPosts()) {
+                writePost(command, writer, post);
+                count++;
+            }
+        } else {
+            try (BlogPostStreamReader reader = apiClient.streamAllBlogPosts()) {
+                if (reader == null) {
+                    fail(command, writer, started, "listing unavailable");
+                    return;
+                }
+                while (reader.hasNext()) {
+                    writePost(command, writer, reader.next()); // Streamed, the listing is never held in memory
+                    count++;
+                }
+            }
+        }
+        int posts = count;
+        writer.line(command, g -> {
+            g.writeStringField("status", "ok");
+            g.writeNumberField("count", posts);
+            g.writeNumberField("millis", elapsedMillis(started));
+        });
+    }
+
+    private static void writePost(BatchCommand command, JsonLinesWriter writer, BlogPost post) throws IOException {
+        writer.line(command, g -> g.writeObjectField("post", post));
+    }
+
+    private void stats(BatchCommand command, JsonLinesWriter writer, long started) throws IOException, InterruptedException {
+        Statistics stats = apiClient.getStatistics();
+        if (stats == null) {
+            fail(command, writer, started, "statistics unavailable");
+            return;
+        }
+        writer.line(command, g -> {
+            g.writeStringField("status", "ok");
+            g.writeObjectField("stats", stats);
+            g.writeNumberField("millis", elapsedMillis(started));
+        });
+    }
+
+    private void create(BatchCommand command, JsonLinesWriter writer, long started) throws IOException {
+        int status = apiClient.createNewBlogPostWithStatusAsync(command.getRequest()).join();
+        if (status != 201) {
+            fail(command, writer, started, "rejected by the server with status " + status);
+            return;
+        }
+        writer.line(command, g -> {
+            g.writeStringField("status", "ok");
+            g.writeStringField("title", command.getRequest().getTitle());
+            g.writeNumberField("millis", elapsedMillis(started));
+        });
+    }
+
+    private void importFile(BatchCommand command, JsonLinesWriter writer, long started)
+            throws IOException, InterruptedException {
+        ImportReport report = new BlogImporter(apiClient, importConcurrency).importFile(command.getFile());
+        for (ImportResult result : report.getResults()) {
+            if (result.getStatus() != ImportResult.Status.CREATED) {
+                writer.line(command, g -> {
+                    g.writeNumberField("line", result.getLine());
+                    g.writeStringField("result", result.getStatus().name());
+                    g.writeStringField("title", result.getTitle());
+                    g.writeStringField("message", result.getMessage());
+                });
+            }
+        }
+        int failed = report.count(ImportResult.Status.FAILED) + report.count(ImportResult.Status.INVALID);
+        if (failed > 0 || report.getStopReason() != null) {
+            failures.incrementAndGet();
+        }
+        writer.line(command, g -> {
+            g.writeStringField("status", failed > 0 || report.getStopReason() != null ? "error" : "ok");
+            g.writeNumberField("created", report.count(ImportResult.Status.CREATED));
+            g.writeNumberField("invalid", report.count(ImportResult.Status.INVALID));
+            g.writeNumberField("duplicate", report.count(ImportResult.Status.DUPLICATE));
+            g.writeNumberField("failed", report.count(ImportResult.Status.FAILED));
+            if (report.getStopReason() != null) {
+                g.writeStringField("error", report.getStopReason());
+            }
+            g.writeNumberField("millis", elapsedMillis(started));
+        });
+    }
+
+    private void fail(BatchCommand command, JsonLinesWriter writer, long started, String error) throws IOException {
+        failures.incrementAndGet();
+        writer.line(command, g -> {
+            g.writeStringField("status", "error");
+            g.writeStringField("error", error);
+            g.writeNumberField("millis", elapsedMillis(started));
+        });
+    }
+
+    private static long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+}
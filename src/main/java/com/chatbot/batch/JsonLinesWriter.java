@@ -0,0 +1,90 @@
+package com.chatbot.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes JSON Lines output for several commands running at the same time.
+ * Every line is one JSON object starting with the index and name of its command, so the
+ * lines of concurrent commands can be told apart. Each line is first built in its own token
+ * buffer, so a line that fails halfway is dropped instead of corrupting the output; complete
+ * lines are copied by one generator into a large buffer. Nothing is flushed per line, only by
+ * {@link #flush()}.
+ */
+class JsonLinesWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the fields of a line after the index and command.
+     */
+    @FunctionalInterface
+    interface Fields {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private final JsonGenerator generator;
+    private final ObjectMapper mapper; // Serializes model objects into the token buffers
+
+    /**
+     * Constructor to initialize the writer.
+     * @param out The output, e.g. the standard output; it is closed with the writer.
+     * @param mapper The mapper serializing model objects inside lines.
+     * @throws IOException If the generator cannot be created.
+     */
+    JsonLinesWriter(OutputStream out, ObjectMapper mapper) throws IOException {
+        this.mapper = mapper;
+        this.generator = mapper.getFactory().createGenerator(new BufferedOutputStream(out, BUFFER_SIZE));
+        this.generator.setRootValueSeparator(null); // Lines are separated by the newline written after each object
+        this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    /**
+     * Writes one line.
+     * @param command The command the line belongs to.
+     * @param fields Writes the remaining fields of the object.
+     * @throws IOException If writing fails.
+     */
+    void line(BatchCommand command, Fields fields) throws IOException {
+        line(command.getIndex(), command.getName(), fields);
+    }
+
+    /**
+     * Writes one line.
+     * @param index The index of the command, -1 for lines about the whole batch.
+     * @param name The name of the command.
+     * @param fields Writes the remaining fields of the object.
+     * @throws IOException If writing fails.
+     */
+    void line(int index, String name, Fields fields) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(mapper, false);
+        buffer.writeStartObject();
+        buffer.writeNumberField("index", index);
+        buffer.writeStringField("command", name);
+        fields.write(buffer);
+        buffer.writeEndObject();
+        synchronized (this) {
+            buffer.serialize(generator);
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Writes the buffered lines to the output, e.g. when a command has finished.
+     * @throws IOException If writing fails.
+     */
+    synchronized void flush() throws IOException {
+        generator.flush();
+        ((OutputStream) generator.getOutputTarget()).flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        generator.close();
+    }
+}
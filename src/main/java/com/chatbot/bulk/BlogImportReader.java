@@ -0,0 +1,199 @@
+package com.chatbot.bulk;
+
+import com.chatbot.model.NewBlogPostRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sequential reader for bulk import files.
+ * Supports JSON Lines (one {"title","content","author"} object per line) and CSV.
+ * A CSV file may start with a header naming the columns; otherwise the columns are
+ * expected in the order title, content, author. Quoted CSV fields may contain commas,
+ * doubled quotes and line breaks. The file is read record by record, so its size
+ * does not affect memory usage.
+ */
+public class BlogImportReader implements AutoCloseable {
+    private final BufferedReader reader; // Buffered reader over the import file
+    private final boolean csv;           // True for CSV input, false for JSON Lines
+    private final ObjectMapper objectMapper = new ObjectMapper(); // Parser for JSON Lines records
+    private int titleColumn = 0;         // CSV column index of the title
+    private int contentColumn = 1;       // CSV column index of the content
+    private int authorColumn = 2;        // CSV column index of the author
+    private int line;                    // Number of the last line read
+    private int recordStart;             // Line number where the last CSV record started
+    private boolean headerChecked;       // True once the first CSV record has been inspected
+
+    /**
+     * Constructor to open an import file. The format is chosen by the file extension:
+     * ".csv" files are read as CSV, everything else as JSON Lines.
+     * @param file The path of the import file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public BlogImportReader(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.csv = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    /**
+     * Reads the next record of the file.
+     * @return The next record, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public Record next() throws IOException {
+        return csv ? nextCsv() : nextJson();
+    }
+
+    private Record nextJson() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank()); // Skip empty lines between records
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            return new Record(line, new NewBlogPostRequest(
+                    node.path("title").asText(""), node.path("content").asText(""), node.path("author").asText("")), null);
+        } catch (JsonProcessingException e) {
+            return new Record(line, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Record nextCsv() throws IOException {
+        List<String> fields = readCsvFields();
+        if (fields == null) {
+            return null;
+        }
+        if (!headerChecked) {
+            headerChecked = true;
+            if (applyHeader(fields)) {
+                return nextCsv(); // The first record was the header, read the first data record
+            }
+        }
+        int needed = Math.max(titleColumn, Math.max(contentColumn, authorColumn)) + 1;
+        if (fields.size() < needed) {
+            return new Record(recordStart, null, "Expected " + needed + " columns but found " + fields.size());
+        }
+        return new Record(recordStart, new NewBlogPostRequest(
+                fields.get(titleColumn), fields.get(contentColumn), fields.get(authorColumn)), null);
+    }
+
+    /**
+     * Uses the record as a header if it names the title, content and author columns.
+     * @return true if the record was a header.
+     */
+    private boolean applyHeader(List<String> fields) {
+        List<String> names = new ArrayList<>();
+        for (String field : fields) {
+            names.add(field.trim().toLowerCase(Locale.ROOT));
+        }
+        if (!names.contains("title") || !names.contains("content") || !names.contains("author")) {
+            return false;
+        }
+        titleColumn = names.indexOf("title");
+        contentColumn = names.indexOf("content");
+        authorColumn = names.indexOf("author");
+        return true;
+    }
+
+    /**
+     * Reads one CSV record, which may span several lines if a quoted field contains line breaks.
+     * @return The fields of the record, or null at the end of the file.
+     */
+    private List<String> readCsvFields() throws IOException {
+        String text = reader.readLine();
+        while (text != null && text.isBlank()) {
+            line++;
+            text = reader.readLine(); // Skip empty lines between records
+        }
+        if (text == null) {
+            return null;
+        }
+        line++;
+        recordStart = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break; // End of the record
+                }
+                String continuation = reader.readLine(); // Quoted field continues on the next line
+                if (continuation == null) {
+                    break; // Unterminated quote at the end of the file, keep what we have
+                }
+                line++;
+                field.append('\n');
+                text = continuation;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                    field.append('"'); // Escaped quote inside a quoted field
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * A single record of the import file: either a parsed request or a parse error.
+     */
+    public static class Record {
+        private final int line;                  // Line number where the record starts
+        private final NewBlogPostRequest request; // Parsed request, null if the record is malformed
+        private final String error;              // Parse error, null if the record is well-formed
+
+        Record(int line, NewBlogPostRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public NewBlogPostRequest getRequest() {
+            return request;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
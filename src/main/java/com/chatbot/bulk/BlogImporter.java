@@ -0,0 +1,165 @@
+package com.chatbot.bulk;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.DuplicatePostException;
+import com.chatbot.model.NewBlogPostRequest;
+import com.chatbot.model.Statistics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import pipeline for blog posts.
+ * Records are parsed and validated on the calling thread and posted with
+ * {@link ApiClient#createNewBlogPostAsync(NewBlogPostRequest, boolean)}.
+ * At most {@code maxInFlight} requests are outstanding at any time; when that limit
+ * is reached, reading the file pauses until a request completes (backpressure).
+ * The import stops early once the post quota reported by the statistics endpoint is used up.
+ */
+public class BlogImporter {
+    private static final int UNLIMITED = Integer.MAX_VALUE; // Quota value used when the statistics are unavailable
+
+    private final ApiClient apiClient; // API client used for the quota check and the POST requests
+    private final int maxInFlight;     // Maximum number of concurrent POST requests
+
+    /**
+     * Constructor to initialize the BlogImporter.
+     * @param apiClient The API client to create the posts with.
+     * @param maxInFlight The maximum number of POST requests in flight at once (at least 1).
+     */
+    public BlogImporter(ApiClient apiClient, int maxInFlight) {
+        this.apiClient = apiClient;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * Imports all records of a JSON Lines or CSV file.
+     *
+     * @param file The path of the import file.
+     * @return An {@link ImportReport} with the per-record results and the throughput.
+     * @throws IOException If the file cannot be read or the quota cannot be checked.
+     * @throws InterruptedException If the import is interrupted while waiting for requests.
+     */
+    public ImportReport importFile(Path file) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ConcurrentLinkedQueue<ImportResult> results = new ConcurrentLinkedQueue<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        // Remaining quota, decremented before each POST and given back if the POST fails
+        AtomicInteger quota = new AtomicInteger(fetchQuota());
+        String stopReason = null;
+
+        try (BlogImportReader reader = new BlogImportReader(file)) {
+            BlogImportReader.Record record;
+            while ((record = reader.next()) != null) {
+                // Parse and validate
+                String error = record.getError() != null ? record.getError() : validate(record.getRequest());
+                if (error != null) {
+                    String title = record.getRequest() != null ? record.getRequest().getTitle() : null;
+                    results.add(new ImportResult(record.getLine(), title, ImportResult.Status.INVALID, error));
+                    continue;
+                }
+
+                inFlight.acquire(); // Backpressure: wait until a request slot is free
+                if (!reserveQuota(quota)) {
+                    // Outstanding requests may still fail and give their quota back, wait for them first
+                    inFlight.release();
+                    inFlight.acquire(maxInFlight);
+                    inFlight.release(maxInFlight);
+                    if (!reserveQuota(quota)) {
+                        stopReason = "post quota exhausted before line " + record.getLine();
+                        break;
+                    }
+                    inFlight.acquire();
+                }
+                submit(record, quota, inFlight, results);
+            }
+        } finally {
+            inFlight.acquire(maxInFlight); // Wait for all outstanding requests
+            inFlight.release(maxInFlight);
+        }
+        return new ImportReport(List.copyOf(results), System.nanoTime() - start, stopReason);
+    }
+
+    /**
+     * Sends one post asynchronously and records its outcome when the response arrives.
+     */
+    private void submit(BlogImportReader.Record record, AtomicInteger quota, Semaphore inFlight,
+                        ConcurrentLinkedQueue<ImportResult> results) {
+        NewBlogPostRequest request = record.getRequest();
+        apiClient.createNewBlogPostAsync(request, false).whenComplete((created, failure) -> {
+            try {
+                if (failure == null && Boolean.TRUE.equals(created)) {
+                    results.add(new ImportResult(record.getLine(), request.getTitle(), ImportResult.Status.CREATED, null));
+                    return;
+                }
+                releaseQuota(quota); // Nothing was created, give the quota back
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                if (cause instanceof DuplicatePostException) {
+                    results.add(new ImportResult(record.getLine(), request.getTitle(), ImportResult.Status.DUPLICATE,
+                            cause.getMessage()));
+                    return;
+                }
+                String message = cause != null ? cause.toString() : "Rejected by the server";
+                results.add(new ImportResult(record.getLine(), request.getTitle(), ImportResult.Status.FAILED, message));
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Takes one post from the remaining quota.
+     * @return true if a post may be created, false if the quota is used up.
+     */
+    private static boolean reserveQuota(AtomicInteger quota) {
+        int remaining;
+        do {
+            remaining = quota.get();
+            if (remaining == UNLIMITED) {
+                return true;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+        } while (!quota.compareAndSet(remaining, remaining - 1));
+        return true;
+    }
+
+    private static void releaseQuota(AtomicInteger quota) {
+        quota.updateAndGet(remaining -> remaining == UNLIMITED ? UNLIMITED : remaining + 1);
+    }
+
+    /**
+     * Reads the remaining post quota from the statistics endpoint.
+     * @return The number of posts that may still be created, or {@link #UNLIMITED} if unknown.
+     */
+    private int fetchQuota() throws IOException, InterruptedException {
+        Statistics stats = apiClient.getStatistics();
+        if (stats == null) {
+            return UNLIMITED; // Statistics unavailable, let the server enforce its limit
+        }
+        return stats.isCan_add_more() ? Math.max(0, stats.getRemaining_posts()) : 0;
+    }
+
+    /**
+     * Validates a parsed request with the same rules as the interactive create flow.
+     * @param request The parsed request.
+     * @return An error description, or null if the request is valid.
+     */
+    static String validate(NewBlogPostRequest request) {
+        if (isBlank(request.getTitle()) || isBlank(request.getAuthor()) || isBlank(request.getContent())) {
+            return "name, author and content can not be empty";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
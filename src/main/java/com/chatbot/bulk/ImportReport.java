@@ -0,0 +1,84 @@
+package com.chatbot.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Summary of a bulk import run: per-record results, timing and the reason
+ * the import stopped early, if it did.
+ */
+public class ImportReport {
+    private final List<ImportResult> results; // Per-record results, ordered by line number
+    private final long elapsedNanos;          // Wall-clock duration of the import
+    private final String stopReason;          // Why the import stopped before the end of the file, or null
+
+    /**
+     * Constructor to initialize an ImportReport object.
+     * @param results The per-record results in any order.
+     * @param elapsedNanos The duration of the import in nanoseconds.
+     * @param stopReason The reason the import stopped early, or null if the whole file was processed.
+     */
+    public ImportReport(List<ImportResult> results, long elapsedNanos, String stopReason) {
+        List<ImportResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingInt(ImportResult::getLine));
+        this.results = Collections.unmodifiableList(sorted);
+        this.elapsedNanos = elapsedNanos;
+        this.stopReason = stopReason;
+    }
+
+    public List<ImportResult> getResults() {
+        return results;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Counts the records with the given outcome.
+     * @param status The outcome to count.
+     * @return The number of records with that outcome.
+     */
+    public int count(ImportResult.Status status) {
+        int count = 0;
+        for (ImportResult result : results) {
+            if (result.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of records sent to the server per second.
+     * @return The request throughput of the import.
+     */
+    public double getThroughput() {
+        int sent = count(ImportResult.Status.CREATED) + count(ImportResult.Status.FAILED);
+        return elapsedNanos > 0 ? sent * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    /**
+     * Provides a formatted summary of the import.
+     * This is useful for printing the import report to the console.
+     * @return A string containing the counts, the duration and the throughput.
+     */
+    @Override
+    public String toString() {
+        return "Import Report:\n" +
+                "  Records: " + results.size() + "\n" +
+                "  Created: " + count(ImportResult.Status.CREATED) + "\n" +
+                "  Invalid: " + count(ImportResult.Status.INVALID) + "\n" +
+                "  Duplicates: " + count(ImportResult.Status.DUPLICATE) + "\n" +
+                "  Failed: " + count(ImportResult.Status.FAILED) + "\n" +
+                "  Duration: " + String.format("%.2f", elapsedNanos / 1_000_000_000.0) + " s\n" +
+                "  Throughput: " + String.format("%.1f", getThroughput()) + " requests/s" +
+                (stopReason != null ? "\n  Stopped early: " + stopReason : "");
+    }
+}
@@ -0,0 +1,61 @@
+package com.chatbot.bulk;
+
+/**
+ * Outcome of importing a single record of a bulk import file.
+ */
+public class ImportResult {
+    /**
+     * Possible outcomes of a single import record.
+     */
+    public enum Status {
+        CREATED,   // The post was created on the server (HTTP 201)
+        INVALID,   // The record could not be parsed or failed validation, nothing was sent
+        DUPLICATE, // The post is nearly the same as a known post, nothing was sent
+        FAILED     // The server rejected the post or the request failed
+    }
+
+    private final int line;        // Line number of the record in the import file
+    private final String title;    // Title of the post, null if the record could not be parsed
+    private final Status status;   // Outcome of the record
+    private final String message;  // Error description, null for created posts
+
+    /**
+     * Constructor to initialize an ImportResult object.
+     * @param line The line number of the record in the import file.
+     * @param title The title of the post, or null if unknown.
+     * @param status The outcome of the record.
+     * @param message The error description, or null on success.
+     */
+    public ImportResult(int line, String title, Status status, String message) {
+        this.line = line;
+        this.title = title;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Provides a one-line representation of the result.
+     * @return A string containing the line number, status, title and error message.
+     */
+    @Override
+    public String toString() {
+        return "Line " + line + ": " + status + (title != null ? " \"" + title + "\"" : "")
+                + (message != null ? " - " + message : "");
+    }
+}
@@ -2,6 +2,9 @@ package com.chatbot.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -42,12 +45,34 @@ public class AppConfig {
     }
 
     /**
-     * Returns the base URL for the REST API.
+     * Returns the base URL for the REST API. With several backends this is the primary one,
+     * which receives all writes.
      *
-     * @return The API base URL read from config or default.
+     * @return The URL read from "api.primary.url", otherwise the first URL of "api.base.url".
      */
     public String getApiBaseUrl() {
-        return properties.getProperty("api.base.url");
+        String primary = properties.getProperty("api.primary.url");
+        if (primary != null && !primary.isBlank()) {
+            return primary.trim();
+        }
+        List<String> urls = getApiBaseUrls();
+        return urls.isEmpty() ? null : urls.get(0);
+    }
+
+    /**
+     * Returns the base URLs of all equivalent backends of the REST API.
+     *
+     * @return The comma-separated URLs of "api.base.url", usually a single one.
+     */
+    public List<String> getApiBaseUrls() {
+        List<String> urls = new ArrayList<>();
+        String value = properties.getProperty("api.base.url", "");
+        for (String url : value.split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        return urls;
     }
 
     /**
@@ -58,5 +83,538 @@ public class AppConfig {
     public String getBotName() {
         return properties.getProperty("bot.name");
     }
-}
 
+    /**
+     * Returns whether asynchronous API calls should run on virtual threads
+     * instead of the HttpClient's default executor.
+     *
+     * @return true unless "api.virtual.threads" is set to false in the config.
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.virtual.threads", "true"));
+    }
+
+    /**
+     * Returns whether GET responses of the API should be cached in memory.
+     *
+     * @return true unless "cache.enabled" is set to false in the config.
+     */
+    public boolean isCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("cache.enabled", "true"));
+    }
+
+    /**
+     * Returns how long a cached response of an endpoint stays fresh
+     * before it is revalidated with the server.
+     *
+     * @param endpoint The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @return The TTL in milliseconds read from "cache.ttl.{endpoint}.ms", by default
+     *         10 seconds for "stats", which change with every new post, and 30 seconds otherwise.
+     */
+    public long getCacheTtlMillis(String endpoint) {
+        return getLongProperty("cache.ttl." + endpoint + ".ms", "stats".equals(endpoint) ? 10_000L : 30_000L);
+    }
+
+    /**
+     * Returns the maximum total size of the cached response bodies.
+     *
+     * @return The size bound in bytes read from "cache.max.bytes", 8 MiB by default.
+     */
+    public long getCacheMaxBytes() {
+        return getLongProperty("cache.max.bytes", 8L * 1024 * 1024);
+    }
+
+    /**
+     * Returns how many POST requests a bulk import may have in flight at once.
+     *
+     * @return The limit read from "import.concurrency", 8 by default.
+     */
+    public int getImportConcurrency() {
+        return (int) getLongProperty("import.concurrency", 8);
+    }
+
+    /**
+     * Returns how many blog posts are shown per page when browsing the listing.
+     *
+     * @return The page size read from "page.size", 10 by default.
+     */
+    public int getPageSize() {
+        return (int) Math.max(1, getLongProperty("page.size", 10));
+    }
+
+    /**
+     * Returns whether the adaptive concurrency limiter of the API client is enabled.
+     *
+     * @return true unless "limiter.enabled" is set to false in the config.
+     */
+    public boolean isLimiterEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("limiter.enabled", "true"));
+    }
+
+    /**
+     * Returns the number of concurrent requests the limiter starts with.
+     *
+     * @return The value of "limiter.initial", 10 by default.
+     */
+    public int getLimiterInitial() {
+        return (int) getLongProperty("limiter.initial", 10);
+    }
+
+    /**
+     * Returns the lowest concurrency limit the limiter may reduce to.
+     *
+     * @return The value of "limiter.min", 1 by default.
+     */
+    public int getLimiterMin() {
+        return (int) getLongProperty("limiter.min", 1);
+    }
+
+    /**
+     * Returns the highest concurrency limit the limiter may grow to.
+     *
+     * @return The value of "limiter.max", 200 by default.
+     */
+    public int getLimiterMax() {
+        return (int) getLongProperty("limiter.max", 200);
+    }
+
+    /**
+     * Returns the factor the limit is multiplied by when the server is overloaded.
+     *
+     * @return The value of "limiter.backoff", 0.9 by default.
+     */
+    public double getLimiterBackoff() {
+        return getDoubleProperty("limiter.backoff", 0.9);
+    }
+
+    /**
+     * Returns the latency above which a response counts as a sign of overload.
+     *
+     * @return The value of "limiter.latency.threshold.ms", 2 seconds by default.
+     */
+    public long getLimiterLatencyThresholdMillis() {
+        return getLongProperty("limiter.latency.threshold.ms", 2_000L);
+    }
+
+    /**
+     * Returns the maximum request rate for an endpoint.
+     *
+     * @param endpoint The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @return Requests per second read from "rate.{endpoint}.per.second", 0 (no cap) by default.
+     */
+    public double getRateLimit(String endpoint) {
+        return getDoubleProperty("rate." + endpoint + ".per.second", 0);
+    }
+
+    /**
+     * Returns how many requests to an endpoint may be sent at once after an idle period.
+     *
+     * @param endpoint The value of the "api" query parameter (e.g. "blogs" or "stats").
+     * @return The burst size read from "rate.{endpoint}.burst", 5 by default.
+     */
+    public int getRateBurst(String endpoint) {
+        return (int) getLongProperty("rate." + endpoint + ".burst", 5);
+    }
+
+    /**
+     * Returns how many times an idempotent GET request is attempted in total.
+     *
+     * @return The value of "retry.max.attempts", 3 by default; 1 disables retries.
+     */
+    public int getRetryMaxAttempts() {
+        return (int) getLongProperty("retry.max.attempts", 3);
+    }
+
+    /**
+     * Returns the upper bound of the jittered delay before the first retry.
+     *
+     * @return The value of "retry.base.delay.ms", 100 milliseconds by default.
+     */
+    public long getRetryBaseDelayMillis() {
+        return getLongProperty("retry.base.delay.ms", 100L);
+    }
+
+    /**
+     * Returns the largest upper bound of the jittered retry delay.
+     *
+     * @return The value of "retry.max.delay.ms", 2 seconds by default.
+     */
+    public long getRetryMaxDelayMillis() {
+        return getLongProperty("retry.max.delay.ms", 2_000L);
+    }
+
+    /**
+     * Returns whether the circuit breaker of the API client is enabled.
+     *
+     * @return true unless "breaker.enabled" is set to false in the config.
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("breaker.enabled", "true"));
+    }
+
+    /**
+     * Returns the number of consecutive failures that opens the circuit breaker.
+     *
+     * @return The value of "breaker.failure.threshold", 5 by default.
+     */
+    public int getCircuitBreakerFailureThreshold() {
+        return (int) getLongProperty("breaker.failure.threshold", 5);
+    }
+
+    /**
+     * Returns how long the circuit breaker stays open before it lets a probe request through.
+     *
+     * @return The value of "breaker.open.ms", 10 seconds by default.
+     */
+    public long getCircuitBreakerOpenMillis() {
+        return getLongProperty("breaker.open.ms", 10_000L);
+    }
+
+    /**
+     * Returns whether slow GET requests are hedged with a second request.
+     *
+     * @return true if "hedge.enabled" is set to true in the config, false by default.
+     */
+    public boolean isHedgingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("hedge.enabled", "false"));
+    }
+
+    /**
+     * Returns the smallest delay before a hedge request is sent.
+     *
+     * @return The value of "hedge.min.delay.ms", 50 milliseconds by default.
+     */
+    public long getHedgeMinDelayMillis() {
+        return getLongProperty("hedge.min.delay.ms", 50L);
+    }
+
+    /**
+     * Returns the latency percentile after which a hedge request is sent.
+     *
+     * @return The value of "hedge.percentile", 95 by default.
+     */
+    public double getHedgePercentile() {
+        return getDoubleProperty("hedge.percentile", 95);
+    }
+
+    /**
+     * Returns how many consecutive failed requests eject a backend when several are configured.
+     *
+     * @return The count read from "backend.eject.failures", 3 by default.
+     */
+    public int getBackendEjectFailures() {
+        return (int) Math.max(1, getLongProperty("backend.eject.failures", 3));
+    }
+
+    /**
+     * Returns how long a failing backend is ejected the first time.
+     *
+     * @return The period in milliseconds read from "backend.eject.ms", 10 s by default.
+     */
+    public long getBackendEjectMillis() {
+        return Math.max(0, getLongProperty("backend.eject.ms", 10000));
+    }
+
+    /**
+     * Returns the time constant of the latency average used to balance requests over backends.
+     *
+     * @return The time in milliseconds read from "backend.latency.decay.ms", 10 s by default.
+     */
+    public long getBackendLatencyDecayMillis() {
+        return Math.max(1, getLongProperty("backend.latency.decay.ms", 10000));
+    }
+
+    /**
+     * Returns whether concurrent identical GET requests of the API client share one request.
+     *
+     * @return true unless "coalescing.enabled" is set to false in the config.
+     */
+    public boolean isCoalescingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("coalescing.enabled", "true"));
+    }
+
+    /**
+     * Returns how long the result of a coalesced GET request is shared after it completed.
+     *
+     * @return The window in milliseconds read from "coalescing.window.ms", 0 (no window) by default.
+     */
+    public long getCoalescingWindowMillis() {
+        return Math.max(0, getLongProperty("coalescing.window.ms", 0));
+    }
+
+    /**
+     * Returns whether the API client asks for gzip or deflate compressed responses.
+     *
+     * @return true unless "compression.responses.enabled" is set to false in the config.
+     */
+    public boolean isResponseCompressionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("compression.responses.enabled", "true"));
+    }
+
+    /**
+     * Returns whether the API client sends large POST bodies gzip compressed.
+     *
+     * @return true if "compression.requests.enabled" is set to true in the config, false by default.
+     */
+    public boolean isRequestCompressionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("compression.requests.enabled", "false"));
+    }
+
+    /**
+     * Returns the smallest POST body that is sent compressed when request compression is enabled.
+     *
+     * @return The size read from "compression.requests.min.bytes", 1024 bytes by default.
+     */
+    public int getRequestCompressionMinBytes() {
+        return (int) Math.max(0, getLongProperty("compression.requests.min.bytes", 1024));
+    }
+
+    /**
+     * Returns where the local snapshot of blog posts is stored.
+     *
+     * @return The path read from "snapshot.path", or ".blogbot/blogs.snapshot" in the user's home directory by default.
+     */
+    public Path getSnapshotPath() {
+        String path = properties.getProperty("snapshot.path");
+        if (path == null || path.isBlank()) {
+            return Path.of(System.getProperty("user.home"), ".blogbot", "blogs.snapshot");
+        }
+        return Path.of(path.trim());
+    }
+
+    /**
+     * Returns whether new posts are checked for near-duplicates of known posts before they are sent.
+     *
+     * @return true unless "dedup.enabled" is set to false in the config.
+     */
+    public boolean isDuplicateCheckEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("dedup.enabled", "true"));
+    }
+
+    /**
+     * Returns the estimated similarity of title and content from which a new post counts as a duplicate.
+     *
+     * @return The value of "dedup.threshold" between 0 and 1, 0.85 by default.
+     */
+    public double getDuplicateThreshold() {
+        return Math.min(1, Math.max(0, getDoubleProperty("dedup.threshold", 0.85)));
+    }
+
+    /**
+     * Returns how many authors the statistics screen ranks by their number of posts.
+     *
+     * @return The value of "analytics.top.authors", 10 by default.
+     */
+    public int getAnalyticsTopAuthors() {
+        return (int) Math.max(0, getLongProperty("analytics.top.authors", 10));
+    }
+
+    /**
+     * Returns how blog posts are shown on the console.
+     *
+     * @return "table" if "console.view" is set to table in the config, "full" by default.
+     */
+    public String getConsoleView() {
+        return properties.getProperty("console.view", "full").trim().toLowerCase();
+    }
+
+    /**
+     * Returns how many characters of a post's content the console shows.
+     *
+     * @return The value of "console.preview.length", 200 by default; 0 shows the complete content.
+     */
+    public int getConsolePreviewLength() {
+        return (int) Math.max(0, getLongProperty("console.preview.length", 200));
+    }
+
+    /**
+     * Returns the number of lines after which console output pauses.
+     *
+     * @return The value of "console.height", or -1 by default to use the terminal height; 0 never pauses.
+     */
+    public int getConsoleHeight() {
+        return (int) Math.max(-1, getLongProperty("console.height", -1));
+    }
+
+    /**
+     * Returns the number of characters per console line.
+     *
+     * @return The value of "console.width", or -1 by default to use the terminal width.
+     */
+    public int getConsoleWidth() {
+        return (int) Math.max(-1, getLongProperty("console.width", -1));
+    }
+
+    /**
+     * Returns whether new blog posts are journaled locally and created in the background.
+     *
+     * @return true if "writebehind.enabled" is set to true in the config, false by default.
+     */
+    public boolean isWriteBehindEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("writebehind.enabled", "false"));
+    }
+
+    /**
+     * Returns where the journal of blog posts waiting to be created is stored.
+     *
+     * @return The path read from "writebehind.journal.path", or ".blogbot/posts.journal" in the user's home directory by default.
+     */
+    public Path getWriteBehindJournalPath() {
+        String path = properties.getProperty("writebehind.journal.path");
+        if (path == null || path.isBlank()) {
+            return Path.of(System.getProperty("user.home"), ".blogbot", "posts.journal");
+        }
+        return Path.of(path.trim());
+    }
+
+    /**
+     * Returns how many journaled posts are sent concurrently in one background round.
+     *
+     * @return The value of "writebehind.batch.size", 16 by default.
+     */
+    public int getWriteBehindBatchSize() {
+        return (int) Math.max(1, getLongProperty("writebehind.batch.size", 16));
+    }
+
+    /**
+     * Returns the upper bound of the jittered delay after the first failed background round.
+     *
+     * @return The value of "writebehind.retry.base.delay.ms", 1 second by default.
+     */
+    public long getWriteBehindRetryBaseDelayMillis() {
+        return Math.max(1, getLongProperty("writebehind.retry.base.delay.ms", 1_000L));
+    }
+
+    /**
+     * Returns the largest upper bound of the jittered delay between failed background rounds.
+     *
+     * @return The value of "writebehind.retry.max.delay.ms", 60 seconds by default.
+     */
+    public long getWriteBehindRetryMaxDelayMillis() {
+        return Math.max(1, getLongProperty("writebehind.retry.max.delay.ms", 60_000L));
+    }
+
+    /**
+     * Returns whether the menu is shown before the API client is ready: the overview is skipped,
+     * the client warms up in the background and JMX registration is deferred.
+     *
+     * @return true if "startup.fast" is set to true in the config, false by default.
+     */
+    public boolean isFastStartupEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("startup.fast", "false"));
+    }
+
+    /**
+     * Returns whether the time from JVM start to the first prompt and to the first response is printed.
+     *
+     * @return true if "startup.timing" is set to true in the config, false by default.
+     */
+    public boolean isStartupTimingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("startup.timing", "false"));
+    }
+
+    /**
+     * Returns the TCP port of the multi-session server mode.
+     *
+     * @return The value of "server.port", 7070 by default.
+     */
+    public int getServerPort() {
+        return (int) Math.max(0, getLongProperty("server.port", 7070));
+    }
+
+    /**
+     * Returns how many sessions the server mode holds at the same time.
+     *
+     * @return The value of "server.max.sessions", 1000 by default.
+     */
+    public int getServerMaxSessions() {
+        return (int) Math.max(1, getLongProperty("server.max.sessions", 1000));
+    }
+
+    /**
+     * Returns how long a server session may wait for input before it is closed.
+     *
+     * @return The value of "server.idle.timeout.seconds" in milliseconds, 10 minutes by default; 0 disables the timeout.
+     */
+    public int getServerIdleTimeoutMillis() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, getLongProperty("server.idle.timeout.seconds", 600)) * 1000);
+    }
+
+    /**
+     * Returns whether the in-memory copies of the blog posts (local copy, search and duplicate index)
+     * store contents as UTF-8 bytes.
+     *
+     * @return true if "store.utf8.content" is set to true in the config, false by default.
+     */
+    public boolean isStoreUtf8Content() {
+        return Boolean.parseBoolean(properties.getProperty("store.utf8.content", "false"));
+    }
+
+    /**
+     * Returns whether the request metrics of the API client are published as JMX MBeans.
+     *
+     * @return true unless "metrics.jmx.enabled" is set to false in the config.
+     */
+    public boolean isMetricsJmxEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("metrics.jmx.enabled", "true"));
+    }
+
+    /**
+     * Returns the file the request metrics are periodically written to.
+     *
+     * @return The path read from "metrics.export.path", or null if the metrics are not exported.
+     */
+    public Path getMetricsExportPath() {
+        String path = properties.getProperty("metrics.export.path");
+        return path == null || path.isBlank() ? null : Path.of(path.trim());
+    }
+
+    /**
+     * Returns how often the request metrics are written to the export file.
+     *
+     * @return The period in milliseconds, read in seconds from "metrics.export.period.seconds", 60 s by default.
+     */
+    public long getMetricsExportPeriodMillis() {
+        return Math.max(1, getLongProperty("metrics.export.period.seconds", 60)) * 1000;
+    }
+
+    /**
+     * Reads a numeric property, falling back to a default if it is missing or malformed.
+     *
+     * @param key The property name.
+     * @param defaultValue The value used if the property is missing or not a number.
+     * @return The property value or the default.
+     */
+    private long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            System.err.println("Invalid value for '" + key + "': " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads a decimal property, falling back to a default if it is missing or malformed.
+     *
+     * @param key The property name.
+     * @param defaultValue The value used if the property is missing or not a number.
+     * @return The property value or the default.
+     */
+    private double getDoubleProperty(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            System.err.println("Invalid value for '" + key + "': " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.chatbot.console;
+
+import com.chatbot.model.BlogPost;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Renders blog posts to the console in large writes instead of one {@code println} per post.
+ * Posts are appended field by field to a text buffer, encoded into a byte buffer and written
+ * with one call per screen; both buffers are reused for the whole session, and no string is
+ * built per post. Contents are cut to a preview length while they are appended.
+ *
+ * Two views are available: the full view with one block per post, like {@link BlogPost#toString()},
+ * and a compact table with one line per post. If a screen height is set, output pauses after
+ * each screen and asks whether to continue.
+ */
+public class PostRenderer {
+    private static final int FLUSH_CHARS = 32 * 1024;   // Text written at once when no pause comes earlier
+    private static final String SEPARATOR = "------------------------------------";
+    private static final String MORE_PROMPT = "-- More: [Enter] continue, [q] stop -- ";
+    private static final int ID_WIDTH = 6;
+    private static final int TITLE_WIDTH = 30;
+    private static final int AUTHOR_WIDTH = 16;
+    private static final int CREATED_WIDTH = 19;        // "yyyy-MM-dd HH:mm:ss"
+
+    /**
+     * The ways posts can be shown.
+     */
+    public enum View {
+        FULL,  // One block per post with all fields
+        TABLE  // One line per post
+    }
+
+    private final PrintStream out;
+    private final int previewLength;  // Content characters shown, 0 for the complete content
+    private final int height;         // Lines per screen, 0 to never pause
+    private final int width;          // Characters per line, used for the table and to count wrapped lines
+    private final StringBuilder text = new StringBuilder(FLUSH_CHARS + 1024); // Reused for every screen
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(16 * 1024);        // Reused for every write
+    private View view;
+    private int lines; // Lines written since the last pause
+
+    /**
+     * Constructor to initialize a renderer.
+     * @param out The console, usually {@link System#out}.
+     * @param charset The encoding of the console.
+     * @param view The initial view.
+     * @param previewLength The number of content characters shown, 0 for the complete content.
+     * @param height The number of lines per screen, 0 to never pause.
+     * @param width The number of characters per line.
+     */
+    public PostRenderer(PrintStream out, Charset charset, View view, int previewLength, int height, int width) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.view = view;
+        this.previewLength = Math.max(0, previewLength);
+        this.height = Math.max(0, height);
+        this.width = Math.max(40, width);
+    }
+
+    /**
+     * Guesses the height of the terminal from the LINES environment variable.
+     * @return The number of lines, 24 if unknown, or 0 if the output is not a terminal (no paging).
+     */
+    public static int terminalHeight() {
+        if (System.console() == null) {
+            return 0; // Redirected to a file or pipe
+        }
+        return parseEnv("LINES", 24);
+    }
+
+    /**
+     * Guesses the width of the terminal from the COLUMNS environment variable.
+     * @return The number of characters per line, 80 if unknown.
+     */
+    public static int terminalWidth() {
+        return parseEnv("COLUMNS", 80);
+    }
+
+    private static int parseEnv(String name, int fallback) {
+        try {
+            String value = System.getenv(name);
+            return value != null ? Integer.parseInt(value.trim()) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Returns the encoding the JVM uses for the standard output.
+     * @return The charset of {@link System#out}, the default charset if it is not known.
+     */
+    public static Charset consoleCharset() {
+        String name = System.getProperty("sun.stdout.encoding");
+        try {
+            return name != null ? Charset.forName(name) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    public void setView(View view) {
+        this.view = view;
+    }
+
+    /**
+     * Switches between the full view and the table.
+     */
+    public void toggleView() {
+        view = view == View.FULL ? View.TABLE : View.FULL;
+    }
+
+    /**
+     * Renders posts, pausing after every screen.
+     * @param posts The posts to show.
+     * @param input Supplies the answer to the pause prompt, null at the end of the input.
+     * @return false if the user stopped the output at a pause, true if all posts were shown.
+     */
+    public boolean render(List<? extends BlogPost> posts, Supplier<String> input) {
+        lines = 0;
+        if (view == View.TABLE) {
+            appendHeader();
+            if (!endLine(input)) {
+                return false;
+            }
+        }
+        for (BlogPost post : posts) {
+            if (!(view == View.TABLE ? appendRow(post, input) : appendBlock(post, input))) {
+                return false;
+            }
+        }
+        flush();
+        return true;
+    }
+
+    private void appendHeader() {
+        cell("ID", ID_WIDTH);
+        cell("Title", TITLE_WIDTH);
+        cell("Author", AUTHOR_WIDTH);
+        cell("Created at", CREATED_WIDTH);
+        text.append("Content");
+    }
+
+    private boolean appendRow(BlogPost post, Supplier<String> input) {
+        cell(post.getId(), ID_WIDTH);
+        cell(post.getTitle(), TITLE_WIDTH);
+        cell(post.getAuthor(), AUTHOR_WIDTH);
+        cell(post.getCreated_at(), CREATED_WIDTH);
+        // The content fills the rest of the line, so a row never wraps
+        int room = width - 1 - (ID_WIDTH + TITLE_WIDTH + AUTHOR_WIDTH + CREATED_WIDTH + 4);
+        appendPreview(singleLine(post.getContent()), Math.max(1, room), false);
+        return endLine(input);
+    }
+
+    private boolean appendBlock(BlogPost post, Supplier<String> input) {
+        text.append("ID: ").append(post.getId());
+        if (!endLine(input)) {
+            return false;
+        }
+        text.append("Title: ").append(post.getTitle());
+        if (!endLine(input)) {
+            return false;
+        }
+        text.append("Author: ").append(post.getAuthor());
+        if (!endLine(input)) {
+            return false;
+        }
+        text.append("Content: ");
+        appendPreview(post.getContent(), previewLength, true);
+        if (!endLine(input)) {
+            return false;
+        }
+        text.append("Created at: ").append(post.getCreated_at());
+        if (!endLine(input)) {
+            return false;
+        }
+        text.append(SEPARATOR);
+        return endLine(input);
+    }
+
+    /**
+     * Appends a value padded or cut to a column width, followed by a space.
+     */
+    private void cell(String value, int columnWidth) {
+        String shown = value != null ? singleLine(value) : "";
+        if (shown.length() > columnWidth) {
+            text.append(shown, 0, columnWidth - 1).append('…');
+        } else {
+            text.append(shown);
+            for (int i = shown.length(); i < columnWidth; i++) {
+                text.append(' ');
+            }
+        }
+        text.append(' ');
+    }
+
+    /**
+     * Appends the start of a content without copying the rest of it.
+     * @param limit The maximum number of characters, 0 for no limit.
+     * @param showLength Whether a cut content is followed by its full length.
+     */
+    private void appendPreview(String content, int limit, boolean showLength) {
+        if (content == null) {
+            text.append(showLength ? "null" : "");
+        } else if (limit == 0 || content.length() <= limit) {
+            text.append(content);
+        } else {
+            text.append(content, 0, limit - 1).append('…');
+            if (showLength) {
+                text.append(" (").append(content.length()).append(" characters)");
+            }
+        }
+    }
+
+    private static String singleLine(String value) {
+        return value != null && (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0)
+                ? value.replace('\r', ' ').replace('\n', ' ') : value;
+    }
+
+    /**
+     * Ends the current line and pauses if the screen is full.
+     * @return false if the user stopped the output.
+     */
+    private boolean endLine(Supplier<String> input) {
+        int start = text.lastIndexOf("\n") + 1;
+        int length = text.length() - start;
+        text.append('\n');
+        lines += 1 + Math.max(0, length - 1) / width; // Long lines wrap on the terminal
+        if (height > 0 && lines >= height - 1) {
+            text.append(MORE_PROMPT);
+            flush();
+            lines = 0;
+            String answer = input.get();
+            return answer != null && !answer.trim().toLowerCase().startsWith("q");
+        }
+        if (text.length() >= FLUSH_CHARS) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the text buffer and writes it to the console.
+     */
+    private void flush() {
+        if (text.length() == 0) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (true) {
+            boolean overflow = encoder.encode(chars, bytes, true).isOverflow();
+            if (!overflow) {
+                encoder.flush(bytes);
+            }
+            out.write(bytes.array(), 0, bytes.position());
+            bytes.clear();
+            if (!overflow) {
+                break;
+            }
+        }
+        out.flush();
+        text.setLength(0);
+    }
+}
@@ -0,0 +1,154 @@
+package com.chatbot.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request metrics of an API client, one {@link EndpointMetrics} per endpoint.
+ * The metrics can be published as JMX MBeans (domain "com.chatbot") and written
+ * to a text file periodically.
+ */
+public class ClientMetrics {
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final long createdAtMillis = System.currentTimeMillis();
+    private volatile boolean jmxEnabled;          // Register the MBean of every endpoint
+    private ScheduledExecutorService exporter;    // Writes the report file, null if not exporting
+
+    /**
+     * Returns the metrics of an endpoint, creating them on first use.
+     * @param api The value of the "api" query parameter.
+     * @return The metrics of the endpoint.
+     */
+    public EndpointMetrics endpoint(String api) {
+        EndpointMetrics metrics = endpoints.get(api); // No allocation once the endpoint exists
+        if (metrics == null) {
+            metrics = endpoints.computeIfAbsent(api, name -> {
+                EndpointMetrics created = new EndpointMetrics(name);
+                if (jmxEnabled) {
+                    register(created);
+                }
+                return created;
+            });
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of all endpoints used so far.
+     * @return The endpoint metrics.
+     */
+    public Collection<EndpointMetrics> getEndpoints() {
+        return endpoints.values();
+    }
+
+    /**
+     * Publishes the metrics of all current and future endpoints as MBeans,
+     * named com.chatbot:type=ApiClient,endpoint=&lt;api&gt;.
+     */
+    public void registerMBeans() {
+        jmxEnabled = true;
+        for (EndpointMetrics metrics : endpoints.values()) {
+            register(metrics);
+        }
+    }
+
+    private static void register(EndpointMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.chatbot:type=ApiClient,endpoint=" + ObjectName.quote(metrics.getEndpoint()));
+            if (!server.isRegistered(name)) { // Only the first client of a process is published
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts writing the report to a file at a fixed rate, replacing the file each time.
+     * @param file The file to write.
+     * @param periodMillis The time between two exports.
+     */
+    public synchronized void startExport(Path file, long periodMillis) {
+        stopExport();
+        exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-export");
+            thread.setDaemon(true); // Do not keep the application alive
+            return thread;
+        });
+        exporter.scheduleAtFixedRate(() -> {
+            try {
+                export(file);
+            } catch (IOException e) {
+                System.err.println("Could not export metrics: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic export, if it is running.
+     */
+    public synchronized void stopExport() {
+        if (exporter != null) {
+            exporter.shutdownNow();
+            exporter = null;
+        }
+    }
+
+    /**
+     * Writes the report to a file. The file is replaced atomically, so readers never see a partial report.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void export(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, report().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Returns a text report of all endpoints.
+     * @return The report, one block per endpoint.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("API client metrics at ").append(Instant.now())
+                .append(" (since ").append(Instant.ofEpochMilli(createdAtMillis)).append(")\n");
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        names.sort(null);
+        if (names.isEmpty()) {
+            report.append("No requests yet.\n");
+        }
+        for (String name : names) {
+            report.append(endpoints.get(name));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+}
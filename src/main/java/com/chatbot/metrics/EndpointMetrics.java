@@ -0,0 +1,305 @@
+package com.chatbot.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request metrics of one API endpoint: latency histograms overall and per status code,
+ * histograms of the request phases, transferred bytes and in-flight and error counters.
+ *
+ * The phases of a request are the time to the first byte (connecting, sending the request
+ * and waiting for the response headers), reading the body, and decoding the JSON. For
+ * streamed responses the body is read while it is parsed, so their body read time is zero.
+ *
+ * Transferred bytes are counted as they cross the wire. For compressed bodies the sizes
+ * before and after compression are also recorded, from which the compression ratio and
+ * the bytes saved are computed.
+ */
+public class EndpointMetrics implements EndpointMetricsMBean {
+    private static final int MAX_STATUS = 600; // Status codes are below 600
+
+    private final String endpoint;
+    private final LatencyHistogram latency = new LatencyHistogram();         // All completed requests
+    private final AtomicReferenceArray<LatencyHistogram> byStatus = new AtomicReferenceArray<>(MAX_STATUS);
+    private final LatencyHistogram failures = new LatencyHistogram();        // Requests without a response
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram(); // Until the response headers
+    private final LatencyHistogram bodyRead = new LatencyHistogram();        // From the headers to the full body
+    private final LatencyHistogram parse = new LatencyHistogram();           // JSON decoding
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();   // Failed requests and responses with status >= 400
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder responseWireBytes = new LongAdder();    // Compressed responses as received
+    private final LongAdder responseDecodedBytes = new LongAdder(); // The same responses decompressed
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder requestWireBytes = new LongAdder();     // Compressed request bodies as sent
+    private final LongAdder requestPlainBytes = new LongAdder();    // The same bodies before compression
+
+    /**
+     * Constructor to initialize the metrics of an endpoint.
+     * @param endpoint The value of the "api" query parameter (e.g. "blogs" or "stats").
+     */
+    public EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records that a request is being sent.
+     * @param bodyBytes The size of the request body, 0 if it has none or the size is unknown.
+     */
+    public void requestStarted(long bodyBytes) {
+        inFlight.incrementAndGet();
+        requests.increment();
+        if (bodyBytes > 0) {
+            bytesSent.add(bodyBytes);
+        }
+    }
+
+    /**
+     * Records the arrival of the response headers.
+     * @param nanos The time since the request was started.
+     */
+    public void recordTimeToFirstByte(long nanos) {
+        timeToFirstByte.record(nanos);
+    }
+
+    /**
+     * Records a completed request.
+     * @param status The HTTP status code, or -1 if the request failed without a response.
+     * @param totalNanos The time from sending the request to having the complete body.
+     * @param bodyNanos The part of that time spent reading the body.
+     * @param bodyBytes The size of the response body.
+     */
+    public void requestCompleted(int status, long totalNanos, long bodyNanos, long bodyBytes) {
+        inFlight.decrementAndGet();
+        latency.record(totalNanos);
+        if (status < 0) {
+            errors.increment();
+            failures.record(totalNanos);
+            return;
+        }
+        if (status >= 400) {
+            errors.increment();
+        }
+        histogramFor(status).record(totalNanos);
+        bodyRead.record(bodyNanos);
+        if (bodyBytes > 0) {
+            bytesReceived.add(bodyBytes);
+        }
+    }
+
+    /**
+     * Records the time spent decoding a JSON response.
+     * @param nanos The decoding time.
+     */
+    public void recordParse(long nanos) {
+        parse.record(nanos);
+    }
+
+    /**
+     * Records a response body that was received compressed.
+     * @param wireBytes The compressed size.
+     * @param decodedBytes The size after decompression.
+     */
+    public void recordResponseCompression(long wireBytes, long decodedBytes) {
+        compressedResponses.increment();
+        responseWireBytes.add(wireBytes);
+        responseDecodedBytes.add(decodedBytes);
+    }
+
+    /**
+     * Records a request body that was sent compressed.
+     * @param plainBytes The size before compression.
+     * @param wireBytes The compressed size.
+     */
+    public void recordRequestCompression(long plainBytes, long wireBytes) {
+        compressedRequests.increment();
+        requestPlainBytes.add(plainBytes);
+        requestWireBytes.add(wireBytes);
+    }
+
+    private LatencyHistogram histogramFor(int status) {
+        int slot = Math.min(status, MAX_STATUS - 1);
+        LatencyHistogram histogram = byStatus.get(slot);
+        if (histogram == null) {
+            // Only the first response with a status allocates its histogram
+            byStatus.compareAndSet(slot, null, new LatencyHistogram());
+            histogram = byStatus.get(slot);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the latency histogram of one status code.
+     * @param status The HTTP status code.
+     * @return The histogram, or null if no response had that status.
+     */
+    public LatencyHistogram getLatency(int status) {
+        return status >= 0 && status < MAX_STATUS ? byStatus.get(status) : null;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public LatencyHistogram getBodyRead() {
+        return bodyRead;
+    }
+
+    public LatencyHistogram getParse() {
+        return parse;
+    }
+
+    @Override
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    @Override
+    public long getCompressedRequests() {
+        return compressedRequests.sum();
+    }
+
+    @Override
+    public double getResponseCompressionRatio() {
+        return ratio(responseDecodedBytes.sum(), responseWireBytes.sum());
+    }
+
+    @Override
+    public double getRequestCompressionRatio() {
+        return ratio(requestPlainBytes.sum(), requestWireBytes.sum());
+    }
+
+    @Override
+    public long getBytesSavedByCompression() {
+        return responseDecodedBytes.sum() - responseWireBytes.sum() + requestPlainBytes.sum() - requestWireBytes.sum();
+    }
+
+    /**
+     * Returns how many times larger the plain bodies are than the compressed ones, 0 if nothing was compressed.
+     */
+    private static double ratio(long plainBytes, long wireBytes) {
+        return wireBytes > 0 ? (double) plainBytes / wireBytes : 0;
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+        return latency.getMean() / 1e6;
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.getPercentile(50) / 1e6;
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.getPercentile(99) / 1e6;
+    }
+
+    @Override
+    public double getLatencyP999Millis() {
+        return latency.getPercentile(99.9) / 1e6;
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return latency.getMax() / 1e6;
+    }
+
+    @Override
+    public double getTimeToFirstByteP99Millis() {
+        return timeToFirstByte.getPercentile(99) / 1e6;
+    }
+
+    @Override
+    public double getBodyReadP99Millis() {
+        return bodyRead.getPercentile(99) / 1e6;
+    }
+
+    @Override
+    public double getParseP99Millis() {
+        return parse.getPercentile(99) / 1e6;
+    }
+
+    @Override
+    public String getReport() {
+        return toString();
+    }
+
+    /**
+     * Provides a multi-line report of the endpoint.
+     * @return The counters followed by one line per histogram.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("Endpoint ").append(endpoint).append(": ").append(getRequests()).append(" requests, ")
+                .append(getErrors()).append(" errors, ").append(getInFlight()).append(" in flight, ")
+                .append(getBytesReceived()).append(" bytes received, ").append(getBytesSent()).append(" bytes sent\n");
+        if (getCompressedResponses() > 0) {
+            report.append(String.format("  %-12s %d responses, %d -> %d bytes (%.1fx)%n", "compressed",
+                    getCompressedResponses(), responseDecodedBytes.sum(), responseWireBytes.sum(),
+                    getResponseCompressionRatio()));
+        }
+        if (getCompressedRequests() > 0) {
+            report.append(String.format("  %-12s %d requests, %d -> %d bytes (%.1fx)%n", "compressed",
+                    getCompressedRequests(), requestPlainBytes.sum(), requestWireBytes.sum(),
+                    getRequestCompressionRatio()));
+        }
+        if (getCompressedResponses() > 0 || getCompressedRequests() > 0) {
+            report.append(String.format("  %-12s %d bytes%n", "saved", getBytesSavedByCompression()));
+        }
+        report.append(String.format("  %-12s %s%n", "all", latency));
+        for (int status = 0; status < MAX_STATUS; status++) {
+            LatencyHistogram histogram = byStatus.get(status);
+            if (histogram != null) {
+                report.append(String.format("  %-12s %s%n", "status " + status, histogram));
+            }
+        }
+        if (failures.getCount() > 0) {
+            report.append(String.format("  %-12s %s%n", "no response", failures));
+        }
+        report.append(String.format("  %-12s %s%n", "first byte", timeToFirstByte));
+        report.append(String.format("  %-12s %s%n", "body read", bodyRead));
+        report.append(String.format("  %-12s %s%n", "parse", parse));
+        return report.toString();
+    }
+}
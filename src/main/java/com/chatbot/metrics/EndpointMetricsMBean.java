@@ -0,0 +1,64 @@
+package com.chatbot.metrics;
+
+/**
+ * JMX management interface of {@link EndpointMetrics}.
+ * Latencies are in milliseconds.
+ */
+public interface EndpointMetricsMBean {
+
+    String getEndpoint();
+
+    long getRequests();
+
+    long getErrors();
+
+    int getInFlight();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    long getCompressedResponses();
+
+    long getCompressedRequests();
+
+    /**
+     * Returns the decompressed size of the compressed responses divided by their size on the wire.
+     * @return The ratio, or 0 if no response was compressed.
+     */
+    double getResponseCompressionRatio();
+
+    /**
+     * Returns the uncompressed size of the compressed request bodies divided by their size on the wire.
+     * @return The ratio, or 0 if no request was compressed.
+     */
+    double getRequestCompressionRatio();
+
+    /**
+     * Returns the bytes not transferred thanks to compression, in both directions.
+     * @return The bytes saved.
+     */
+    long getBytesSavedByCompression();
+
+    double getLatencyMeanMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyP999Millis();
+
+    double getLatencyMaxMillis();
+
+    double getTimeToFirstByteP99Millis();
+
+    double getBodyReadP99Millis();
+
+    double getParseP99Millis();
+
+    /**
+     * Returns the full text report of the endpoint, including the histogram per status code.
+     * @return The report.
+     */
+    String getReport();
+}
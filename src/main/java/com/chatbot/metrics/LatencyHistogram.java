@@ -0,0 +1,116 @@
+package com.chatbot.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with logarithmic buckets, in the style of HdrHistogram.
+ * Every power of two is split into 32 linear sub-buckets, so a recorded value is
+ * reported with a relative error of at most about 3% over the whole range from
+ * nanoseconds to minutes. Recording only increments counters in a pre-allocated
+ * array and never allocates, so it can be done on every request.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;                 // log2 of the sub-buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;  // Linear sub-buckets per power of two
+    private static final int MAX_EXPONENT = 40;                   // Values up to 2^41 ns (about 36 minutes)
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder(); // Number of recorded values
+    private final LongAdder sum = new LongAdder();   // Sum of recorded values, for the mean
+    private final AtomicLong max = new AtomicLong(); // Largest recorded value
+
+    /**
+     * Records one value.
+     * @param nanos The latency in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the bucket of a value.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value; // Small values have a bucket each
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // Position of the highest set bit
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS; // Next 5 bits
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value that falls into a bucket.
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns a percentile of the recorded values.
+     * @param percentile The percentile, e.g. 99.9.
+     * @return The value in nanoseconds (upper bound of its bucket), or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n > 0 ? (double) sum.sum() / n : 0;
+    }
+
+    /**
+     * Provides a summary of the distribution in milliseconds.
+     * @return A string with count, mean, p50, p99, p99.9 and max.
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.2f p50=%.2f p99=%.2f p99.9=%.2f max=%.2f ms",
+                getCount(), getMean() / 1e6, getPercentile(50) / 1e6, getPercentile(99) / 1e6,
+                getPercentile(99.9) / 1e6, getMax() / 1e6);
+    }
+}
@@ -0,0 +1,335 @@
+package com.chatbot.search;
+
+import com.chatbot.model.BlogPost;
+import com.chatbot.store.CompactBlogStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over blog posts.
+ * Each term maps to a posting list of document numbers and term frequencies stored in
+ * primitive int arrays. Terms are kept in a sorted dictionary, so a query term ending
+ * with '*' matches every term with that prefix. Results are ranked with BM25, where
+ * matches in the title count three times and matches in the author twice as much as
+ * matches in the content. Posts are added incrementally; a post whose id is already
+ * indexed is skipped, so a refreshed listing only costs the new posts. The indexed posts
+ * are kept in a {@link CompactBlogStore}, whose positions are the document numbers, and
+ * rebuilt only for the results.
+ * The index is safe for concurrent searches while posts are being added.
+ */
+public class BlogSearchIndex {
+    private static final int TITLE_WEIGHT = 3;   // Weight of a term occurrence in the title
+    private static final int AUTHOR_WEIGHT = 2;  // Weight of a term occurrence in the author
+    private static final int CONTENT_WEIGHT = 1; // Weight of a term occurrence in the content
+    private static final double K1 = 1.2;        // BM25 term frequency saturation
+    private static final double B = 0.75;        // BM25 document length normalization
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>(); // Term dictionary
+    private final Map<String, Postings> authors = new HashMap<>();        // Normalized author -> documents
+    private final boolean utf8Content;   // Content layout of the document store
+    private CompactBlogStore documents;  // Document number -> post, found by id through the store
+    private int[] lengths = new int[16]; // Weighted term count per document
+    private long totalLength;            // Sum of all document lengths, for the average
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor to initialize an empty index that keeps contents as strings.
+     */
+    public BlogSearchIndex() {
+        this(false);
+    }
+
+    /**
+     * Constructor to initialize an empty index.
+     * @param utf8Content Whether the indexed posts keep their contents as UTF-8 bytes, see {@link CompactBlogStore}.
+     */
+    public BlogSearchIndex(boolean utf8Content) {
+        this.utf8Content = utf8Content;
+        this.documents = new CompactBlogStore(utf8Content);
+    }
+
+    /**
+     * Adds a post to the index, unless a post with the same id is already indexed.
+     * @param post The post to index.
+     * @return true if the post was added, false if it was already indexed.
+     */
+    public boolean add(BlogPost post) {
+        lock.writeLock().lock();
+        try {
+            return addLocked(post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds several posts to the index, skipping those already indexed.
+     * @param posts The posts to index.
+     * @return The number of posts that were added.
+     */
+    public int addAll(Collection<BlogPost> posts) {
+        lock.writeLock().lock();
+        try {
+            int added = 0;
+            for (BlogPost post : posts) {
+                if (addLocked(post)) {
+                    added++;
+                }
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed posts with a complete set, e.g. after a full resync in which posts
+     * may have been deleted. Searches wait for the rebuild instead of seeing a partial index.
+     * @param posts The posts to index.
+     */
+    public void replaceAll(Collection<BlogPost> posts) {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            authors.clear();
+            documents = new CompactBlogStore(utf8Content);
+            lengths = new int[16];
+            totalLength = 0;
+            for (BlogPost post : posts) {
+                addLocked(post);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean addLocked(BlogPost post) {
+        if (documents.indexOf(post.getId()) >= 0) {
+            return false;
+        }
+        int doc = documents.add(post);
+
+        // Count weighted term frequencies of this post
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = countTerms(post.getTitle(), TITLE_WEIGHT, frequencies)
+                + countTerms(post.getAuthor(), AUTHOR_WEIGHT, frequencies)
+                + countTerms(post.getContent(), CONTENT_WEIGHT, frequencies);
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue()[0]);
+        }
+        authors.computeIfAbsent(Tokenizer.normalizeAuthor(post.getAuthor()), author -> new Postings()).add(doc, 1);
+
+        if (doc == lengths.length) {
+            lengths = Arrays.copyOf(lengths, doc * 2);
+        }
+        lengths[doc] = length;
+        totalLength += length;
+        return true;
+    }
+
+    private static int countTerms(String text, int weight, Map<String, int[]> frequencies) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.computeIfAbsent(token, term -> new int[1])[0] += weight;
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * Searches the index.
+     * Query terms ending with '*' match all terms starting with the text before it.
+     * If the query has no terms, all posts of the given author are returned unranked.
+     *
+     * @param query The search terms.
+     * @param author Only return posts by this author (case-insensitive), or null/empty for all authors.
+     * @param limit The maximum number of results.
+     * @return The best matching posts, highest score first.
+     */
+    public List<SearchResult> search(String query, String author, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet allowed = null; // Documents passing the author filter, null if there is no filter
+            if (author != null && !author.isBlank()) {
+                Postings byAuthor = authors.get(Tokenizer.normalizeAuthor(author));
+                if (byAuthor == null) {
+                    return new ArrayList<>();
+                }
+                allowed = byAuthor.toBitSet();
+            }
+
+            List<String> queryTerms = parseQuery(query);
+            if (queryTerms.isEmpty()) {
+                return listAllowed(allowed, limit);
+            }
+
+            double[] scores = new double[documents.size()];
+            BitSet matched = new BitSet(documents.size());
+            double averageLength = documents.size() == 0 ? 1 : Math.max(1, (double) totalLength / documents.size());
+            for (String queryTerm : queryTerms) {
+                for (Postings postings : expand(queryTerm)) {
+                    score(postings, allowed, averageLength, scores, matched);
+                }
+            }
+            return topResults(scores, matched, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a query into terms, keeping a trailing '*' as prefix marker.
+     */
+    private static List<String> parseQuery(String query) {
+        List<String> result = new ArrayList<>();
+        if (query == null) {
+            return result;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = Tokenizer.tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                // Only the last token of a word like "open-sou*" is a prefix
+                result.add(prefix && i == tokens.size() - 1 ? tokens.get(i) + "*" : tokens.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the posting lists matched by a query term: one for an exact term,
+     * all terms with the prefix for a term ending with '*'.
+     */
+    private Collection<Postings> expand(String queryTerm) {
+        if (queryTerm.endsWith("*")) {
+            String prefix = queryTerm.substring(0, queryTerm.length() - 1);
+            return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        }
+        Postings postings = terms.get(queryTerm);
+        return postings == null ? List.of() : List.of(postings);
+    }
+
+    /**
+     * Adds the BM25 contribution of one term to the scores of the documents containing it.
+     */
+    private void score(Postings postings, BitSet allowed, double averageLength, double[] scores, BitSet matched) {
+        int n = documents.size();
+        int df = postings.size;
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            if (allowed != null && !allowed.get(doc)) {
+                continue;
+            }
+            int tf = postings.freqs[i];
+            double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            matched.set(doc);
+        }
+    }
+
+    private List<SearchResult> topResults(double[] scores, BitSet matched, int limit) {
+        // Min-heap of the best documents seen so far, the weakest on top
+        PriorityQueue<Integer> best = new PriorityQueue<>(
+                (a, b) -> scores[a] != scores[b] ? Double.compare(scores[a], scores[b]) : Integer.compare(b, a));
+        for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+            best.add(doc);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        SearchResult[] results = new SearchResult[best.size()];
+        for (int i = results.length - 1; i >= 0; i--) {
+            int doc = best.poll();
+            results[i] = new SearchResult(documents.get(doc), scores[doc]);
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private List<SearchResult> listAllowed(BitSet allowed, int limit) {
+        List<SearchResult> results = new ArrayList<>();
+        if (allowed == null) {
+            return results; // Neither terms nor an author: nothing to search for
+        }
+        for (int doc = allowed.nextSetBit(0); doc >= 0 && results.size() < limit; doc = allowed.nextSetBit(doc + 1)) {
+            results.add(new SearchResult(documents.get(doc), 0));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of indexed posts.
+     * @return The document count.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Describes the memory used by the indexed posts, without the posting lists.
+     * @return The footprint of the document store.
+     */
+    public String getFootprint() {
+        lock.readLock().lock();
+        try {
+            return documents.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct terms in the index.
+     * @return The size of the term dictionary.
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting list of one term: ascending document numbers with their weighted term frequencies.
+     */
+    private static class Postings {
+        private int[] docs = new int[2];
+        private int[] freqs = new int[2];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        BitSet toBitSet() {
+            BitSet bits = new BitSet();
+            for (int i = 0; i < size; i++) {
+                bits.set(docs[i]);
+            }
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package com.chatbot.search;
+
+import com.chatbot.model.BlogPost;
+import com.chatbot.store.CompactBlogStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds posts that are the same or nearly the same as a new one without comparing it to every post.
+ * Title and content are split into overlapping three-word shingles; a MinHash signature of
+ * {@value #HASHES} values estimates the Jaccard similarity of two shingle sets as the share of
+ * equal values. Signatures are cut into {@value #BANDS} bands, and each band is hashed into a
+ * bucket (locality-sensitive hashing), so a lookup only compares the posts sharing a bucket
+ * with the new one; posts with a similarity of 0.85 share a band with a probability above 99%.
+ * Posts are added incrementally; a post whose id is already indexed is skipped. Posts being
+ * created are indexed without an id (pending) until their listed copy replaces them.
+ * The indexed posts are kept in a {@link CompactBlogStore}, whose positions are the document
+ * numbers, and rebuilt only for matches and clusters.
+ * The index is safe for concurrent lookups while posts are being added.
+ */
+public class DuplicateIndex {
+    static final int HASHES = 128;           // Values per signature
+    static final int BANDS = 16;             // Bands per signature
+    static final int ROWS = HASHES / BANDS;  // Values per band
+    private static final int SHINGLE_WORDS = 3;
+    private static final long[] SEEDS = new long[HASHES]; // One hash function per signature value
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_D0C5L); // Fixed, so signatures are stable
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private final double threshold; // Smallest estimated similarity reported as a duplicate
+    private final boolean utf8Content;                          // Content layout of the document store
+    private CompactBlogStore documents;                         // Document number -> post, found by id through the store
+    private final List<int[]> signatures = new ArrayList<>();   // Document number -> signature
+    private final Map<Integer, BlogPost> pendingPosts = new HashMap<>(); // Pending documents -> the posts being created
+    private final Map<Long, Bucket> buckets = new HashMap<>();  // Band hash -> documents
+    private final BitSet removed = new BitSet();                // Documents skipped by lookups
+    private int pending;                                        // Documents without an id that are not removed
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor to initialize an empty index.
+     * @param threshold The estimated Jaccard similarity, between 0 and 1, from which posts count as duplicates.
+     */
+    public DuplicateIndex(double threshold) {
+        this(threshold, false);
+    }
+
+    /**
+     * Constructor to initialize an empty index.
+     * @param threshold The estimated Jaccard similarity, between 0 and 1, from which posts count as duplicates.
+     * @param utf8Content Whether the indexed posts keep their contents as UTF-8 bytes, see {@link CompactBlogStore}.
+     */
+    public DuplicateIndex(double threshold, boolean utf8Content) {
+        this.threshold = Math.min(1, Math.max(0, threshold));
+        this.utf8Content = utf8Content;
+        this.documents = new CompactBlogStore(utf8Content);
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Adds a post to the index, unless a post with the same id is already indexed.
+     * Posts without an id (e.g. posts just created whose id is not known yet) are always added.
+     * @param post The post to index.
+     * @return true if the post was added, false if it was already indexed or has no words.
+     */
+    public boolean add(BlogPost post) {
+        int[] signature = signature(post.getTitle(), post.getContent()); // Computed outside the lock
+        lock.writeLock().lock();
+        try {
+            return addLocked(post, signature);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds several posts to the index, skipping those already indexed.
+     * @param posts The posts to index.
+     * @return The number of posts that were added.
+     */
+    public int addAll(Collection<BlogPost> posts) {
+        List<int[]> computed = new ArrayList<>(posts.size());
+        for (BlogPost post : posts) {
+            computed.add(signature(post.getTitle(), post.getContent()));
+        }
+        lock.writeLock().lock();
+        try {
+            int added = 0;
+            int i = 0;
+            for (BlogPost post : posts) {
+                if (addLocked(post, computed.get(i++))) {
+                    added++;
+                }
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed posts with a complete set, e.g. after a full resync in which posts
+     * may have been deleted. Pending posts are kept, so posts being created stay reserved and
+     * can still be removed if they fail; those already in the set are replaced by their listed copy.
+     * @param posts The posts to index.
+     */
+    public void replaceAll(Collection<BlogPost> posts) {
+        List<int[]> computed = new ArrayList<>(posts.size());
+        for (BlogPost post : posts) {
+            computed.add(signature(post.getTitle(), post.getContent()));
+        }
+        lock.writeLock().lock();
+        try {
+            List<BlogPost> keptPosts = new ArrayList<>();
+            List<int[]> keptSignatures = new ArrayList<>();
+            for (Map.Entry<Integer, BlogPost> entry : new TreeMap<>(pendingPosts).entrySet()) {
+                keptPosts.add(entry.getValue()); // The same objects, so they can still be removed
+                keptSignatures.add(signatures.get(entry.getKey()));
+            }
+            documents = new CompactBlogStore(utf8Content);
+            signatures.clear();
+            pendingPosts.clear();
+            buckets.clear();
+            removed.clear();
+            pending = 0;
+            for (int i = 0; i < keptPosts.size(); i++) {
+                addLocked(keptPosts.get(i), keptSignatures.get(i));
+            }
+            int i = 0;
+            for (BlogPost post : posts) {
+                addLocked(post, computed.get(i++));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean addLocked(BlogPost post, int[] signature) {
+        if (signature == null) {
+            return false;
+        }
+        int known = documents.indexOf(post.getId());
+        if (known >= 0 && !removed.get(known)) {
+            return false;
+        }
+        if (post.getId() != null && pending > 0) {
+            replacePending(signature);
+        }
+        int doc = documents.add(post);
+        if (post.getId() == null) {
+            pendingPosts.put(doc, post);
+            pending++;
+        }
+        signatures.add(signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new Bucket()).add(doc);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the pending post with the same words as a listed post that is being added, so
+     * the created post is not indexed twice and matches name the listed post.
+     */
+    private void replacePending(int[] signature) {
+        Bucket bucket = buckets.get(bandKey(signature, 0)); // Equal signatures share every bucket
+        if (bucket == null) {
+            return;
+        }
+        for (int i = 0; i < bucket.size; i++) {
+            int doc = bucket.docs[i];
+            if (pendingPosts.containsKey(doc) && Arrays.equals(signatures.get(doc), signature)) {
+                removed.set(doc);
+                pendingPosts.remove(doc);
+                pending--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a post about to be created unless it duplicates an indexed post, in one step, so
+     * that of two nearly identical posts sent at the same time only the first one passes.
+     * @param post The new post, usually without an id.
+     * @return The indexed post it duplicates, or null if it was added (or has no words).
+     */
+    public DuplicateMatch addIfNew(BlogPost post) {
+        int[] signature = signature(post.getTitle(), post.getContent());
+        if (signature == null) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            DuplicateMatch match = findLocked(signature);
+            if (match == null) {
+                addLocked(post, signature);
+            }
+            return match;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a post added with {@link #addIfNew(BlogPost)}, e.g. because it could not be created.
+     * A pending post already replaced by its listed copy is not found.
+     * @param post The same post object that was added.
+     * @return true if the post was found and removed.
+     */
+    public boolean remove(BlogPost post) {
+        lock.writeLock().lock();
+        try {
+            int doc = -1;
+            if (post.getId() != null) {
+                doc = documents.indexOf(post.getId());
+            } else {
+                for (Map.Entry<Integer, BlogPost> entry : pendingPosts.entrySet()) {
+                    if (entry.getValue() == post) {
+                        doc = entry.getKey();
+                        break;
+                    }
+                }
+            }
+            if (doc < 0 || removed.get(doc)) {
+                return false;
+            }
+            removed.set(doc);
+            if (pendingPosts.remove(doc) != null) {
+                pending--;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed posts.
+     * @return The number of posts.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size() - removed.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up the indexed post most similar to a new post.
+     * @param title The title of the new post.
+     * @param content The content of the new post.
+     * @return The most similar post if its similarity reaches the threshold, otherwise null.
+     */
+    public DuplicateMatch findDuplicate(String title, String content) {
+        int[] signature = signature(title, content);
+        if (signature == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return findLocked(signature);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compares a signature with the posts sharing a bucket with it.
+     */
+    private DuplicateMatch findLocked(int[] signature) {
+        BitSet compared = (BitSet) removed.clone(); // Removed posts count as compared
+        int best = -1;
+        double bestSimilarity = threshold;
+        for (int band = 0; band < BANDS; band++) {
+            Bucket bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < bucket.size; i++) {
+                int doc = bucket.docs[i];
+                if (compared.get(doc)) {
+                    continue;
+                }
+                compared.set(doc);
+                double similarity = similarity(signature, signatures.get(doc));
+                if (similarity >= bestSimilarity) {
+                    best = doc;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best >= 0 ? new DuplicateMatch(post(best), bestSimilarity) : null;
+    }
+
+    /**
+     * Groups the indexed posts with an id into clusters of near-duplicates. Posts are in the
+     * same cluster if a chain of posts leads from one to the other, each similar to the next
+     * one at least by the threshold. Only posts sharing a bucket are compared.
+     * @return The clusters with at least two posts, the largest first.
+     */
+    public List<List<BlogPost>> clusters() {
+        lock.readLock().lock();
+        try {
+            int[] parent = new int[documents.size()];
+            for (int doc = 0; doc < parent.length; doc++) {
+                parent[doc] = doc;
+            }
+            for (Bucket bucket : buckets.values()) {
+                for (int j = 1; j < bucket.size; j++) {
+                    int b = bucket.docs[j];
+                    if (!listed(b)) {
+                        continue; // Not listed by the server yet, its listed copy is indexed later
+                    }
+                    for (int i = 0; i < j; i++) {
+                        int a = bucket.docs[i];
+                        if (listed(a) && find(parent, a) != find(parent, b)
+                                && similarity(signatures.get(a), signatures.get(b)) >= threshold) {
+                            parent[find(parent, b)] = find(parent, a);
+                        }
+                    }
+                }
+            }
+            Map<Integer, List<Integer>> groups = new HashMap<>();
+            for (int doc = 0; doc < parent.length; doc++) {
+                if (listed(doc)) {
+                    groups.computeIfAbsent(find(parent, doc), root -> new ArrayList<>()).add(doc);
+                }
+            }
+            List<List<BlogPost>> clusters = new ArrayList<>();
+            for (List<Integer> group : groups.values()) {
+                if (group.size() > 1) {
+                    List<BlogPost> cluster = new ArrayList<>(group.size()); // Only posts in clusters are rebuilt
+                    for (int doc : group) {
+                        cluster.add(documents.get(doc));
+                    }
+                    clusters.add(cluster);
+                }
+            }
+            clusters.sort((x, y) -> Integer.compare(y.size(), x.size()));
+            return clusters;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether a document is a post listed by the server, i.e. it has an id and was not removed.
+     */
+    private boolean listed(int doc) {
+        return documents.hasId(doc) && !removed.get(doc);
+    }
+
+    /**
+     * Returns the post of a document: the object being created for a pending post, otherwise rebuilt from the store.
+     */
+    private BlogPost post(int doc) {
+        BlogPost post = pendingPosts.get(doc);
+        return post != null ? post : documents.get(doc);
+    }
+
+    /**
+     * Describes the memory used by the indexed posts, without the signatures and buckets.
+     * @return The footprint of the document store.
+     */
+    public String getFootprint() {
+        lock.readLock().lock();
+        try {
+            return documents.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int find(int[] parent, int doc) {
+        while (parent[doc] != doc) {
+            parent[doc] = parent[parent[doc]]; // Path halving keeps the trees flat
+            doc = parent[doc];
+        }
+        return doc;
+    }
+
+    /**
+     * Computes the MinHash signature of a post.
+     * @return The signature, or null if title and content have no words.
+     */
+    static int[] signature(String title, String content) {
+        List<String> words = Tokenizer.tokenize(title);
+        words.addAll(Tokenizer.tokenize(content));
+        if (words.isEmpty()) {
+            return null;
+        }
+        long[] wordHashes = new long[words.size()];
+        for (int i = 0; i < wordHashes.length; i++) {
+            wordHashes[i] = mix(words.get(i).hashCode());
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, wordHashes.length - SHINGLE_WORDS + 1); // Short posts form one shingle
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int i = start; i < Math.min(wordHashes.length, start + SHINGLE_WORDS); i++) {
+                shingle = shingle * 0x9E3779B97F4A7C15L + wordHashes[i];
+            }
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) (mix(shingle ^ SEEDS[h]) >>> 33); // Non-negative, so values compare as unsigned
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of two posts as the share of equal signature values.
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int h = 0; h < HASHES; h++) {
+            if (a[h] == b[h]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    /**
+     * Hashes one band of a signature; the band number is included so equal values in different bands do not collide.
+     */
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int h = band * ROWS; h < (band + 1) * ROWS; h++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[h];
+        }
+        return mix(key);
+    }
+
+    /**
+     * Scrambles the bits of a value (the finalizer of SplitMix64).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Document numbers sharing a band hash, in a growable primitive array.
+     */
+    private static final class Bucket {
+        int[] docs = new int[2];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
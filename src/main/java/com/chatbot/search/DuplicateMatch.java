@@ -0,0 +1,40 @@
+package com.chatbot.search;
+
+import com.chatbot.model.BlogPost;
+
+/**
+ * A known post found to be the same or nearly the same as a new one.
+ */
+public class DuplicateMatch {
+    private final BlogPost post;       // The known post
+    private final double similarity;   // Estimated Jaccard similarity of the shingles, between 0 and 1
+
+    /**
+     * Constructor to initialize a DuplicateMatch object.
+     * @param post The known post.
+     * @param similarity The estimated similarity of the two posts, 1 for the same words.
+     */
+    public DuplicateMatch(BlogPost post, double similarity) {
+        this.post = post;
+        this.similarity = similarity;
+    }
+
+    public BlogPost getPost() {
+        return post;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    /**
+     * Provides a short description of the match.
+     * @return A string naming the known post and the similarity in percent.
+     */
+    @Override
+    public String toString() {
+        return "\"" + post.getTitle() + "\" by " + post.getAuthor()
+                + (post.getId() != null ? " (id " + post.getId() + ")" : " (just created)")
+                + ", " + String.format("%.0f", similarity * 100) + "% similar";
+    }
+}
@@ -0,0 +1,38 @@
+package com.chatbot.search;
+
+import com.chatbot.model.BlogPost;
+
+/**
+ * A blog post found by a search, together with its relevance score.
+ */
+public class SearchResult {
+    private final BlogPost post; // The matching post
+    private final double score;  // BM25 relevance score, higher is better
+
+    /**
+     * Constructor to initialize a SearchResult object.
+     * @param post The matching post.
+     * @param score The relevance score of the post for the query.
+     */
+    public SearchResult(BlogPost post, double score) {
+        this.post = post;
+        this.score = score;
+    }
+
+    public BlogPost getPost() {
+        return post;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Provides a formatted string representation of the result.
+     * @return A string containing the score followed by the post details.
+     */
+    @Override
+    public String toString() {
+        return "Score: " + String.format("%.3f", score) + "\n" + post;
+    }
+}
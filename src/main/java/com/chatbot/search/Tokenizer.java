@@ -0,0 +1,49 @@
+package com.chatbot.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lowercase search terms.
+ * A term is a maximal run of letters or digits, so punctuation and whitespace separate terms.
+ * Letters of any script are kept, which makes non-Latin (e.g. Georgian) posts searchable too.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Splits text into terms.
+     * @param text The text to tokenize, may be null.
+     * @return The terms in order of appearance, including duplicates.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1; // Start of the current term, -1 if between terms
+        for (int i = 0; i <= text.length(); i++) {
+            boolean partOfTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Normalizes an author name for exact, case-insensitive filtering.
+     * @param author The author name, may be null.
+     * @return The trimmed, lowercase name, or an empty string for null.
+     */
+    public static String normalizeAuthor(String author) {
+        return author == null ? "" : author.trim().toLowerCase(Locale.ROOT);
+    }
+}
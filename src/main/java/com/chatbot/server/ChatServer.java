@@ -0,0 +1,214 @@
+package com.chatbot.server;
+
+import com.chatbot.api.ApiClient;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the chat bot menu to many users over TCP, one line of text per answer
+ * (e.g. with {@code telnet} or {@code nc}).
+ * Every connection is a {@link ChatSession} on its own thread, a virtual thread on Java 21 and
+ * later, so an idle session costs a small heap-allocated stack rather than a platform thread.
+ * All sessions share one {@link ApiClient}: its connection pool, response cache, coalescing,
+ * limiter and circuit breaker apply across users.
+ * Connections beyond the session limit are told so and closed; sessions without input for the
+ * idle timeout are closed.
+ */
+public class ChatServer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 2048; // Per-session reader and writer buffers, in chars
+
+    private final ApiClient apiClient;
+    private final String botName;
+    private final int pageSize;
+    private final int maxSessions;
+    private final int idleTimeoutMillis;      // Closes sessions without input, 0 for no timeout
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;   // One thread per session
+    private final Semaphore slots;            // Free session slots
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet(); // Open sessions, closed on shutdown
+    private final Thread acceptor;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong(); // Connections turned away at the session limit
+    private volatile boolean closed;
+
+    /**
+     * Constructor to bind the server socket. Connections are accepted after {@link #start()}.
+     * @param apiClient The client shared by all sessions.
+     * @param botName The name the bot greets with.
+     * @param port The TCP port to listen on, 0 for any free port.
+     * @param maxSessions The maximum number of concurrent sessions.
+     * @param pageSize The number of posts per page when browsing the listing.
+     * @param idleTimeoutMillis How long a session may wait for input before it is closed, 0 for no limit.
+     * @throws IOException If the port cannot be bound.
+     */
+    public ChatServer(ApiClient apiClient, String botName, int port, int maxSessions, int pageSize,
+                      int idleTimeoutMillis) throws IOException {
+        this.apiClient = apiClient;
+        this.botName = botName;
+        this.pageSize = pageSize;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.idleTimeoutMillis = Math.max(0, idleTimeoutMillis);
+        this.slots = new Semaphore(this.maxSessions);
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.setReuseAddress(true);
+        this.serverSocket.bind(new InetSocketAddress(port), 256);
+        this.sessions = ApiClient.newVirtualThreadExecutor();
+        this.acceptor = new Thread(this::acceptLoop, "chat-server-acceptor");
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Chat server stopped accepting connections: " + e.getMessage());
+                }
+                return;
+            }
+            accepted.incrementAndGet();
+            if (!slots.tryAcquire()) {
+                refused.incrementAndGet();
+                refuse(socket);
+                continue;
+            }
+            connections.add(socket);
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sessions.execute(() -> serve(socket));
+        }
+    }
+
+    /**
+     * Runs one session on the current thread and releases its slot when it ends.
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(idleTimeoutMillis);
+            socket.setTcpNoDelay(true); // Prompts are small and must not wait for more output
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            PrintWriter out = new PrintWriter(new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE));
+            try {
+                new ChatSession(apiClient, botName, pageSize, in, out).run();
+            } catch (SocketTimeoutException e) {
+                out.println();
+                out.println("Session closed after " + idleTimeoutMillis / 1000 + " seconds without input.");
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Disconnected, or closed on shutdown
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                System.err.println("Chat session failed: " + e);
+            }
+        } finally {
+            connections.remove(socket);
+            active.decrementAndGet();
+            slots.release();
+        }
+    }
+
+    private static void refuse(Socket socket) {
+        try (socket) {
+            socket.getOutputStream().write("Sorry, all sessions are in use. Please try again later.\r\n"
+                    .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ignored) {
+            // The client left already
+        }
+    }
+
+    /**
+     * Waits until the server has stopped accepting connections.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void join() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Returns the number of open sessions.
+     * @return The active session count.
+     */
+    public int getActiveSessions() {
+        return active.get();
+    }
+
+    /**
+     * Returns the highest number of sessions that were open at the same time.
+     * @return The peak session count.
+     */
+    public int getPeakSessions() {
+        return peak.get();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Provides a one-line summary of the sessions.
+     * @return A string with the active, peak and maximum sessions and the accepted and refused connections.
+     */
+    @Override
+    public String toString() {
+        return "Port " + getPort() + ": " + active.get() + " active sessions (peak " + peak.get() + ", max "
+                + maxSessions + "), " + accepted.get() + " connections, " + refused.get() + " refused";
+    }
+
+    /**
+     * Stops accepting connections and closes all sessions.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close(); // Unblocks the session's read
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+        sessions.shutdown();
+    }
+}
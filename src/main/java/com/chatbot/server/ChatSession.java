@@ -0,0 +1,172 @@
+package com.chatbot.server;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPage;
+import com.chatbot.api.BlogPager;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.NewBlogPostRequest;
+import com.chatbot.model.Statistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * One user connected to the {@link ChatServer}: the create, view and statistics flows of the
+ * console menu, read from and written to the user's connection.
+ * A session only holds its reader, writer and the pager of the listing it is browsing;
+ * the {@link ApiClient}, its connections and caches are shared by all sessions.
+ * A session runs on its own thread and blocks while it waits for input.
+ */
+class ChatSession {
+    private final ApiClient apiClient; // Shared by all sessions
+    private final String botName;
+    private final int pageSize;        // Number of posts per page when browsing the listing
+    private final BufferedReader in;
+    private final PrintWriter out;     // Buffered, flushed whenever the user is asked for input
+
+    /**
+     * Constructor to initialize a session.
+     * @param apiClient The client shared by all sessions.
+     * @param botName The name the bot greets with.
+     * @param pageSize The number of posts per page when browsing the listing.
+     * @param in The input of the user, one answer per line.
+     * @param out The output to the user.
+     */
+    ChatSession(ApiClient apiClient, String botName, int pageSize, BufferedReader in, PrintWriter out) {
+        this.apiClient = apiClient;
+        this.botName = botName;
+        this.pageSize = pageSize;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Greets the user and runs the menu until the user quits or disconnects.
+     * @throws IOException If the connection fails.
+     */
+    void run() throws IOException {
+        out.println("Hello! I am " + botName + ", your blog assistant.");
+        while (true) {
+            out.println();
+            out.println("--- Menu ---");
+            out.println("1. Create new blog");
+            out.println("2. View all blogs");
+            out.println("3. Statistics of the site");
+            out.println("4. Quit");
+            String line = prompt("Please choose: ");
+            if (line == null) {
+                return; // Disconnected
+            }
+            try {
+                switch (line.trim()) {
+                    case "1":
+                        createNewBlogPost();
+                        break;
+                    case "2":
+                        viewAllBlogPosts();
+                        break;
+                    case "3":
+                        viewSiteStatistics();
+                        break;
+                    case "4":
+                        out.println("Thanks for using " + botName + ". Bye!");
+                        out.flush();
+                        return;
+                    default:
+                        out.println("Incorrect choice, please try again.");
+                }
+            } catch (IOException | CompletionException e) {
+                if (isConnectionFailure(e)) {
+                    throw (IOException) e; // Idle timeout or disconnect inside a flow, ends the session
+                }
+                // Failure of an API call
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                out.println("Mistake: " + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return; // Server shutting down
+            }
+        }
+    }
+
+    /**
+     * Tells a failure of the user's connection from a failure of an API call. A refused
+     * connection to the backend is a {@link SocketException} too, but leaves the session usable.
+     */
+    private static boolean isConnectionFailure(Exception e) {
+        return e instanceof InterruptedIOException
+                || e instanceof SocketException && !(e instanceof ConnectException);
+    }
+
+    /**
+     * Asks the user for a line of input.
+     * @return The line, or null if the user disconnected.
+     */
+    private String prompt(String text) throws IOException {
+        out.print(text);
+        out.flush();
+        if (out.checkError()) {
+            return null; // The connection is gone
+        }
+        return in.readLine();
+    }
+
+    private void createNewBlogPost() throws IOException {
+        out.println("\n--- Create new blog ---");
+        String title = prompt("Please enter the name: ");
+        String author = title != null ? prompt("Please enter the author: ") : null;
+        String content = author != null ? prompt("Please enter the content: ") : null;
+        if (content == null) {
+            return; // Disconnected, the menu loop ends on its next prompt
+        }
+        if (title.trim().isEmpty() || author.trim().isEmpty() || content.trim().isEmpty()) {
+            out.println("Error: name, author and content can not be empty..");
+            return;
+        }
+        int status = apiClient.createNewBlogPostWithStatusAsync(new NewBlogPostRequest(title, content, author)).join();
+        out.println(status == 201 ? "Blog post created successfully!" : "Error creating blog post. Status code: " + status);
+    }
+
+    private void viewAllBlogPosts() throws IOException, InterruptedException {
+        out.println("\n--- See all blogs ---");
+        BlogPager pager = new BlogPager(apiClient, pageSize); // Dropped when the user returns to the menu
+        BlogPage page = pager.first();
+        while (page != null) {
+            if (page.getPosts().isEmpty()) {
+                out.println("No blogs for now.");
+                return;
+            }
+            for (BlogPost post : page.getPosts()) {
+                out.println(post);
+            }
+            out.println(page);
+            if (!page.hasNext() && !page.hasPrevious()) {
+                return;
+            }
+            String command = prompt((page.hasNext() ? "[n]ext, " : "") + (page.hasPrevious() ? "[p]revious, " : "") + "[q]uit: ");
+            if (command == null) {
+                return;
+            }
+            command = command.trim().toLowerCase();
+            if (command.startsWith("n") && page.hasNext()) {
+                page = pager.next();
+            } else if (command.startsWith("p") && page.hasPrevious()) {
+                page = pager.previous();
+            } else if (command.startsWith("q")) {
+                return;
+            }
+        }
+        out.println("No blogs for now.");
+    }
+
+    private void viewSiteStatistics() throws IOException, InterruptedException {
+        out.println("\n--- Statistics ---");
+        Statistics stats = apiClient.getStatistics();
+        out.println(stats != null ? stats : "Error loading statistics.");
+    }
+}
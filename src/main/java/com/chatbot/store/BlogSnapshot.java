@@ -0,0 +1,159 @@
+package com.chatbot.store;
+
+import com.chatbot.model.BlogPost;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read-only view of a blog snapshot file written by {@link BlogSnapshotWriter}.
+ * The file is memory-mapped, so a post is only decoded when it is accessed. Opening
+ * checks that every record offset and string length stays inside the records, without
+ * decoding anything, so a damaged file is rejected at once instead of failing on access.
+ *
+ * File layout (all numbers big-endian):
+ * <pre>
+ *   header:  int magic, int version, int count, long savedAtMillis, long indexOffset
+ *   records: per post five strings (id, title, author, content, created_at),
+ *            each an int byte length (-1 for null) followed by UTF-8 bytes
+ *   index:   count longs, the file offset of each record
+ * </pre>
+ */
+public class BlogSnapshot {
+    static final int MAGIC = 0x424C4F47; // "BLOG"
+    static final int VERSION = 1;        // Format version of the file
+    static final int HEADER_SIZE = 28;   // Size of the header in bytes
+
+    private final MappedByteBuffer buffer; // Mapped contents of the whole file
+    private final int count;               // Number of posts in the snapshot
+    private final long savedAtMillis;      // When the snapshot was written (epoch milliseconds)
+    private final int indexOffset;         // File offset of the record offset index
+
+    private BlogSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a blog snapshot file or unsupported version");
+        }
+        this.count = buffer.getInt(8);
+        this.savedAtMillis = buffer.getLong(12);
+        long index = buffer.getLong(20);
+        if (count < 0 || index < HEADER_SIZE || index + 8L * count > buffer.capacity()) {
+            throw new IOException("Corrupt blog snapshot file");
+        }
+        this.indexOffset = (int) index;
+        for (int i = 0; i < count; i++) {
+            checkRecord(buffer.getLong(indexOffset + 8 * i));
+        }
+    }
+
+    /**
+     * Checks that a record and its five strings lie between the header and the index.
+     */
+    private void checkRecord(long offset) throws IOException {
+        if (offset < HEADER_SIZE || offset > indexOffset) {
+            throw new IOException("Corrupt blog snapshot file");
+        }
+        long position = offset;
+        for (int field = 0; field < 5; field++) {
+            if (position + 4 > indexOffset) {
+                throw new IOException("Corrupt blog snapshot file");
+            }
+            int length = buffer.getInt((int) position);
+            position += 4;
+            if (length < -1 || (length > 0 && position + length > indexOffset)) {
+                throw new IOException("Corrupt blog snapshot file");
+            }
+            position += Math.max(0, length);
+        }
+    }
+
+    /**
+     * Opens and maps a snapshot file.
+     * @param file The path of the snapshot file.
+     * @return The snapshot, or null if the file does not exist.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static BlogSnapshot open(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Blog snapshot file is too large: " + channel.size() + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            return new BlogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the number of posts in the snapshot.
+     * @return The post count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns when the snapshot was written.
+     * @return The time in epoch milliseconds.
+     */
+    public long getSavedAtMillis() {
+        return savedAtMillis;
+    }
+
+    /**
+     * Decodes one post of the snapshot.
+     * @param index The position of the post, from 0 to {@link #size()} - 1.
+     * @return The decoded post.
+     */
+    public BlogPost get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for snapshot of " + count + " posts");
+        }
+        ByteBuffer view = buffer.duplicate(); // Own position, so concurrent readers do not interfere
+        view.position((int) buffer.getLong(indexOffset + 8 * index));
+        String id = readString(view);
+        String title = readString(view);
+        String author = readString(view);
+        String content = readString(view);
+        String createdAt = readString(view);
+        return new BlogPost(id, title, author, content, createdAt);
+    }
+
+    /**
+     * Returns a list view of the snapshot; posts are decoded when accessed.
+     * @return An unmodifiable list of the posts in the snapshot.
+     */
+    public List<BlogPost> asList() {
+        return new AbstractList<>() {
+            @Override
+            public BlogPost get(int index) {
+                return BlogSnapshot.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    private static String readString(ByteBuffer view) {
+        int length = view.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,126 @@
+package com.chatbot.store;
+
+import com.chatbot.model.BlogPost;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes a new blog snapshot file in the format read by {@link BlogSnapshot}.
+ * Posts are appended one at a time, so a streamed listing can be saved without
+ * holding it in memory. The data goes to a temporary file next to the target,
+ * which replaces the target atomically on {@link #commit()}; readers therefore
+ * always see either the old or the new complete snapshot.
+ */
+public class BlogSnapshotWriter implements AutoCloseable {
+    private final Path target;          // Final location of the snapshot
+    private final Path temp;            // Temporary file being written
+    private final DataOutputStream out; // Buffered output to the temporary file
+    private long[] offsets = new long[64]; // File offset of each written record
+    private int count;                  // Number of posts written
+    private long position;              // Current file offset
+    private boolean committed;          // True once the snapshot has been moved into place
+
+    /**
+     * Constructor to start writing a snapshot.
+     * @param target The path the snapshot will be saved to.
+     * @throws IOException If the temporary file cannot be created.
+     */
+    public BlogSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Files.createDirectories(this.target.getParent());
+        this.temp = Files.createTempFile(this.target.getParent(), this.target.getFileName().toString(), ".tmp");
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024));
+        out.write(new byte[BlogSnapshot.HEADER_SIZE]); // Placeholder, written on commit
+        position = BlogSnapshot.HEADER_SIZE;
+    }
+
+    /**
+     * Saves a complete list of posts as the new snapshot.
+     * @param target The path the snapshot will be saved to.
+     * @param posts The posts to save.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void save(Path target, Iterable<BlogPost> posts) throws IOException {
+        try (BlogSnapshotWriter writer = new BlogSnapshotWriter(target)) {
+            for (BlogPost post : posts) {
+                writer.append(post);
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Appends a post to the snapshot.
+     * @param post The post to save.
+     * @throws IOException If writing fails.
+     */
+    public void append(BlogPost post) throws IOException {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = position;
+        writeString(post.getId());
+        writeString(post.getTitle());
+        writeString(post.getAuthor());
+        writeString(post.getContent());
+        writeString(post.getCreated_at());
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            position += 4;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        position += 4 + bytes.length;
+    }
+
+    /**
+     * Writes the offset index and header, flushes the file to disk and moves it into place.
+     * @throws IOException If writing or replacing the snapshot fails.
+     */
+    public void commit() throws IOException {
+        long indexOffset = position;
+        for (int i = 0; i < count; i++) {
+            out.writeLong(offsets[i]);
+        }
+        out.close();
+
+        ByteBuffer header = ByteBuffer.allocate(BlogSnapshot.HEADER_SIZE);
+        header.putInt(BlogSnapshot.MAGIC).putInt(BlogSnapshot.VERSION).putInt(count)
+                .putLong(System.currentTimeMillis()).putLong(indexOffset).flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position()); // Positional write advances the buffer
+            }
+            channel.force(true); // Make sure the data is on disk before the file becomes visible
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    /**
+     * Discards the temporary file unless the snapshot has been committed.
+     * @throws IOException If the temporary file cannot be deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            out.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.chatbot.store;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.BlogPostStreamReader;
+import com.chatbot.model.BlogPost;
+import com.chatbot.model.Meta;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps a local copy of the blog posts up to date by fetching only what changed.
+ * The syncer tracks a watermark, the highest numeric post id and the latest creation
+ * timestamp it knows, and asks the API for posts after it. If the API ignores the
+ * watermark and returns the complete listing, known posts are skipped by id, so the
+ * cost of merging still depends only on the number of new posts; once detected, the
+ * parameters are no longer sent.
+ * After merging, the local post count is compared with the total reported in the
+ * response meta. A mismatch means posts were deleted or missed, and the complete
+ * listing is downloaded again.
+ * The local copy is kept in a {@link CompactBlogStore}, so a large listing takes little heap.
+ */
+public class BlogSyncer {
+    private static final Executor BACKGROUND = ApiClient.newVirtualThreadExecutor(); // Daemon threads, a hanging sync does not keep the JVM alive
+
+    private final ApiClient apiClient;
+    private final Object syncLock = new Object();         // Serializes sync runs
+    private final boolean utf8Content;    // Content layout of the compact store
+    private CompactBlogStore store;       // Local copy, in listing order
+    private long lastId = -1;          // Highest numeric post id, -1 if none is known
+    private String lastCreatedAt;      // Latest creation timestamp, null if none is known
+    private Boolean serverFilters;     // Whether the API honors the watermark, null until known
+
+    /**
+     * Constructor to initialize a BlogSyncer with an empty local copy.
+     * @param apiClient The client used to fetch blog posts.
+     */
+    public BlogSyncer(ApiClient apiClient) {
+        this(apiClient, false);
+    }
+
+    /**
+     * Constructor to initialize a BlogSyncer with an empty local copy.
+     * @param apiClient The client used to fetch blog posts.
+     * @param utf8Content Whether the local copy stores contents as UTF-8 bytes, see {@link CompactBlogStore}.
+     */
+    public BlogSyncer(ApiClient apiClient, boolean utf8Content) {
+        this.apiClient = apiClient;
+        this.utf8Content = utf8Content;
+        this.store = new CompactBlogStore(utf8Content);
+    }
+
+    /**
+     * Adds previously saved posts to the local copy, e.g. from a snapshot.
+     * Posts already in the local copy are skipped.
+     * @param saved The saved posts.
+     */
+    public synchronized void load(Collection<BlogPost> saved) {
+        for (BlogPost post : saved) {
+            addLocked(post);
+        }
+        store.trimToSize();
+    }
+
+    /**
+     * Returns a read-only view of the local posts in listing order.
+     * The view is not affected by later syncs; posts are rebuilt from the compact store when accessed.
+     * @return The posts known locally.
+     */
+    public synchronized List<BlogPost> getPosts() {
+        return store.asList();
+    }
+
+    /**
+     * Returns the number of posts known locally.
+     * @return The post count.
+     */
+    public synchronized int size() {
+        return store.size();
+    }
+
+    /**
+     * Describes the memory used by the local copy.
+     * @return The footprint of the compact store.
+     */
+    public synchronized String getFootprint() {
+        return store.toString();
+    }
+
+    /**
+     * Fetches the posts created since the last sync and merges them into the local copy.
+     * The first sync, and any sync that finds the local copy inconsistent with the
+     * API's total, downloads the complete listing instead.
+     *
+     * @return What the sync fetched and changed.
+     * @throws IOException If the API call fails or is unsuccessful.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public SyncResult sync() throws IOException, InterruptedException {
+        synchronized (syncLock) {
+            long start = System.nanoTime();
+            String sinceId;
+            String since;
+            boolean askServer;
+            synchronized (this) {
+                if (store.size() == 0) {
+                    return fullSync(start);
+                }
+                sinceId = lastId >= 0 ? Long.toString(lastId) : null;
+                since = lastCreatedAt;
+                askServer = !Boolean.FALSE.equals(serverFilters) && (sinceId != null || since != null);
+            }
+
+            List<BlogPost> added = new ArrayList<>();
+            int transferred = 0;
+            int known = 0; // Received posts that were already in the local copy
+            Meta meta;
+            try (BlogPostStreamReader reader = askServer
+                    ? apiClient.streamBlogPostsSince(sinceId, since)
+                    : apiClient.streamAllBlogPosts()) {
+                if (reader == null) {
+                    throw new IOException("Could not fetch blog posts");
+                }
+                try {
+                    while (reader.hasNext()) {
+                        BlogPost post = reader.next();
+                        transferred++;
+                        synchronized (this) {
+                            if (addLocked(post)) {
+                                added.add(post);
+                            } else {
+                                known++;
+                            }
+                        }
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause(); // Truncated or malformed listing, callers fall back like for any failed call
+                }
+                meta = reader.getMeta();
+            }
+
+            boolean filtered;
+            int total;
+            synchronized (this) {
+                if (askServer && transferred > 0) {
+                    // An API that ignores the watermark sends back posts we already have
+                    serverFilters = known == 0;
+                }
+                filtered = askServer && Boolean.TRUE.equals(serverFilters);
+                total = store.size();
+            }
+            // A filtered response may report the size of the delta rather than of the whole listing
+            boolean metaIsDelta = filtered && meta != null && meta.getTotal() == transferred;
+            if (meta != null && !metaIsDelta && meta.getTotal() != total) {
+                return fullSync(start);
+            }
+            return new SyncResult(added, transferred, total, false, filtered, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Runs {@link #sync()} without blocking the calling thread, on a daemon thread.
+     * @return A future completing with the result, or exceptionally if the sync fails.
+     */
+    public CompletableFuture<SyncResult> syncAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return sync();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, BACKGROUND);
+    }
+
+    /**
+     * Downloads the complete listing and replaces the local copy with it.
+     */
+    private SyncResult fullSync(long start) throws IOException, InterruptedException {
+        List<BlogPost> listing = new ArrayList<>();
+        try (BlogPostStreamReader reader = apiClient.streamAllBlogPosts()) {
+            if (reader == null) {
+                throw new IOException("Could not fetch blog posts");
+            }
+            try {
+                while (reader.hasNext()) {
+                    listing.add(reader.next());
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        synchronized (this) {
+            CompactBlogStore previous = store; // Views of the old copy stay valid
+            store = new CompactBlogStore(utf8Content);
+            lastId = -1;
+            lastCreatedAt = null;
+            List<BlogPost> added = new ArrayList<>();
+            for (BlogPost post : listing) {
+                if (addLocked(post) && previous.indexOf(post.getId()) < 0) {
+                    added.add(post);
+                }
+            }
+            store.trimToSize();
+            return new SyncResult(added, listing.size(), store.size(), true, false, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds a post unless its id is already known, and advances the watermark.
+     */
+    private boolean addLocked(BlogPost post) {
+        if (store.indexOf(post.getId()) >= 0) {
+            return false;
+        }
+        store.add(post);
+        if (post.getId() != null) {
+            try {
+                lastId = Math.max(lastId, Long.parseLong(post.getId().trim()));
+            } catch (NumberFormatException e) {
+                // Non-numeric ids only advance the timestamp watermark
+            }
+        }
+        String createdAt = post.getCreated_at();
+        if (createdAt != null && (lastCreatedAt == null || createdAt.compareTo(lastCreatedAt) > 0)) {
+            lastCreatedAt = createdAt; // Timestamps are ISO-like, so they sort as strings
+        }
+        return true;
+    }
+}
@@ -0,0 +1,512 @@
+package com.chatbot.store;
+
+import com.chatbot.model.BlogPost;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-efficient, append-only store of blog posts in a columnar layout.
+ * Instead of one {@link BlogPost} with five strings per post, each field is kept in its own array:
+ * <ul>
+ *   <li>numeric ids as {@code long}s</li>
+ *   <li>authors as codes into a dictionary, so each distinct name is stored once</li>
+ *   <li>created_at parsed once into epoch milliseconds</li>
+ *   <li>optionally, contents as UTF-8 bytes in one shared byte array</li>
+ * </ul>
+ * Values that do not fit the compact form (non-numeric ids, timestamps in another format)
+ * are kept as strings, so every post reads back exactly as it was added.
+ * Posts are found by id through an open-addressing table of the numeric ids, so looking
+ * up an id does not need a set of id strings next to the store.
+ * {@link #get(int)} and {@link #asList()} rebuild {@code BlogPost} objects on access, so
+ * existing callers keep working. All methods are synchronized; views only see the posts
+ * that were stored when the view was created.
+ */
+public class CompactBlogStore {
+    private static final DateTimeFormatter CREATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long NONE = Long.MIN_VALUE; // Marks a missing id or timestamp in the primitive columns
+    private static final int NO_AUTHOR = -1;         // Author code of a post without author
+
+    private final boolean utf8Content;  // Store contents as UTF-8 bytes instead of strings
+    private int size;                   // Number of stored posts
+
+    private long[] ids = new long[16];         // Numeric ids, NONE if the id is missing or not numeric
+    private String[] otherIds;                 // Ids that are not plain numbers, null until needed
+    private String[] titles = new String[16];
+    private int[] authors = new int[16];       // Codes into authorNames, NO_AUTHOR for null
+    private final List<String> authorNames = new ArrayList<>();         // Author dictionary
+    private final Map<String, Integer> authorCodes = new HashMap<>();   // Author name -> code
+    private long[] createdAt = new long[16];   // Epoch milliseconds (timestamps taken as UTC), NONE if not parsed
+    private String[] otherCreatedAt;           // Timestamps not in the API format, null until needed
+
+    private long[] idKeys = new long[32];      // Numeric ids, open addressing with linear probing
+    private int[] idPositions = new int[32];   // Position + 1 of the post with the id in idKeys, 0 for an empty slot
+    private int idCount;                       // Used slots of idKeys
+    private Map<String, Integer> otherIdPositions; // Non-numeric id -> position, null until needed
+
+    private String[] contents;                 // Contents as strings, if not stored as UTF-8
+    private byte[] contentBytes;               // UTF-8 contents of all posts, back to back
+    private int contentUsed;                   // Bytes used in contentBytes
+    private int[] contentOffsets;              // Start of each content in contentBytes
+    private int[] contentLengths;              // Byte length of each content, -1 for null
+
+    private long objectBytes;                  // Estimated size of the same posts as BlogPost objects
+
+    /**
+     * Constructor to initialize an empty store.
+     * @param utf8Content true to store all contents as UTF-8 in one byte array. This saves the
+     *                    object overhead of one string per post and leaves the GC fewer objects
+     *                    to trace, but decodes on every access; text outside Latin-1 (e.g. Georgian)
+     *                    takes 3 bytes per character instead of the 2 of a Java string.
+     */
+    public CompactBlogStore(boolean utf8Content) {
+        this.utf8Content = utf8Content;
+        if (utf8Content) {
+            contentBytes = new byte[4096];
+            contentOffsets = new int[16];
+            contentLengths = new int[16];
+        } else {
+            contents = new String[16];
+        }
+    }
+
+    /**
+     * Appends a post.
+     * @param post The post to store.
+     * @return The position of the post in the store.
+     */
+    public synchronized int add(BlogPost post) {
+        if (size == ids.length) {
+            grow(Math.max(16, size * 2));
+        }
+        int index = size;
+
+        String id = post.getId();
+        ids[index] = NONE;
+        if (id != null) {
+            long numeric = parseCanonicalLong(id);
+            if (numeric != NONE) {
+                ids[index] = numeric;
+                putIdPosition(numeric, index);
+            } else {
+                otherIds = ensure(otherIds);
+                otherIds[index] = id;
+                if (otherIdPositions == null) {
+                    otherIdPositions = new HashMap<>();
+                }
+                otherIdPositions.put(id, index);
+            }
+        }
+
+        titles[index] = post.getTitle();
+        authors[index] = authorCode(post.getAuthor());
+
+        String created = post.getCreated_at();
+        createdAt[index] = NONE;
+        if (created != null) {
+            long millis = parseCreatedAt(created);
+            if (millis != NONE) {
+                createdAt[index] = millis;
+            } else {
+                otherCreatedAt = ensure(otherCreatedAt);
+                otherCreatedAt[index] = created;
+            }
+        }
+
+        if (utf8Content) {
+            appendContent(index, post.getContent());
+        } else {
+            contents[index] = post.getContent();
+        }
+
+        objectBytes += 32 + stringBytes(id) + stringBytes(post.getTitle()) + stringBytes(post.getAuthor())
+                + stringBytes(post.getContent()) + stringBytes(created);
+        size++;
+        return index;
+    }
+
+    /**
+     * Records the position of a numeric id; a later post with the same id takes its place.
+     */
+    private void putIdPosition(long id, int position) {
+        if ((idCount + 1) * 4 > idKeys.length * 3) { // Keep the table at most 75% full
+            long[] oldKeys = idKeys;
+            int[] oldPositions = idPositions;
+            idKeys = new long[oldKeys.length * 2];
+            idPositions = new int[oldKeys.length * 2];
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldPositions[slot] != 0) {
+                    int target = idSlot(oldKeys[slot]);
+                    idKeys[target] = oldKeys[slot];
+                    idPositions[target] = oldPositions[slot];
+                }
+            }
+        }
+        int slot = idSlot(id);
+        if (idPositions[slot] == 0) {
+            idCount++;
+        }
+        idKeys[slot] = id;
+        idPositions[slot] = position + 1;
+    }
+
+    /**
+     * Returns the slot holding an id, or the empty slot where it belongs.
+     */
+    private int idSlot(long id) {
+        int mask = idKeys.length - 1;
+        long hash = id * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (idPositions[slot] != 0 && idKeys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Finds a post by id.
+     * @param id The id as received from the API.
+     * @return The position of the last post added with the id, or -1 if there is none.
+     */
+    public synchronized int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        long numeric = parseCanonicalLong(id);
+        if (numeric != NONE) {
+            return idPositions[idSlot(numeric)] - 1;
+        }
+        Integer position = otherIdPositions != null ? otherIdPositions.get(id) : null;
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Returns whether a post has an id, without creating a string.
+     * @param index The position of the post.
+     * @return false if the post was added without an id.
+     */
+    public synchronized boolean hasId(int index) {
+        checkIndex(index);
+        return ids[index] != NONE || (otherIds != null && otherIds[index] != null);
+    }
+
+    private int authorCode(String author) {
+        if (author == null) {
+            return NO_AUTHOR;
+        }
+        Integer code = authorCodes.get(author);
+        if (code == null) {
+            code = authorNames.size();
+            authorNames.add(author);
+            authorCodes.put(author, code);
+        }
+        return code;
+    }
+
+    private void appendContent(int index, String content) {
+        if (content == null) {
+            contentLengths[index] = -1;
+            return;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (contentUsed + bytes.length > contentBytes.length) {
+            long capacity = Math.max((long) contentBytes.length * 2, (long) contentUsed + bytes.length);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Content column is full");
+            }
+            contentBytes = Arrays.copyOf(contentBytes, (int) capacity);
+        }
+        System.arraycopy(bytes, 0, contentBytes, contentUsed, bytes.length);
+        contentOffsets[index] = contentUsed;
+        contentLengths[index] = bytes.length;
+        contentUsed += bytes.length;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        authors = Arrays.copyOf(authors, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        if (otherIds != null) {
+            otherIds = Arrays.copyOf(otherIds, capacity);
+        }
+        if (otherCreatedAt != null) {
+            otherCreatedAt = Arrays.copyOf(otherCreatedAt, capacity);
+        }
+        if (utf8Content) {
+            contentOffsets = Arrays.copyOf(contentOffsets, capacity);
+            contentLengths = Arrays.copyOf(contentLengths, capacity);
+        } else {
+            contents = Arrays.copyOf(contents, capacity);
+        }
+    }
+
+    /**
+     * Releases unused capacity, e.g. after a complete listing has been loaded.
+     */
+    public synchronized void trimToSize() {
+        int capacity = Math.max(1, size);
+        if (capacity < ids.length) {
+            grow(capacity);
+        }
+        if (utf8Content && contentUsed < contentBytes.length) {
+            contentBytes = Arrays.copyOf(contentBytes, Math.max(1, contentUsed));
+        }
+    }
+
+    /**
+     * Allocates a sparse string column on first use.
+     */
+    private String[] ensure(String[] column) {
+        return column != null ? column : new String[ids.length];
+    }
+
+    /**
+     * Returns the number of stored posts.
+     * @return The post count.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Rebuilds a post.
+     * @param index The position of the post, from 0 to {@link #size()} - 1.
+     * @return A new {@link BlogPost} with the stored values.
+     */
+    public synchronized BlogPost get(int index) {
+        checkIndex(index);
+        return new BlogPost(getId(index), titles[index], getAuthor(index), getContent(index), getCreatedAt(index));
+    }
+
+    /**
+     * Returns the id of a post.
+     * @param index The position of the post.
+     * @return The id as received from the API.
+     */
+    public synchronized String getId(int index) {
+        checkIndex(index);
+        if (ids[index] != NONE) {
+            return Long.toString(ids[index]);
+        }
+        return otherIds != null ? otherIds[index] : null;
+    }
+
+    /**
+     * Returns the numeric id of a post without creating a string.
+     * @param index The position of the post.
+     * @return The id, or {@link Long#MIN_VALUE} if the post has no numeric id.
+     */
+    public synchronized long getNumericId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * Returns the author of a post; equal names are the same String instance.
+     * @param index The position of the post.
+     * @return The author name.
+     */
+    public synchronized String getAuthor(int index) {
+        checkIndex(index);
+        return authors[index] == NO_AUTHOR ? null : authorNames.get(authors[index]);
+    }
+
+    /**
+     * Returns the creation time of a post.
+     * @param index The position of the post.
+     * @return The time in epoch milliseconds (the API's timestamps taken as UTC),
+     *         or {@link Long#MIN_VALUE} if the post has no timestamp in the API format.
+     */
+    public synchronized long getCreatedAtMillis(int index) {
+        checkIndex(index);
+        return createdAt[index];
+    }
+
+    /**
+     * Returns the content of a post.
+     * @param index The position of the post.
+     * @return The content text.
+     */
+    public synchronized String getContent(int index) {
+        checkIndex(index);
+        if (!utf8Content) {
+            return contents[index];
+        }
+        int length = contentLengths[index];
+        return length < 0 ? null : new String(contentBytes, contentOffsets[index], length, StandardCharsets.UTF_8);
+    }
+
+    private String getCreatedAt(int index) {
+        if (createdAt[index] != NONE) {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(createdAt[index], 1000), 0, ZoneOffset.UTC).format(CREATED_AT);
+        }
+        return otherCreatedAt != null ? otherCreatedAt[index] : null;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for store of " + size + " posts");
+        }
+    }
+
+    /**
+     * Returns a read-only list view of the posts stored so far; posts are rebuilt when accessed.
+     * Posts added later are not part of the view.
+     * @return An unmodifiable list of the posts.
+     */
+    public synchronized List<BlogPost> asList() {
+        int count = size;
+        return new AbstractList<>() {
+            @Override
+            public BlogPost get(int index) {
+                if (index >= count) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for view of " + count + " posts");
+                }
+                return CompactBlogStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of distinct authors.
+     * @return The size of the author dictionary.
+     */
+    public synchronized int getAuthorCount() {
+        return authorNames.size();
+    }
+
+    /**
+     * Estimates the heap used by the store, including unused capacity.
+     * @return The estimated size in bytes.
+     */
+    public synchronized long getFootprintBytes() {
+        int capacity = ids.length;
+        long bytes = 64                                    // The store object itself
+                + arrayBytes(capacity, 8) * 2              // ids, createdAt
+                + arrayBytes(capacity, 4) * 2;             // titles (references), authors
+        for (int i = 0; i < size; i++) {
+            bytes += stringBytes(titles[i]);
+            if (otherIds != null) {
+                bytes += stringBytes(otherIds[i]);
+            }
+            if (otherCreatedAt != null) {
+                bytes += stringBytes(otherCreatedAt[i]);
+            }
+            if (!utf8Content) {
+                bytes += stringBytes(contents[i]);
+            }
+        }
+        bytes += arrayBytes(idKeys.length, 8) + arrayBytes(idPositions.length, 4); // Id lookup
+        if (otherIds != null) {
+            bytes += arrayBytes(capacity, 4) + otherIdPositions.size() * 48L; // Map entries; the ids are counted above
+        }
+        if (otherCreatedAt != null) {
+            bytes += arrayBytes(capacity, 4);
+        }
+        if (utf8Content) {
+            bytes += arrayBytes(contentBytes.length, 1) + arrayBytes(capacity, 4) * 2;
+        } else {
+            bytes += arrayBytes(capacity, 4);
+        }
+        for (String author : authorNames) {
+            bytes += stringBytes(author) * 2 + 48; // Dictionary list and map entry (name, boxed code, node)
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap the same posts would use as separate {@link BlogPost} objects with their own strings.
+     * @return The estimated size in bytes.
+     */
+    public synchronized long getObjectFootprintBytes() {
+        return objectBytes + arrayBytes(size, 4); // Plus the references in a list
+    }
+
+    /**
+     * Describes the memory footprint of the store.
+     * @return A string comparing the compact size with the size as BlogPost objects.
+     */
+    @Override
+    public synchronized String toString() {
+        long compact = getFootprintBytes();
+        long objects = getObjectFootprintBytes();
+        return String.format("%d posts, %d authors, %.1f KB (%.1f KB as BlogPost objects, %.0f%%)",
+                size, authorNames.size(), compact / 1024.0, objects / 1024.0,
+                objects > 0 ? 100.0 * compact / objects : 100.0);
+    }
+
+    /**
+     * Parses an id that is the canonical decimal form of a long, so it reads back unchanged.
+     * @return The number, or NONE if the id is not in that form.
+     */
+    private static long parseCanonicalLong(String id) {
+        if (id.isEmpty() || id.length() > 19 || (id.length() > 1 && id.charAt(0) == '0')) {
+            return NONE;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) < '0' || id.charAt(i) > '9') {
+                return NONE;
+            }
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return NONE; // More than Long.MAX_VALUE
+        }
+    }
+
+    /**
+     * Parses a timestamp in the API format "yyyy-MM-dd HH:mm:ss".
+     * @return The epoch milliseconds, or NONE if the timestamp is in another format.
+     */
+    private static long parseCreatedAt(String created) {
+        if (created.length() != 19) {
+            return NONE;
+        }
+        try {
+            LocalDateTime time = LocalDateTime.parse(created, CREATED_AT);
+            if (!time.format(CREATED_AT).equals(created)) {
+                return NONE; // Adjusted while parsing (e.g. February 30), keep the original text
+            }
+            return time.toEpochSecond(ZoneOffset.UTC) * 1000;
+        } catch (DateTimeParseException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Estimates the heap size of a string (compressed strings, compressed references).
+     */
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        return 24 + arrayBytes(value.length(), latin1 ? 1 : 2);
+    }
+
+    /**
+     * Estimates the heap size of an array, aligned to 8 bytes.
+     */
+    private static long arrayBytes(long length, int elementBytes) {
+        return (16 + length * elementBytes + 7) & ~7L;
+    }
+}
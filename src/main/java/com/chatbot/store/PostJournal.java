@@ -0,0 +1,412 @@
+package com.chatbot.store;
+
+import com.chatbot.model.NewBlogPostRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of blog posts waiting to be sent to the API.
+ * A post is durable once {@link #append(NewBlogPostRequest)} returns: the record has been
+ * written and forced to the storage device. Delivered posts are marked done with a second
+ * record; on {@link #open(Path)} the journal is replayed and every post without a done
+ * record is pending again. The file is compacted once most of its records are done.
+ *
+ * File layout (all numbers big-endian):
+ * <pre>
+ *   header:  int magic, int version
+ *   records: int payload length, int CRC32 of the payload, payload
+ *   payload: byte type, then for a post (type 1): long sequence, long appendedAtMillis,
+ *            three strings (title, content, author), each an int byte length (-1 for null)
+ *            followed by UTF-8 bytes; for a done record (type 2): int count, count longs (sequences)
+ * </pre>
+ * A record cut off by a crash, or one whose checksum does not match, ends the journal;
+ * it and anything after it are discarded when the journal is opened.
+ */
+public class PostJournal implements AutoCloseable {
+    static final int MAGIC = 0x4A524E4C; // "JRNL"
+    static final int VERSION = 1;        // Format version of the file
+    static final int HEADER_SIZE = 8;    // Size of the header in bytes
+    private static final byte POST = 1;  // Record of a post to send
+    private static final byte DONE = 2;  // Record of posts that no longer need to be sent
+    private static final long COMPACT_MIN_BYTES = 64 * 1024; // Smaller journals are only compacted when empty
+
+    private final Path file;
+    private FileChannel channel;                     // Open for appending, replaced on compaction
+    private final Map<Long, Entry> pending = new LinkedHashMap<>(); // Posts not yet done, in journal order
+    private long nextSequence = 1;
+    private long doneSinceCompaction;                // Done posts whose records are still in the file
+
+    private PostJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens a journal, creating it if it does not exist, and replays it.
+     * @param file The path of the journal file.
+     * @return The journal, with all posts that were not done as pending.
+     * @throws IOException If the file cannot be read or written, or is not a journal.
+     */
+    public static PostJournal open(Path file) throws IOException {
+        Path path = file.toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        PostJournal journal = new PostJournal(path);
+        journal.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            journal.replay();
+        } catch (IOException e) {
+            journal.channel.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Reads all records, rebuilding the pending posts, and cuts off a damaged tail.
+     */
+    private void replay() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            channel.truncate(0);
+            writeFully(channel, header(), 0);
+            channel.force(true);
+            channel.position(HEADER_SIZE);
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a post journal file or unsupported version: " + file);
+        }
+        long position = HEADER_SIZE;
+        ByteBuffer prefix = ByteBuffer.allocate(8);
+        CRC32 crc = new CRC32();
+        while (position + 8 <= size) {
+            prefix.clear();
+            readFully(prefix, position);
+            int length = prefix.getInt(0);
+            if (length <= 0 || position + 8 + length > size) {
+                break; // Torn write at the end
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + 8);
+            crc.reset();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != prefix.getInt(4)) {
+                break; // Damaged record, nothing after it can be trusted
+            }
+            apply(payload.flip());
+            position += 8 + length;
+        }
+        if (position < size) {
+            System.err.println("Post journal " + file + ": discarding " + (size - position) + " damaged bytes at the end");
+            channel.truncate(position);
+            channel.force(true);
+        }
+        channel.position(position);
+    }
+
+    private void apply(ByteBuffer payload) throws IOException {
+        byte type = payload.get();
+        if (type == POST) {
+            long sequence = payload.getLong();
+            long appendedAt = payload.getLong();
+            String title = readString(payload);
+            String content = readString(payload);
+            String author = readString(payload);
+            pending.put(sequence, new Entry(sequence, new NewBlogPostRequest(title, content, author), appendedAt));
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        } else if (type == DONE) {
+            int count = payload.getInt();
+            for (int i = 0; i < count; i++) {
+                if (pending.remove(payload.getLong()) != null) {
+                    doneSinceCompaction++;
+                }
+            }
+        } else {
+            throw new IOException("Unknown record type " + type + " in post journal " + file);
+        }
+    }
+
+    /**
+     * Appends a post and forces it to the storage device.
+     * @param request The post to send later.
+     * @return The journal entry of the post.
+     * @throws IOException If the record cannot be written; the post is then not in the journal.
+     */
+    public synchronized Entry append(NewBlogPostRequest request) throws IOException {
+        ensureOpen();
+        Entry entry = new Entry(nextSequence, request, System.currentTimeMillis());
+        writeRecord(postPayload(entry));
+        nextSequence++;
+        pending.put(entry.sequence, entry);
+        return entry;
+    }
+
+    /**
+     * Marks posts as done, e.g. delivered or rejected by the server, with one forced write.
+     * @param entries The entries that no longer need to be sent.
+     * @throws IOException If the record cannot be written; the posts then stay pending.
+     */
+    public synchronized void markDone(Collection<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        ensureOpen();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(5 + 8 * entries.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(DONE);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            out.writeLong(entry.sequence);
+        }
+        writeRecord(bytes.toByteArray());
+        for (Entry entry : entries) {
+            if (pending.remove(entry.sequence) != null) {
+                doneSinceCompaction++;
+            }
+        }
+    }
+
+    /**
+     * Returns the oldest pending posts.
+     * @param max The maximum number of entries to return.
+     * @return Up to max entries, in the order they were appended.
+     */
+    public synchronized List<Entry> pending(int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, pending.size()));
+        for (Entry entry : pending.values()) {
+            if (entries.size() == max) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the number of posts that still have to be sent.
+     * @return The pending count.
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the current size of the journal file.
+     * @return The size in bytes.
+     * @throws IOException If the size cannot be read.
+     */
+    public synchronized long sizeBytes() throws IOException {
+        ensureOpen();
+        return channel.size();
+    }
+
+    /**
+     * Shrinks the journal if done records make up most of it. An empty journal is truncated
+     * to its header; otherwise the pending posts are written to a new file, which atomically
+     * replaces the old one.
+     * @return true if the journal was compacted.
+     * @throws IOException If the new file cannot be written; the old one is then kept.
+     */
+    public synchronized boolean compactIfNeeded() throws IOException {
+        ensureOpen();
+        if (doneSinceCompaction == 0) {
+            return false;
+        }
+        if (pending.isEmpty()) {
+            channel.truncate(HEADER_SIZE);
+            channel.force(true);
+            channel.position(HEADER_SIZE);
+            doneSinceCompaction = 0;
+            return true;
+        }
+        if (channel.size() < COMPACT_MIN_BYTES || doneSinceCompaction < pending.size()) {
+            return false; // Not worth rewriting the pending posts yet
+        }
+        // Written through its own channel: the journal keeps appending to the original file until the move succeeded
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel rewritten = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writeFully(rewritten, header(), 0);
+                rewritten.position(HEADER_SIZE);
+                for (Entry entry : pending.values()) {
+                    appendWithoutForce(rewritten, entry);
+                }
+                rewritten.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            FileChannel old = channel;
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+            } finally {
+                old.close(); // Points to the replaced file; if reopening failed, the journal reports itself closed
+            }
+            syncDirectory();
+            doneSinceCompaction = 0;
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void appendWithoutForce(FileChannel target, Entry entry) throws IOException {
+        ByteBuffer record = frame(postPayload(entry));
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+    }
+
+    private static byte[] postPayload(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(POST);
+        out.writeLong(entry.sequence);
+        out.writeLong(entry.appendedAtMillis);
+        writeString(out, entry.request.getTitle());
+        writeString(out, entry.request.getContent());
+        writeString(out, entry.request.getAuthor());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Prefixes a payload with its length and checksum.
+     */
+    private static ByteBuffer frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        return record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+    }
+
+    /**
+     * Writes one record at the end of the journal and forces it to the storage device.
+     */
+    private void writeRecord(byte[] payload) throws IOException {
+        ByteBuffer record = frame(payload);
+        long start = channel.position();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false); // The data must be on disk before the post is acknowledged
+        } catch (IOException e) {
+            channel.truncate(start); // Do not leave half a record in front of later ones
+            channel.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes the rename of the compacted file durable. Not every platform can open a directory,
+     * in which case the rename is durable once the file system flushes its metadata.
+     */
+    private void syncDirectory() {
+        try (FileChannel directory = FileChannel.open(file.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ignored) {
+            // Best effort only
+        }
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of post journal " + file);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IOException("Corrupt post journal record");
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            throw new IOException("Post journal is closed: " + file);
+        }
+    }
+
+    /**
+     * Closes the journal file. Pending posts stay in it and are replayed on the next open.
+     * @throws IOException If closing fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * A post in the journal.
+     */
+    public static final class Entry {
+        private final long sequence;          // Position of the post in the journal, unique per file
+        private final NewBlogPostRequest request;
+        private final long appendedAtMillis;  // When the post was journaled (epoch milliseconds)
+
+        Entry(long sequence, NewBlogPostRequest request, long appendedAtMillis) {
+            this.sequence = sequence;
+            this.request = request;
+            this.appendedAtMillis = appendedAtMillis;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public NewBlogPostRequest getRequest() {
+            return request;
+        }
+
+        public long getAppendedAtMillis() {
+            return appendedAtMillis;
+        }
+    }
+}
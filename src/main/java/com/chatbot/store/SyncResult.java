@@ -0,0 +1,82 @@
+package com.chatbot.store;
+
+import com.chatbot.model.BlogPost;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one {@link BlogSyncer#sync()} run: the posts that were new,
+ * how many posts were transferred to find them, and whether the local copy
+ * had to be downloaded again completely.
+ */
+public class SyncResult {
+    private final List<BlogPost> added; // Posts that were not known locally before
+    private final int transferred;      // Posts received from the API during the sync
+    private final int total;            // Posts known locally after the sync
+    private final boolean fullResync;   // True if the complete listing replaced the local copy
+    private final boolean serverFiltered; // True if the API only returned posts after the watermark
+    private final long elapsedNanos;    // Wall-clock duration of the sync
+
+    /**
+     * Constructor to initialize a SyncResult object.
+     * @param added The posts that were added to the local copy.
+     * @param transferred The number of posts received from the API.
+     * @param total The number of posts known locally after the sync.
+     * @param fullResync Whether the local copy was replaced by a complete listing.
+     * @param serverFiltered Whether the API filtered the listing by the watermark.
+     * @param elapsedNanos The duration of the sync in nanoseconds.
+     */
+    public SyncResult(List<BlogPost> added, int transferred, int total, boolean fullResync,
+                      boolean serverFiltered, long elapsedNanos) {
+        this.added = Collections.unmodifiableList(added);
+        this.transferred = transferred;
+        this.total = total;
+        this.fullResync = fullResync;
+        this.serverFiltered = serverFiltered;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<BlogPost> getAdded() {
+        return added;
+    }
+
+    public int getTransferred() {
+        return transferred;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    public boolean isServerFiltered() {
+        return serverFiltered;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns true if the sync changed the local copy.
+     * @return true if posts were added or the local copy was replaced.
+     */
+    public boolean hasChanges() {
+        return fullResync || !added.isEmpty();
+    }
+
+    /**
+     * Provides a formatted string representation of the result.
+     * @return A one-line summary of the sync.
+     */
+    @Override
+    public String toString() {
+        return (fullResync ? "Full resync: " : "Delta sync: ") + added.size() + " new of " + total + " blogs, "
+                + transferred + " transferred" + (serverFiltered ? " (filtered by server)" : "")
+                + String.format(", %.1f ms", elapsedNanos / 1e6);
+    }
+}
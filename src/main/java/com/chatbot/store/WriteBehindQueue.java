@@ -0,0 +1,244 @@
+package com.chatbot.store;
+
+import com.chatbot.api.ApiClient;
+import com.chatbot.api.DuplicatePostException;
+import com.chatbot.api.RetryPolicy;
+import com.chatbot.model.NewBlogPostRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates blog posts in the background from a {@link PostJournal}.
+ * {@link #submit(NewBlogPostRequest)} returns as soon as the post is durable in the journal,
+ * so the user does not wait for the API. A worker thread sends the pending posts in batches,
+ * the posts of a batch concurrently, and marks them done in the journal with one write per batch.
+ *
+ * A post the server creates (201) or rejects for good (a 4xx other than 408 and 429) is done.
+ * Network errors, server errors, 408 and 429 are retried after a jittered, growing delay,
+ * for as long as it takes; posts left at exit are sent on the next start.
+ * Delivery is at least once: a post whose response was lost, or whose done record was not
+ * written before a crash, is sent again. Posts of one batch may be created in any order.
+ */
+public class WriteBehindQueue implements AutoCloseable {
+    private final PostJournal journal;
+    private final ApiClient apiClient;
+    private final int batchSize;            // Posts sent concurrently per round
+    private final RetryPolicy backoff;      // Only its delays are used, attempts are unlimited
+    private final Thread worker;
+    private final Object signal = new Object(); // Wakes the worker on new posts and close, and flush waiters on progress
+    private volatile boolean closed;
+    private final AtomicLong created = new AtomicLong();  // Posts the server created
+    private final AtomicLong rejected = new AtomicLong(); // Posts the server refused for good
+    private final AtomicLong retries = new AtomicLong();  // Failed attempts that will be repeated
+    private volatile String lastError;      // Description of the last failed attempt, null if none
+
+    /**
+     * Constructor to initialize the queue. The worker is started with {@link #start()}.
+     * @param journal The journal holding the posts; pending posts from a previous run are sent first.
+     * @param apiClient The client creating the posts.
+     * @param batchSize The number of posts sent concurrently (at least 1).
+     * @param backoff The policy providing the delay after a round with retryable failures.
+     */
+    public WriteBehindQueue(PostJournal journal, ApiClient apiClient, int batchSize, RetryPolicy backoff) {
+        this.journal = journal;
+        this.apiClient = apiClient;
+        this.batchSize = Math.max(1, batchSize);
+        this.backoff = backoff;
+        this.worker = new Thread(this::drain, "write-behind");
+        this.worker.setDaemon(true); // Pending posts are safe in the journal, exiting must not wait for the API
+    }
+
+    /**
+     * Starts sending the pending posts in the background.
+     */
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * Stores a post durably and schedules it for creation.
+     * @param request The post to create.
+     * @throws IOException If the post cannot be written to the journal; it is then not queued.
+     */
+    public void submit(NewBlogPostRequest request) throws IOException {
+        if (closed) {
+            throw new IOException("Write-behind queue is closed");
+        }
+        journal.append(request);
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Returns the number of posts that have not been created yet.
+     * @return The pending count.
+     */
+    public int getPending() {
+        return journal.pendingCount();
+    }
+
+    /**
+     * Waits until all pending posts have been sent or the timeout expires.
+     * @param timeoutMillis The longest time to wait.
+     * @return true if no posts are pending.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (signal) {
+            while (journal.pendingCount() > 0 && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(signal, remaining);
+            }
+        }
+        return journal.pendingCount() == 0;
+    }
+
+    /**
+     * The worker loop: sends batches until the queue is closed, backing off after failures.
+     */
+    private void drain() {
+        int failedRounds = 0; // Consecutive rounds with retryable failures
+        while (!closed) {
+            List<PostJournal.Entry> batch = journal.pending(batchSize);
+            if (batch.isEmpty()) {
+                awaitSignal(0);
+                continue;
+            }
+            boolean retry;
+            try {
+                retry = send(batch);
+            } catch (IOException e) {
+                if (closed) {
+                    return; // The journal was closed during the round, the posts are replayed next time
+                }
+                lastError = "journal: " + e.getMessage();
+                System.err.println("Could not update post journal: " + e.getMessage());
+                retry = true;
+            }
+            synchronized (signal) {
+                signal.notifyAll(); // Let flush() see the progress
+            }
+            if (retry) {
+                failedRounds++;
+                awaitSignal(Math.max(1, TimeUnit.NANOSECONDS.toMillis(backoff.delayNanos(failedRounds))));
+            } else {
+                failedRounds = 0;
+            }
+        }
+    }
+
+    /**
+     * Sends one batch concurrently and records the outcome in the journal.
+     * @return true if some posts failed and must be retried.
+     */
+    private boolean send(List<PostJournal.Entry> batch) throws IOException {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(batch.size());
+        for (PostJournal.Entry entry : batch) {
+            responses.add(apiClient.createNewBlogPostWithStatusAsync(entry.getRequest()));
+        }
+        List<PostJournal.Entry> done = new ArrayList<>(batch.size());
+        boolean retry = false;
+        for (int i = 0; i < batch.size(); i++) {
+            int status;
+            try {
+                status = responses.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                lastError = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                if (cause instanceof DuplicatePostException) {
+                    // Nearly the same post exists already, sending it later cannot help either
+                    rejected.incrementAndGet();
+                    System.err.println("Blog post \"" + batch.get(i).getRequest().getTitle() + "\" was dropped: " + lastError);
+                    done.add(batch.get(i));
+                    continue;
+                }
+                retries.incrementAndGet();
+                retry = true;
+                continue;
+            }
+            if (status == 201) {
+                created.incrementAndGet();
+                done.add(batch.get(i));
+            } else if (status >= 400 && status < 500 && status != 408 && status != 429) {
+                // The post itself is refused (e.g. invalid or over the limit), sending it again cannot help
+                rejected.incrementAndGet();
+                lastError = "HTTP " + status;
+                System.err.println("Blog post \"" + batch.get(i).getRequest().getTitle()
+                        + "\" was rejected by the server. Status code: " + status);
+                done.add(batch.get(i));
+            } else {
+                lastError = "HTTP " + status;
+                retries.incrementAndGet();
+                retry = true;
+            }
+        }
+        journal.markDone(done);
+        journal.compactIfNeeded();
+        return retry;
+    }
+
+    /**
+     * Waits for a new post or close, or until the timeout expires.
+     * @param timeoutMillis The longest time to wait, 0 to wait until signalled.
+     */
+    private void awaitSignal(long timeoutMillis) {
+        synchronized (signal) {
+            if (closed || (timeoutMillis == 0 && journal.pendingCount() > 0)) {
+                return;
+            }
+            try {
+                signal.wait(timeoutMillis);
+            } catch (InterruptedException e) {
+                closed = true; // Interrupted only when the application stops
+            }
+        }
+    }
+
+    /**
+     * Stops the worker and closes the journal. Posts that are still pending stay in the journal.
+     * @throws IOException If the journal cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            worker.join(1000); // Let a round in progress record its outcome
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    public long getCreated() {
+        return created.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Provides a short summary of the queue.
+     * @return A string with the pending, created and rejected posts, the retries and the last error.
+     */
+    @Override
+    public String toString() {
+        String error = lastError;
+        return getPending() + " pending, " + created.get() + " created, " + rejected.get() + " rejected, "
+                + retries.get() + " retries" + (error != null ? " (last error: " + error + ")" : "");
+    }
+}